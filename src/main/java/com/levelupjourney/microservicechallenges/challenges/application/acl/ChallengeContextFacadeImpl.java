@@ -1,11 +1,12 @@
 package com.levelupjourney.microservicechallenges.challenges.application.acl;
 
-import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengeByIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetCodeVersionByIdQuery;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId;
-import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionTestQueryService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.ChallengeScoringCache;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.CodeVersionSubmissionCache;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.acl.ChallengesContextFacade;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.acl.transform.CodeVersionToBeSubmittedResourceFromEntityAssembler;
 import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.ChallengeForScoringResource;
@@ -18,45 +19,45 @@ import java.util.UUID;
 @Service
 public class ChallengeContextFacadeImpl implements ChallengesContextFacade {
     private final CodeVersionQueryService codeVersionQueryService;
-    private final ChallengeQueryService challengeQueryService;
+    private final CodeVersionTestQueryService codeVersionTestQueryService;
+    private final ChallengeRepository challengeRepository;
+    private final CodeVersionSubmissionCache codeVersionSubmissionCache;
+    private final ChallengeScoringCache challengeScoringCache;
 
     public ChallengeContextFacadeImpl(CodeVersionQueryService codeVersionQueryService,
-                                     ChallengeQueryService challengeQueryService) {
+                                     CodeVersionTestQueryService codeVersionTestQueryService,
+                                     ChallengeRepository challengeRepository,
+                                     CodeVersionSubmissionCache codeVersionSubmissionCache,
+                                     ChallengeScoringCache challengeScoringCache) {
         this.codeVersionQueryService = codeVersionQueryService;
-        this.challengeQueryService = challengeQueryService;
+        this.codeVersionTestQueryService = codeVersionTestQueryService;
+        this.challengeRepository = challengeRepository;
+        this.codeVersionSubmissionCache = codeVersionSubmissionCache;
+        this.challengeScoringCache = challengeScoringCache;
     }
 
     @Override
     public Optional<CodeVersionToBeSubmittedResource> getCodeVersionForSubmission(String codeVersionId) {
+        return codeVersionSubmissionCache.get(UUID.fromString(codeVersionId), this::loadCodeVersionForSubmission);
+    }
 
-        var getCodeVersionByIdQuery = new GetCodeVersionByIdQuery(new CodeVersionId(UUID.fromString(codeVersionId)));
-        var codeVersion = codeVersionQueryService.handle(getCodeVersionByIdQuery);
+    private Optional<CodeVersionToBeSubmittedResource> loadCodeVersionForSubmission(UUID codeVersionId) {
+        var id = new CodeVersionId(codeVersionId);
+        var codeVersion = codeVersionQueryService.handle(new GetCodeVersionByIdQuery(id));
 
         if (codeVersion.isEmpty()) {
             return Optional.empty();
         }
 
-        var result = codeVersion.get();
+        // Load the tests with a single query instead of initializing the lazy collection
+        var tests = codeVersionTestQueryService.getCodeVersionTestsByCodeVersionId(id);
 
-        return Optional.of(CodeVersionToBeSubmittedResourceFromEntityAssembler.toResourceFromEntity(result));
+        return Optional.of(CodeVersionToBeSubmittedResourceFromEntityAssembler.toResourceFromEntity(codeVersion.get(), tests));
     }
 
     @Override
     public Optional<ChallengeForScoringResource> getChallengeForScoring(String challengeId) {
-        var getChallengeByIdQuery = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
-        var challenge = challengeQueryService.handle(getChallengeByIdQuery);
-
-        if (challenge.isEmpty()) {
-            return Optional.empty();
-        }
-
-        var result = challenge.get();
-
-        return Optional.of(new ChallengeForScoringResource(
-            result.getId().id().toString(),
-            result.getExperiencePoints(),
-            result.getDifficulty()
-        ));
+        // Projection of the scoring fields only, the aggregate and its collections are not loaded
+        return challengeScoringCache.get(UUID.fromString(challengeId), challengeRepository::findScoringById);
     }
 }
-
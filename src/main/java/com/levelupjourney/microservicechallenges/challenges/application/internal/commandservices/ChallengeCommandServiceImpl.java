@@ -3,48 +3,77 @@ package com.levelupjourney.microservicechallenges.challenges.application.interna
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.CodeVersion;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuideCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuidesBatchCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.CreateChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.DeleteChallengeCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.ImportChallengeLikesCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.LikeChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.RemoveGuideCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.StartChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.StartChallengeResult;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.UnlikeChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.UpdateChallengeCommand;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.entities.ChallengeLike;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.events.ChallengeStartedEvent;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetCodeVersionByIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeCommandService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.ChallengeScoringCache;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.ChallengeLikeCounters;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeCatalog;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeGuideJdbcRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeGuideJdbcRepository.GuideLink;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeLikeJdbcRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeLikeJdbcRepository.LikeRow;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeTagJdbcRepository;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
-import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.acl.SolutionsAcl;
 import jakarta.transaction.Transactional;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ChallengeCommandServiceImpl implements ChallengeCommandService {
 
     private final ChallengeRepository challengeRepository;
-    private final ChallengeLikeRepository challengeLikeRepository;
+    private final ChallengeLikeJdbcRepository challengeLikeJdbcRepository;
     private final CodeVersionQueryService codeVersionQueryService;
     private final ApplicationEventPublisher eventPublisher;
     private final SolutionsAcl solutionsAcl;
+    private final ChallengeScoringCache challengeScoringCache;
+    private final ChallengeGuideJdbcRepository challengeGuideJdbcRepository;
+    private final PublishedChallengeCatalog publishedChallengeCatalog;
+    private final ChallengeLikeCounters challengeLikeCounters;
+    private final ChallengeTagJdbcRepository challengeTagJdbcRepository;
 
     public ChallengeCommandServiceImpl(ChallengeRepository challengeRepository,
-                                     ChallengeLikeRepository challengeLikeRepository,
+                                     ChallengeLikeJdbcRepository challengeLikeJdbcRepository,
                                      CodeVersionQueryService codeVersionQueryService,
                                      ApplicationEventPublisher eventPublisher,
-                                     SolutionsAcl solutionsAcl) {
+                                     SolutionsAcl solutionsAcl,
+                                     ChallengeScoringCache challengeScoringCache,
+                                     ChallengeGuideJdbcRepository challengeGuideJdbcRepository,
+                                     PublishedChallengeCatalog publishedChallengeCatalog,
+                                     ChallengeLikeCounters challengeLikeCounters,
+                                     ChallengeTagJdbcRepository challengeTagJdbcRepository) {
         this.challengeRepository = challengeRepository;
-        this.challengeLikeRepository = challengeLikeRepository;
+        this.challengeLikeJdbcRepository = challengeLikeJdbcRepository;
         this.codeVersionQueryService = codeVersionQueryService;
         this.eventPublisher = eventPublisher;
         this.solutionsAcl = solutionsAcl;
+        this.challengeScoringCache = challengeScoringCache;
+        this.challengeGuideJdbcRepository = challengeGuideJdbcRepository;
+        this.publishedChallengeCatalog = publishedChallengeCatalog;
+        this.challengeLikeCounters = challengeLikeCounters;
+        this.challengeTagJdbcRepository = challengeTagJdbcRepository;
     }
 
     @Override
@@ -56,6 +85,7 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
         
         // Save to database
         Challenge savedChallenge = challengeRepository.save(challenge);
+        updateTagCounts(List.of(), savedChallenge.getTags());
         
         return savedChallenge.getId();
     }
@@ -115,6 +145,7 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
                 .orElseThrow(() -> new IllegalArgumentException("Challenge not found"));
 
         // Use business method to update challenge details with Optional handling
+        Set<String> previousTags = Set.copyOf(challenge.getTags());
         challenge.updateDetails(
             command.name().orElse(null),
             command.description().orElse(null),
@@ -126,6 +157,9 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
 
         // Save the updated challenge
         challengeRepository.save(challenge);
+        updateTagCounts(previousTags, challenge.getTags());
+        challengeScoringCache.invalidate(challenge.getId().id());
+        publishedChallengeCatalog.challengeChanged(challenge);
     }
 
     @Override
@@ -136,7 +170,11 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
                 .orElseThrow(() -> new IllegalArgumentException("Challenge not found with id: " + command.challengeId()));
 
         // Delete the challenge from repository
+        updateTagCounts(challenge.getTags(), List.of());
         challengeRepository.delete(challenge);
+        challengeScoringCache.invalidate(challenge.getId().id());
+        publishedChallengeCatalog.challengeDeleted(challenge.getId().id());
+        challengeLikeCounters.challengeDeleted(challenge.getId().id());
     }
 
     @Override
@@ -151,6 +189,24 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
 
         // Save the updated challenge
         challengeRepository.save(challenge);
+        challengeScoringCache.invalidate(challenge.getId().id());
+        publishedChallengeCatalog.challengeChanged(challenge);
+    }
+
+    @Override
+    @Transactional
+    public int handle(AddGuidesBatchCommand command) {
+        // Same rules as Challenge.addGuide (no null guide, no duplicate), applied in one bulk statement
+        var links = command.guides().stream()
+                .filter(guide -> guide.challengeId() != null && guide.guideId() != null)
+                .map(guide -> new GuideLink(guide.challengeId().id(), guide.guideId()))
+                .distinct()
+                .toList();
+        int added = challengeGuideJdbcRepository.insertMissing(links);
+        if (added > 0) {
+            publishedChallengeCatalog.challengesChanged(links.stream().map(GuideLink::challengeId).toList());
+        }
+        return added;
     }
 
     @Override
@@ -165,53 +221,66 @@ public class ChallengeCommandServiceImpl implements ChallengeCommandService {
 
         // Save the updated challenge
         challengeRepository.save(challenge);
+        challengeScoringCache.invalidate(challenge.getId().id());
+        publishedChallengeCatalog.challengeChanged(challenge);
     }
 
     @Override
     @Transactional
-    public void handle(LikeChallengeCommand command) {
-        // Validate challenge exists
-        if (!challengeRepository.existsById(command.challengeId())) {
-            throw new IllegalArgumentException("Challenge not found with id: " + command.challengeId().id());
+    public boolean handle(LikeChallengeCommand command) {
+        UUID challengeUUID = command.challengeId().id();
+        UUID userUUID = UUID.fromString(command.userId());
+
+        // Single INSERT ... ON CONFLICT DO NOTHING: liking twice is a no-op instead of a duplicate key
+        boolean liked = challengeLikeJdbcRepository.insertIfAbsent(challengeUUID, userUUID);
+        if (liked) {
+            challengeLikeCounters.likeAdded(challengeUUID);
+        } else {
+            // Nothing inserted: either already liked or unknown challenge, only this path pays the extra query
+            requireChallengeExists(command.challengeId());
         }
+        return liked;
+    }
 
-        // Check if user already liked this challenge
+    @Override
+    @Transactional
+    public boolean handle(UnlikeChallengeCommand command) {
+        UUID challengeUUID = command.challengeId().id();
         UUID userUUID = UUID.fromString(command.userId());
-        boolean alreadyLiked = challengeLikeRepository.existsByChallengeIdAndUserId(
-            command.challengeId().id(), 
-            userUUID
-        );
 
-        if (alreadyLiked) {
-            throw new IllegalStateException("User has already liked this challenge");
+        // Single DELETE: unliking a challenge that is not liked is a no-op
+        boolean unliked = challengeLikeJdbcRepository.delete(challengeUUID, userUUID);
+        if (unliked) {
+            challengeLikeCounters.likeRemoved(challengeUUID);
+        } else {
+            requireChallengeExists(command.challengeId());
         }
-
-        // Create and save like
-        ChallengeLike like = new ChallengeLike(command.challengeId(), userUUID);
-        challengeLikeRepository.save(like);
+        return unliked;
     }
 
     @Override
     @Transactional
-    public void handle(UnlikeChallengeCommand command) {
-        // Validate challenge exists
-        if (!challengeRepository.existsById(command.challengeId())) {
-            throw new IllegalArgumentException("Challenge not found with id: " + command.challengeId().id());
-        }
+    public int handle(ImportChallengeLikesCommand command) {
+        var likes = command.likes().stream()
+                .map(like -> new LikeRow(like.challengeId().id(), like.userId(), like.likedAt()))
+                .toList();
 
-        UUID userUUID = UUID.fromString(command.userId());
-        
-        // Check if like exists
-        boolean likeExists = challengeLikeRepository.existsByChallengeIdAndUserId(
-            command.challengeId().id(), 
-            userUUID
-        );
+        var likedChallengeIds = challengeLikeJdbcRepository.insertMissing(likes);
+        challengeLikeCounters.likesAdded(likedChallengeIds);
+        return likedChallengeIds.size();
+    }
 
-        if (!likeExists) {
-            throw new IllegalStateException("User has not liked this challenge");
-        }
+    // Keep the tag dictionary in step with a challenge's tags (both lists are already normalized)
+    private void updateTagCounts(Collection<String> previousTags, Collection<String> currentTags) {
+        Map<String, Integer> deltas = new HashMap<>();
+        new HashSet<>(previousTags).forEach(tag -> deltas.merge(tag, -1, Integer::sum));
+        new HashSet<>(currentTags).forEach(tag -> deltas.merge(tag, 1, Integer::sum));
+        challengeTagJdbcRepository.applyCountDeltas(deltas);
+    }
 
-        // Delete the like
-        challengeLikeRepository.deleteByChallengeIdAndUserId(command.challengeId().id(), userUUID);
+    private void requireChallengeExists(ChallengeId challengeId) {
+        if (!challengeRepository.existsById(challengeId)) {
+            throw new IllegalArgumentException("Challenge not found with id: " + challengeId.id());
+        }
     }
 }
@@ -7,6 +7,7 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.queries
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionCommandService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.CodeVersionSubmissionCache;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
@@ -16,11 +17,14 @@ public class CodeVersionCommandServiceImpl implements CodeVersionCommandService
 
     private final CodeVersionRepository codeVersionRepository;
     private final ChallengeQueryService challengeQueryService;
+    private final CodeVersionSubmissionCache codeVersionSubmissionCache;
     
     public CodeVersionCommandServiceImpl(CodeVersionRepository codeVersionRepository,
-                                       ChallengeQueryService challengeQueryService) {
+                                       ChallengeQueryService challengeQueryService,
+                                       CodeVersionSubmissionCache codeVersionSubmissionCache) {
         this.codeVersionRepository = codeVersionRepository;
         this.challengeQueryService = challengeQueryService;
+        this.codeVersionSubmissionCache = codeVersionSubmissionCache;
     }
 
     @Override
@@ -67,5 +71,8 @@ public class CodeVersionCommandServiceImpl implements CodeVersionCommandService
         
         // Save changes
         codeVersionRepository.save(codeVersion);
+
+        // Submissions must not keep using the previous version
+        codeVersionSubmissionCache.invalidate(command.codeVersionId().id());
     }
 }
@@ -9,6 +9,7 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.valueob
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionTestCommandService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.CodeVersionSubmissionCache;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionTestRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
@@ -19,13 +20,16 @@ public class CodeVersionTestCommandServiceImpl implements CodeVersionTestCommand
     private final CodeVersionTestRepository codeVersionTestRepository;
     private final CodeVersionQueryService codeVersionQueryService;
     private final ChallengeQueryService challengeQueryService;
+    private final CodeVersionSubmissionCache codeVersionSubmissionCache;
     
     public CodeVersionTestCommandServiceImpl(CodeVersionTestRepository codeVersionTestRepository,
                                            CodeVersionQueryService codeVersionQueryService,
-                                           ChallengeQueryService challengeQueryService) {
+                                           ChallengeQueryService challengeQueryService,
+                                           CodeVersionSubmissionCache codeVersionSubmissionCache) {
         this.codeVersionTestRepository = codeVersionTestRepository;
         this.codeVersionQueryService = codeVersionQueryService;
         this.challengeQueryService = challengeQueryService;
+        this.codeVersionSubmissionCache = codeVersionSubmissionCache;
     }
 
     @Override
@@ -53,6 +57,9 @@ public class CodeVersionTestCommandServiceImpl implements CodeVersionTestCommand
         
         // Save to database
         CodeVersionTest savedTest = codeVersionTestRepository.save(codeVersionTest);
+
+        // The cached test suite of this code version is now incomplete
+        codeVersionSubmissionCache.invalidate(command.codeVersionId().id());
         return savedTest.getId();
     }
 
@@ -69,10 +76,14 @@ public class CodeVersionTestCommandServiceImpl implements CodeVersionTestCommand
             command.expectedOutput().orElse(null),
             command.customValidationCode().orElse(null),
             command.failureMessage().orElse(null),
-            command.isSecret().orElse(null)
+            command.isSecret().orElse(null),
+            command.isRequired().orElse(null)
         );
         
         // Save changes
         codeVersionTestRepository.save(codeVersionTest);
+
+        // The cached test suite of this code version is now outdated
+        codeVersionSubmissionCache.invalidate(codeVersionTest.getCodeVersionId().id());
     }
 }
@@ -2,28 +2,52 @@ package com.levelupjourney.microservicechallenges.challenges.application.interna
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetAllChallengeTagsQuery;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetAllPublishedChallengesQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengeByIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengesByTeacherIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetPublishedChallengesByTeacherIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetStargazersByChallengeIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesByTextQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeRankCursor;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummaryPage;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.StargazerPage;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeCatalog;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc.ChallengeTagJdbcRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class ChallengeQueryServiceImpl implements ChallengeQueryService {
 
     private final ChallengeRepository challengeRepository;
-
-    public ChallengeQueryServiceImpl(ChallengeRepository challengeRepository) {
+    private final ChallengeTagJdbcRepository challengeTagJdbcRepository;
+    private final PublishedChallengeCatalog publishedChallengeCatalog;
+    private final ChallengeLikeRepository challengeLikeRepository;
+
+    public ChallengeQueryServiceImpl(ChallengeRepository challengeRepository,
+                                     ChallengeTagJdbcRepository challengeTagJdbcRepository,
+                                     PublishedChallengeCatalog publishedChallengeCatalog,
+                                     ChallengeLikeRepository challengeLikeRepository) {
         this.challengeRepository = challengeRepository;
+        this.challengeTagJdbcRepository = challengeTagJdbcRepository;
+        this.publishedChallengeCatalog = publishedChallengeCatalog;
+        this.challengeLikeRepository = challengeLikeRepository;
     }
 
     @Override
@@ -32,82 +56,102 @@ public class ChallengeQueryServiceImpl implements ChallengeQueryService {
     }
 
     @Override
-    public List<Challenge> handle(GetAllPublishedChallengesQuery query) {
-        return challengeRepository.findPublishedChallenges();
+    public ChallengeSummaryPage handle(GetChallengesByTeacherIdQuery query) {
+        var rows = challengeRepository.findSummariesByTeacherId(query.teacherId().id(),
+                EnumSet.allOf(ChallengeStatus.class),
+                Timestamp.from(query.after().createdAt()), query.after().challengeId(),
+                Limit.of(query.limit() + 1));
+        return ChallengeSummaryPage.of(rows, query.limit());
     }
 
     @Override
-    public List<Challenge> handle(GetChallengesByTeacherIdQuery query) {
-        return challengeRepository.findByTeacherId(query.teacherId().id());
+    public ChallengeSummaryPage handle(GetPublishedChallengesByTeacherIdQuery query) {
+        var rows = challengeRepository.findSummariesByTeacherId(query.teacherId().id(),
+                EnumSet.of(ChallengeStatus.PUBLISHED),
+                Timestamp.from(query.after().createdAt()), query.after().challengeId(),
+                Limit.of(query.limit() + 1));
+        return ChallengeSummaryPage.of(rows, query.limit());
     }
 
     @Override
-    public List<Challenge> handle(GetPublishedChallengesByTeacherIdQuery query) {
-        return challengeRepository.findPublishedChallengesByTeacherId(query.teacherId().id());
+    public StargazerPage handle(GetStargazersByChallengeIdQuery query) {
+        var rows = challengeLikeRepository.findStargazers(query.challengeId().id(),
+                query.after().starredAt(), query.after().userId(),
+                Limit.of(query.limit() + 1));
+        return StargazerPage.of(rows, query.limit());
     }
 
     @Override
     public List<String> handle(GetAllChallengeTagsQuery query) {
-        // Get all challenges and extract their tags as strings
-        return challengeRepository.findAll()
-                .stream()
-                .flatMap(challenge -> challenge.getTags().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        // Distinct tags come from the tag dictionary, maintained on every challenge write
+        return challengeTagJdbcRepository.findTagsInUse();
     }
 
     @Override
-    public List<Challenge> handle(SearchPublishedChallengesQuery query) {
-        // If no filters provided, return all published challenges
-        if (!query.hasNameFilter() && !query.hasDifficultyFilter()) {
-            return challengeRepository.findPublishedChallenges();
-        }
+    public ChallengeSummaryPage handle(SearchPublishedChallengesQuery query) {
+        // Missing name filter matches every name
+        String namePattern = query.hasNameFilter() ? "%" + query.name().trim().toLowerCase() + "%" : "%";
 
         // Parse difficulty if provided
-        Difficulty difficulty = null;
-        if (query.hasDifficultyFilter()) {
-            try {
-                difficulty = Difficulty.valueOf(query.difficulty().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Invalid difficulty value, ignore filter
-                difficulty = null;
-            }
-        }
+        Difficulty difficulty = query.hasDifficultyFilter() ? parseDifficulty(query.difficulty()) : null;
+        boolean anyDifficulty = difficulty == null;
+        var difficulties = anyDifficulty ? EnumSet.allOf(Difficulty.class) : EnumSet.of(difficulty);
+
+        // Fetch one row more than the page size to know whether a next page exists
+        var afterCreatedAt = Timestamp.from(query.after().createdAt());
+        var afterId = query.after().challengeId();
+        var limit = Limit.of(query.limit() + 1);
+
+        // Search tags in their stored form (a challenge matches when it has at least one of them)
+        List<String> searchTags = query.hasTagsFilter() ? normalizeSearchTags(query.tags()) : List.of();
+
+        // Tags are filtered in the database so every page is full
+        List<ChallengeSummary> rows = searchTags.isEmpty()
+            ? challengeRepository.searchPublishedSummaries(namePattern, anyDifficulty, difficulties,
+                    afterCreatedAt, afterId, limit)
+            : challengeRepository.searchPublishedSummariesByTags(namePattern, anyDifficulty, difficulties,
+                    searchTags, afterCreatedAt, afterId, limit);
+        return ChallengeSummaryPage.of(rows, query.limit());
+    }
 
-        // Apply filters based on what's provided
-        List<Challenge> results;
-        if (query.hasNameFilter() && difficulty != null) {
-            // Both name and difficulty filters
-            results = challengeRepository.searchPublishedChallengesByNameAndDifficulty(query.name(), difficulty);
-        } else if (query.hasNameFilter()) {
-            // Only name filter
-            results = challengeRepository.searchPublishedChallengesByName(query.name());
-        } else if (difficulty != null) {
-            // Only difficulty filter
-            results = challengeRepository.searchPublishedChallengesByDifficulty(difficulty);
-        } else {
-            // No valid filters, return all published
-            results = challengeRepository.findPublishedChallenges();
+    @Override
+    public ChallengeSummaryPage handle(SearchPublishedChallengesByTextQuery query) {
+        Difficulty difficulty = query.hasDifficultyFilter() ? parseDifficulty(query.difficulty()) : null;
+        List<String> searchTags = query.hasTagsFilter() ? normalizeSearchTags(query.tags()) : List.of();
+        var after = query.after();
+
+        // Ranked by the in-memory search index; filters and the cursor only skip hits
+        var hits = publishedChallengeCatalog.search(query.text()).stream()
+            .filter(hit -> difficulty == null || hit.challenge().difficulty() == difficulty)
+            .filter(hit -> searchTags.isEmpty() || hit.challenge().tags().stream().anyMatch(searchTags::contains))
+            .filter(hit -> after == null || after.isBefore(hit.score(), hit.challenge().id()))
+            .limit(query.limit() + 1L)
+            .toList();
+
+        var items = hits.stream().limit(query.limit()).map(hit -> hit.challenge().toSummary()).toList();
+        Optional<String> nextCursor = Optional.empty();
+        if (hits.size() > query.limit()) {
+            var last = hits.get(query.limit() - 1);
+            nextCursor = Optional.of(new ChallengeRankCursor(last.score(), last.challenge().id()).encode());
         }
+        return new ChallengeSummaryPage(items, nextCursor);
+    }
 
-        // Apply tags filter if provided (in-memory filtering)
-        if (query.hasTagsFilter()) {
-            List<String> searchTags = Arrays.stream(query.tags().split(","))
-                .map(String::trim)
-                .map(String::toLowerCase)
-                .collect(Collectors.toList());
-
-            results = results.stream()
-                .filter(challenge -> {
-                    List<String> challengeTags = challenge.getTags().stream()
-                        .map(String::toLowerCase)
-                        .collect(Collectors.toList());
-                    // Check if challenge has at least one of the search tags
-                    return searchTags.stream().anyMatch(challengeTags::contains);
-                })
-                .collect(Collectors.toList());
+    // Invalid difficulty values are ignored, as if no filter was given
+    private static Difficulty parseDifficulty(String value) {
+        try {
+            return Difficulty.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
+    }
 
-        return results;
+    // Comma-separated tags in their stored form
+    private static List<String> normalizeSearchTags(String tags) {
+        return Arrays.stream(tags.split(","))
+            .map(Challenge::normalizeTag)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
     }
 }
@@ -7,11 +7,13 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.queries
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class CodeVersionQueryServiceImpl implements CodeVersionQueryService {
 
     private final CodeVersionRepository codeVersionRepository;
@@ -1,24 +1,36 @@
 package com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates;
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.CreateChallengeCommand;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.entities.Star;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
 import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Getter
 @NoArgsConstructor
 @Entity
+// Indexes and unique keys are created by the migrations in db/migration; the annotations mirror them
+@Table(indexes = {
+    // Keyset pages of the challenge lists, newest first
+    @Index(name = "idx_challenges_status_created_at_id", columnList = "status, created_at, id"),
+    @Index(name = "idx_challenges_teacher_created_at_id", columnList = "teacher_id, created_at, id"),
+    // Catalog filter by difficulty
+    @Index(name = "idx_challenges_status_difficulty", columnList = "status, difficulty")
+})
 public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
     
     @EmbeddedId
@@ -45,28 +57,31 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
     @Column(nullable = true, columnDefinition = "varchar(255) default 'MEDIUM'")
     private Difficulty difficulty;
 
-    @ElementCollection
-    @CollectionTable(name = "challenge_stars", joinColumns = @JoinColumn(name = "challenge_id"))
-    private List<Star> stars = new ArrayList<>();
-
     @OneToMany(mappedBy = "challengeId", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<CodeVersion> versions = new ArrayList<>();
     
+    // Sets, not bags: adding or removing one element is a single-row INSERT or DELETE instead of a rewrite
+    // of the whole collection table slice, and membership checks are hash lookups
     @ElementCollection
-    @CollectionTable(name = "challenge_tags", joinColumns = @JoinColumn(name = "challenge_id"))
+    @CollectionTable(name = "challenge_tags", joinColumns = @JoinColumn(name = "challenge_id"),
+        indexes = @Index(name = "idx_challenge_tags_tag_challenge", columnList = "tag, challenge_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_challenge_tags_challenge_tag", columnNames = {"challenge_id", "tag"}))
     @Column(name = "tag")
-    private List<String> tags = new ArrayList<>();
+    @OrderBy
+    private Set<String> tags = new LinkedHashSet<>();
 
     @ElementCollection
-    @CollectionTable(name = "challenge_guides", joinColumns = @JoinColumn(name = "challenge_id"))
+    @CollectionTable(name = "challenge_guides", joinColumns = @JoinColumn(name = "challenge_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_challenge_guides_challenge_guide", columnNames = {"challenge_id", "guide_id"}))
     @Column(name = "guide_id")
-    private List<UUID> guides = new ArrayList<>();
+    @OrderBy
+    private Set<UUID> guides = new LinkedHashSet<>();
 
     @Column(name = "max_attempts_before_guides")
     private Integer maxAttemptsBeforeGuides;
 
     public Challenge(CreateChallengeCommand command) {
-        this.id = new ChallengeId(UUID.randomUUID());
+        this.id = new ChallengeId(IdGenerators.nextId());
         this.teacherId = command.teacherId();
         this.name = command.name();
         this.description = command.description();
@@ -82,8 +97,8 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
         this.experiencePoints = command.experiencePoints();
         this.difficulty = command.difficulty();
         this.status = ChallengeStatus.DRAFT;
-        this.tags = command.tags() != null ? new ArrayList<>(command.tags()) : new ArrayList<>();
-        this.guides = command.guides() != null ? new ArrayList<>(command.guides()) : new ArrayList<>();
+        this.tags = command.tags() != null ? normalizeTags(command.tags()) : new LinkedHashSet<>();
+        this.guides = command.guides() != null ? new LinkedHashSet<>(command.guides()) : new LinkedHashSet<>();
         this.maxAttemptsBeforeGuides = command.maxAttemptsBeforeGuides();
     }
     
@@ -130,8 +145,7 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
         }
         if (tags != null) {
             // Replace all tags
-            this.tags.clear();
-            this.tags.addAll(tags);
+            replaceTags(tags);
         }
     }
     
@@ -158,8 +172,7 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
         }
         if (tags != null) {
             // Replace all tags
-            this.tags.clear();
-            this.tags.addAll(tags);
+            replaceTags(tags);
         }
     }
     
@@ -183,8 +196,7 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
         }
         if (tags != null) {
             // Replace all tags
-            this.tags.clear();
-            this.tags.addAll(tags);
+            replaceTags(tags);
         }
         
         // Handle status change with validation
@@ -223,8 +235,7 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
         }
         if (tags != null) {
             // Replace all tags
-            this.tags.clear();
-            this.tags.addAll(tags);
+            replaceTags(tags);
         }
         
         // Handle status change with validation
@@ -241,44 +252,51 @@ public class Challenge extends AuditableAbstractAggregateRoot<Challenge> {
 
     // Helper method to add a tag to the challenge
     public void addTag(String tag) {
-        if (tag != null && !tag.trim().isEmpty() && !this.tags.contains(tag.toLowerCase())) {
-            this.tags.add(tag.toLowerCase());
+        String normalized = normalizeTag(tag);
+        if (normalized != null) {
+            this.tags.add(normalized);
         }
     }
 
     // Helper method to remove a tag from the challenge
     public void removeTag(String tag) {
-        if (tag != null) {
-            this.tags.remove(tag.toLowerCase());
+        String normalized = normalizeTag(tag);
+        if (normalized != null) {
+            this.tags.remove(normalized);
         }
     }
 
-    // Helper method to add a star (like) to the challenge
-    public void addStar(String userId) {
-        if (userId != null && !userId.trim().isEmpty()) {
-            Star newStar = new Star(userId, LocalDateTime.now());
-            // Remove existing star from same user if exists
-            this.stars.removeIf(star -> star.getUserId().equals(userId));
-            this.stars.add(newStar);
+    /**
+     * Stored form of a tag: trimmed and lowercase, so tags can be matched with plain equality (and an index)
+     *
+     * @param tag Tag as entered by the user
+     * @return The normalized tag, or null if the tag is blank
+     */
+    public static String normalizeTag(String tag) {
+        if (tag == null || tag.trim().isEmpty()) {
+            return null;
         }
+        return tag.trim().toLowerCase(Locale.ROOT);
     }
 
-    // Helper method to remove a star from the challenge
-    public void removeStar(String userId) {
-        if (userId != null) {
-            this.stars.removeIf(star -> star.getUserId().equals(userId));
-        }
+    // Normalized, distinct tags in their original order
+    private static Set<String> normalizeTags(List<String> tags) {
+        return tags.stream()
+            .map(Challenge::normalizeTag)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
-    // Helper method to check if user has starred this challenge
-    public boolean hasStarred(String userId) {
-        if (userId == null) return false;
-        return this.stars.stream().anyMatch(star -> star.getUserId().equals(userId));
+    // Replace the tags in place: kept tags are not touched, so only added and removed rows are written
+    private void replaceTags(List<String> tags) {
+        Set<String> normalized = normalizeTags(tags);
+        this.tags.retainAll(normalized);
+        this.tags.addAll(normalized);
     }
 
     // Helper method to add a guide to the challenge
     public void addGuide(UUID guideId) {
-        if (guideId != null && !this.guides.contains(guideId)) {
+        if (guideId != null) {
             this.guides.add(guideId);
         }
     }
@@ -5,17 +5,18 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.valueob
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeLanguage;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId;
 import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_code_versions_challenge_language", columnNames = {"challenge_id", "language"}))
 public class CodeVersion extends AuditableAbstractAggregateRoot<CodeVersion> {
     
     @EmbeddedId
@@ -39,7 +40,7 @@ public class CodeVersion extends AuditableAbstractAggregateRoot<CodeVersion> {
     private List<CodeVersionTest> tests = new ArrayList<>();
 
     public CodeVersion(AddCodeVersionCommand command) {
-        this.id = new CodeVersionId(UUID.randomUUID());
+        this.id = new CodeVersionId(IdGenerators.nextId());
         this.challengeId = command.challengeId();
         this.language = command.language();
         this.initialCode = command.defaultCode() != null ? command.defaultCode() : ""; // Use default code from command
@@ -4,15 +4,16 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.command
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionTestId;
 import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.UUID;
 
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_code_version_tests_code_version_created_at", columnList = "code_version_id, created_at"))
 public class CodeVersionTest extends AuditableAbstractAggregateRoot<CodeVersionTest> {
     
     @EmbeddedId
@@ -41,18 +42,22 @@ public class CodeVersionTest extends AuditableAbstractAggregateRoot<CodeVersionT
     @Column(name = "is_secret", nullable = false)
     private Boolean isSecret;
 
+    @Column(name = "is_required", nullable = false)
+    private Boolean isRequired;
+
     public CodeVersionTest(AddCodeVersionTestCommand command) {
-        this.id = new CodeVersionTestId(UUID.randomUUID());
+        this.id = new CodeVersionTestId(IdGenerators.nextId());
         this.codeVersionId = command.codeVersionId();
         this.input = command.input();
         this.expectedOutput = command.expectedOutput();
         this.customValidationCode = command.customValidationCode();
         this.failureMessage = command.failureMessage();
         this.isSecret = command.isSecret() != null ? command.isSecret() : false;
+        this.isRequired = command.isRequired() != null ? command.isRequired() : false;
     }
     
     // Business methods
-    public void updateTestDetails(String input, String expectedOutput, String customValidationCode, String failureMessage, Boolean isSecret) {
+    public void updateTestDetails(String input, String expectedOutput, String customValidationCode, String failureMessage, Boolean isSecret, Boolean isRequired) {
         if (input != null) {
             this.input = input;
         }
@@ -68,5 +73,8 @@ public class CodeVersionTest extends AuditableAbstractAggregateRoot<CodeVersionT
         if (isSecret != null) {
             this.isSecret = isSecret;
         }
+        if (isRequired != null) {
+            this.isRequired = isRequired;
+        }
     }
 }
@@ -2,5 +2,5 @@ package com.levelupjourney.microservicechallenges.challenges.domain.model.comman
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId;
 
-public record AddCodeVersionTestCommand(CodeVersionId codeVersionId, String input, String expectedOutput, String customValidationCode, String failureMessage, Boolean isSecret) {
+public record AddCodeVersionTestCommand(CodeVersionId codeVersionId, String input, String expectedOutput, String customValidationCode, String failureMessage, Boolean isSecret, Boolean isRequired) {
 }
@@ -0,0 +1,18 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.commands;
+
+import java.util.List;
+
+/**
+ * Add several guides to their challenges at once (guide events replayed from the Learning Service).
+ * Links already present and challenges that do not exist are skipped.
+ */
+public record AddGuidesBatchCommand(
+    List<AddGuideCommand> guides
+) {
+    public AddGuidesBatchCommand {
+        if (guides == null) {
+            throw new IllegalArgumentException("Guides cannot be null");
+        }
+        guides = List.copyOf(guides);
+    }
+}
@@ -0,0 +1,39 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.commands;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Import several likes at once (migration from another system or replay of a backup).
+ * Likes already stored and likes of challenges that do not exist are skipped.
+ *
+ * @param likes The likes to import
+ */
+public record ImportChallengeLikesCommand(
+    List<ImportedLike> likes
+) {
+    public ImportChallengeLikesCommand {
+        if (likes == null) {
+            throw new IllegalArgumentException("Likes cannot be null");
+        }
+        likes = List.copyOf(likes);
+    }
+
+    /**
+     * Like to import
+     *
+     * @param challengeId The liked challenge
+     * @param userId      The user who liked it
+     * @param likedAt     When it was liked, or null for now
+     */
+    public record ImportedLike(ChallengeId challengeId, UUID userId, LocalDateTime likedAt) {
+        public ImportedLike {
+            if (challengeId == null || userId == null) {
+                throw new IllegalArgumentException("Imported likes need a challengeId and a userId");
+            }
+        }
+    }
+}
@@ -24,7 +24,11 @@ import java.util.UUID;
 @Getter
 @NoArgsConstructor
 @Entity
-@Table(name = "challenge_likes")
+@Table(name = "challenge_likes", indexes = {
+    @Index(name = "idx_challenge_likes_user_id", columnList = "user_id"),
+    // Keyset pages of the stargazers of a challenge, most recent first
+    @Index(name = "idx_challenge_likes_challenge_liked_at", columnList = "challenge_id, liked_at, user_id")
+})
 @IdClass(ChallengeLikeId.class)
 public class ChallengeLike {
 
@@ -1,4 +0,0 @@
-package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
-
-public record GetAllPublishedChallengesQuery() {
-}
@@ -1,8 +1,19 @@
 package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
 
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengePageCursor;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
 
 public record GetChallengesByTeacherIdQuery(
-        TeacherId teacherId
+        TeacherId teacherId,
+        ChallengePageCursor after,
+        int limit
 ) {
+    public GetChallengesByTeacherIdQuery {
+        if (after == null) {
+            after = ChallengePageCursor.first();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
 
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengePageCursor;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
 
 /**
@@ -7,6 +8,16 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.valueob
  * Used when students want to see a teacher's challenges.
  */
 public record GetPublishedChallengesByTeacherIdQuery(
-        TeacherId teacherId
+        TeacherId teacherId,
+        ChallengePageCursor after,
+        int limit
 ) {
+    public GetPublishedChallengesByTeacherIdQuery {
+        if (after == null) {
+            after = ChallengePageCursor.first();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+    }
 }
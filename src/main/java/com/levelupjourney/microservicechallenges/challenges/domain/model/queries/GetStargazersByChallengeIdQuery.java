@@ -0,0 +1,22 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.StargazerPageCursor;
+
+public record GetStargazersByChallengeIdQuery(
+        ChallengeId challengeId,
+        StargazerPageCursor after,
+        int limit
+) {
+    public GetStargazersByChallengeIdQuery {
+        if (challengeId == null) {
+            throw new IllegalArgumentException("Challenge ID cannot be null");
+        }
+        if (after == null) {
+            after = StargazerPageCursor.first();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+    }
+}
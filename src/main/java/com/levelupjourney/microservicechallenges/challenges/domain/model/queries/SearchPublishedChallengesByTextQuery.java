@@ -0,0 +1,38 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeRankCursor;
+
+/**
+ * Query to search published challenges by free text over their name, description and tags.
+ * Results are ordered by relevance; prefixes and small typos match.
+ *
+ * @param text Text to search; every word has to match
+ * @param difficulty Optional filter for difficulty level
+ * @param tags Optional filter for tags (comma-separated)
+ * @param after Position after which the page starts, null for the first page
+ * @param limit Maximum number of challenges in the page
+ */
+public record SearchPublishedChallengesByTextQuery(
+    String text,
+    String difficulty,
+    String tags,
+    ChallengeRankCursor after,
+    int limit
+) {
+    public SearchPublishedChallengesByTextQuery {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+    }
+
+    public boolean hasDifficultyFilter() {
+        return difficulty != null && !difficulty.trim().isEmpty();
+    }
+
+    public boolean hasTagsFilter() {
+        return tags != null && !tags.trim().isEmpty();
+    }
+}
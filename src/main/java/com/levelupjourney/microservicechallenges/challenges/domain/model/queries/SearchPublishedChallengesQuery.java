@@ -1,18 +1,33 @@
 package com.levelupjourney.microservicechallenges.challenges.domain.model.queries;
 
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengePageCursor;
+
 /**
  * Query to search published challenges with optional filters.
- * Returns only challenges with PUBLISHED status.
+ * Returns only challenges with PUBLISHED status, one keyset page at a time.
  *
  * @param name Optional filter for challenge name (case-insensitive partial match)
  * @param difficulty Optional filter for difficulty level
  * @param tags Optional filter for tags (comma-separated)
+ * @param after Position after which the page starts
+ * @param limit Maximum number of challenges in the page
  */
 public record SearchPublishedChallengesQuery(
     String name,
     String difficulty,
-    String tags
+    String tags,
+    ChallengePageCursor after,
+    int limit
 ) {
+    public SearchPublishedChallengesQuery {
+        if (after == null) {
+            after = ChallengePageCursor.first();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+    }
+
     public boolean hasNameFilter() {
         return name != null && !name.trim().isEmpty();
     }
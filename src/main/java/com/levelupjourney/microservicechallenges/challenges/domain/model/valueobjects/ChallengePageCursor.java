@@ -0,0 +1,65 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a challenge list ordered by (createdAt, id), newest first.
+ * The next page holds the challenges strictly after this position.
+ *
+ * @param createdAt Creation date of the last challenge of the previous page
+ * @param challengeId ID of the last challenge of the previous page
+ */
+public record ChallengePageCursor(Instant createdAt, UUID challengeId) {
+
+    // Position before every challenge: used for the first page so queries never need a null cursor
+    private static final ChallengePageCursor FIRST = new ChallengePageCursor(
+            Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    public ChallengePageCursor {
+        if (createdAt == null || challengeId == null) {
+            throw new IllegalArgumentException("Cursor createdAt and challengeId cannot be null");
+        }
+    }
+
+    /**
+     * Cursor of the first page
+     */
+    public static ChallengePageCursor first() {
+        return FIRST;
+    }
+
+    /**
+     * Decode a cursor returned by a previous page
+     *
+     * @param value Opaque cursor, or null/blank for the first page
+     * @return The cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ChallengePageCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            var createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new ChallengePageCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        var raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + challengeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
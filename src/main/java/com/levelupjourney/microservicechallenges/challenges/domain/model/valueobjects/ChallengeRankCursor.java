@@ -0,0 +1,65 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list of search results ordered by relevance (highest score first, ties by ID).
+ * The next page holds the results strictly after this position.
+ *
+ * @param score Relevance of the last result of the previous page
+ * @param challengeId ID of the last result of the previous page
+ */
+public record ChallengeRankCursor(double score, UUID challengeId) {
+
+    // Marks rank cursors so a keyset cursor sent to a ranked search is rejected instead of misread
+    private static final String PREFIX = "rank";
+
+    public ChallengeRankCursor {
+        if (challengeId == null) {
+            throw new IllegalArgumentException("Cursor challengeId cannot be null");
+        }
+    }
+
+    /**
+     * Decode a cursor returned by a previous page
+     *
+     * @param value Opaque cursor, or null/blank for the first page
+     * @return The cursor, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ChallengeRankCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !PREFIX.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            return new ChallengeRankCursor(Double.parseDouble(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        var raw = PREFIX + ":" + score + ":" + challengeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether a result comes after this position
+     *
+     * @param resultScore Relevance of the result
+     * @param resultId ID of the result
+     */
+    public boolean isBefore(double resultScore, UUID resultId) {
+        return resultScore < score || (resultScore == score && resultId.compareTo(challengeId) > 0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Lightweight view of a challenge for list pages.
+ * Loaded as a projection, without the description, stars, tags or guides.
+ */
+public record ChallengeSummary(
+        UUID challengeId,
+        UUID teacherId,
+        String name,
+        Integer experiencePoints,
+        Difficulty difficulty,
+        ChallengeStatus status,
+        Date createdAt
+) {
+    /**
+     * Position of this challenge in a list ordered by creation date, newest first
+     */
+    public ChallengePageCursor cursor() {
+        return new ChallengePageCursor(createdAt.toInstant(), challengeId);
+    }
+}
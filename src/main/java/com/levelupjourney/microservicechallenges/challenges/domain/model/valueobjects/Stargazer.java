@@ -0,0 +1,18 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * User who starred (liked) a challenge.
+ * Loaded as a projection of the challenge likes.
+ */
+public record Stargazer(UUID userId, LocalDateTime starredAt) {
+
+    /**
+     * Position of this stargazer in the stargazer list
+     */
+    public StargazerPageCursor cursor() {
+        return new StargazerPageCursor(starredAt, userId);
+    }
+}
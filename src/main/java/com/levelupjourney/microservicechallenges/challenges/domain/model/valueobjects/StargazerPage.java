@@ -0,0 +1,28 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of the stargazers of a challenge
+ *
+ * @param items The stargazers of the page, most recent first
+ * @param nextCursor Encoded position to request the next page from, empty on the last page
+ */
+public record StargazerPage(List<Stargazer> items, Optional<String> nextCursor) {
+
+    /**
+     * Build a page from a query that fetched one row more than the page size
+     *
+     * @param rows Up to {@code limit + 1} rows in list order
+     * @param limit Page size
+     * @return The page, with a next cursor only when more rows exist
+     */
+    public static StargazerPage of(List<Stargazer> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new StargazerPage(rows, Optional.empty());
+        }
+        var items = rows.subList(0, limit);
+        return new StargazerPage(List.copyOf(items), Optional.of(items.get(limit - 1).cursor().encode()));
+    }
+}
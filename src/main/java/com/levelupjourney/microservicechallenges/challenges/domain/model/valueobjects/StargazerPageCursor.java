@@ -0,0 +1,67 @@
+package com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the stargazers of a challenge, ordered by (starredAt, userId), most recent first.
+ * The next page holds the stargazers strictly after this position.
+ *
+ * @param starredAt When the last stargazer of the previous page starred the challenge
+ * @param userId ID of the last stargazer of the previous page
+ */
+public record StargazerPageCursor(LocalDateTime starredAt, UUID userId) {
+
+    // Position before every stargazer: used for the first page so queries never need a null cursor
+    private static final StargazerPageCursor FIRST = new StargazerPageCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    public StargazerPageCursor {
+        if (starredAt == null || userId == null) {
+            throw new IllegalArgumentException("Cursor starredAt and userId cannot be null");
+        }
+    }
+
+    /**
+     * Cursor of the first page
+     */
+    public static StargazerPageCursor first() {
+        return FIRST;
+    }
+
+    /**
+     * Decode a cursor returned by a previous page
+     *
+     * @param value Opaque cursor, or null/blank for the first page
+     * @return The cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static StargazerPageCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            var starredAt = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), ZoneOffset.UTC);
+            return new StargazerPageCursor(starredAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // NumberFormatException included
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        var raw = starredAt.toEpochSecond(ZoneOffset.UTC) + ":" + starredAt.getNano() + ":" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
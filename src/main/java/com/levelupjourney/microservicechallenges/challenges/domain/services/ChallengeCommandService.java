@@ -1,8 +1,10 @@
 package com.levelupjourney.microservicechallenges.challenges.domain.services;
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuideCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuidesBatchCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.CreateChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.DeleteChallengeCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.ImportChallengeLikesCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.LikeChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.RemoveGuideCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.StartChallengeCommand;
@@ -17,8 +19,10 @@ public interface ChallengeCommandService {
     void handle(UpdateChallengeCommand command);
     void handle(DeleteChallengeCommand command);
     void handle(AddGuideCommand command);
+    int handle(AddGuidesBatchCommand command);
     void handle(RemoveGuideCommand command);
-    void handle(LikeChallengeCommand command);
-    void handle(UnlikeChallengeCommand command);
+    boolean handle(LikeChallengeCommand command);
+    boolean handle(UnlikeChallengeCommand command);
+    int handle(ImportChallengeLikesCommand command);
 }
 
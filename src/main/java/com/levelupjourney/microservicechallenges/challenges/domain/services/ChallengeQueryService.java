@@ -2,21 +2,25 @@ package com.levelupjourney.microservicechallenges.challenges.domain.services;
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetAllChallengeTagsQuery;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetAllPublishedChallengesQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengeByIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengesByTeacherIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetPublishedChallengesByTeacherIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetStargazersByChallengeIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesByTextQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummaryPage;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.StargazerPage;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface ChallengeQueryService {
     Optional<Challenge> handle(GetChallengeByIdQuery query);
-    List<Challenge> handle(GetAllPublishedChallengesQuery query);
-    List<Challenge> handle(GetChallengesByTeacherIdQuery query);
-    List<Challenge> handle(GetPublishedChallengesByTeacherIdQuery query);
+    ChallengeSummaryPage handle(GetChallengesByTeacherIdQuery query);
+    ChallengeSummaryPage handle(GetPublishedChallengesByTeacherIdQuery query);
     List<String> handle(GetAllChallengeTagsQuery query);
-    List<Challenge> handle(SearchPublishedChallengesQuery query);
+    ChallengeSummaryPage handle(SearchPublishedChallengesQuery query);
+    ChallengeSummaryPage handle(SearchPublishedChallengesByTextQuery query);
+    StargazerPage handle(GetStargazersByChallengeIdQuery query);
 }
 
@@ -0,0 +1,247 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory like count of every challenge.
+ * <p>
+ * Counts are seeded from {@code challenge_likes} with one grouped query when the application is ready, then
+ * moved by the like and unlike commands once their transaction commits. Each count is a {@link LongAdder}, so
+ * likes of the same viral challenge do not contend on a single value, and reads are O(1) however many likes
+ * a challenge has.
+ * <p>
+ * A periodic reconciliation ({@code challenges.like-counters.reconcile-interval}) compares the counts with the
+ * database and corrects the drift left by likes written on other instances or committed while seeding.
+ * Challenges whose count moves while it runs are left for the next run, since their snapshot may already
+ * be outdated.
+ */
+@Slf4j
+@Component
+public class ChallengeLikeCounters {
+
+    private final ChallengeLikeRepository challengeLikeRepository;
+    private final ConcurrentHashMap<UUID, LongAdder> counters = new ConcurrentHashMap<>();
+    // Likes committing or committed but not yet counted, by challenge
+    private final ConcurrentHashMap<UUID, Integer> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock seedLock = new ReentrantLock();
+    private final Counter driftCounter;
+
+    private volatile boolean seeded;
+    // Challenges whose count moved since the running reconciliation started, null when none runs
+    private volatile Set<UUID> changedDuringReconcile;
+
+    public ChallengeLikeCounters(ChallengeLikeRepository challengeLikeRepository, MeterRegistry meterRegistry) {
+        this.challengeLikeRepository = challengeLikeRepository;
+        this.driftCounter = Counter.builder("challenges.likes.reconciled")
+                .description("Challenges whose in-memory like count was corrected by the reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the like count of a challenge
+     *
+     * @param challengeId The challenge UUID
+     * @return Total number of likes
+     */
+    public long get(UUID challengeId) {
+        ensureSeeded();
+        var counter = counters.get(challengeId);
+        // A like and an unlike applied out of order may briefly go below zero
+        return counter == null ? 0L : Math.max(0L, counter.sum());
+    }
+
+    /**
+     * Get the like counts of several challenges
+     *
+     * @param challengeIds The challenge UUIDs
+     * @return Likes count by challenge, 0 for challenges without likes
+     */
+    public Map<UUID, Long> get(Collection<UUID> challengeIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        challengeIds.forEach(challengeId -> counts.put(challengeId, get(challengeId)));
+        return counts;
+    }
+
+    /**
+     * Count a like stored in the current transaction, once it commits
+     *
+     * @param challengeId The liked challenge
+     */
+    public void likeAdded(UUID challengeId) {
+        runAfterCommit(List.of(challengeId), () -> add(challengeId, 1));
+    }
+
+    /**
+     * Count likes stored in bulk in the current transaction, once it commits
+     *
+     * @param challengeIds The challenge of each stored like, once per like
+     */
+    public void likesAdded(Collection<UUID> challengeIds) {
+        var likes = List.copyOf(challengeIds);
+        runAfterCommit(likes, () -> likes.forEach(challengeId -> add(challengeId, 1)));
+    }
+
+    /**
+     * Count an unlike stored in the current transaction, once it commits
+     *
+     * @param challengeId The unliked challenge
+     */
+    public void likeRemoved(UUID challengeId) {
+        runAfterCommit(List.of(challengeId), () -> add(challengeId, -1));
+    }
+
+    /**
+     * Drop the count of a challenge deleted in the current transaction, once it commits
+     *
+     * @param challengeId The deleted challenge
+     */
+    public void challengeDeleted(UUID challengeId) {
+        runAfterCommit(List.of(challengeId), () -> {
+            markChanged(challengeId);
+            counters.remove(challengeId);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        try {
+            ensureSeeded();
+        } catch (RuntimeException e) {
+            // Seeded again on first read
+            log.error("❌ Failed to seed challenge like counters: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compare every count with the database and correct the ones that drifted.
+     * The database snapshot is older than the counts it is compared with, so a challenge liked or unliked
+     * since the snapshot started, or with a like still committing, is skipped rather than "corrected" by
+     * the likes the snapshot missed; the next run compares it again.
+     */
+    @Scheduled(fixedDelayString = "${challenges.like-counters.reconcile-interval:PT10M}",
+               initialDelayString = "${challenges.like-counters.reconcile-interval:PT10M}")
+    public void reconcile() {
+        if (!seeded) {
+            return;
+        }
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        changedDuringReconcile = changed;
+        try {
+            var stored = loadCounts();
+
+            Set<UUID> challengeIds = new HashSet<>(counters.keySet());
+            challengeIds.addAll(stored.keySet());
+            int corrected = 0;
+            int skipped = 0;
+            for (UUID challengeId : challengeIds) {
+                if (changed.contains(challengeId) || inFlight.containsKey(challengeId)) {
+                    skipped++;
+                    continue;
+                }
+                var counter = counters.computeIfAbsent(challengeId, key -> new LongAdder());
+                long drift = stored.getOrDefault(challengeId, 0L) - counter.sum();
+                if (drift != 0) {
+                    counter.add(drift);
+                    corrected++;
+                }
+            }
+            if (corrected > 0) {
+                driftCounter.increment(corrected);
+                log.info("🔁 Like counters reconciled: {} of {} challenges corrected ({} changed meanwhile, left for the next run)",
+                        corrected, challengeIds.size(), skipped);
+            }
+        } finally {
+            changedDuringReconcile = null;
+        }
+    }
+
+    private void ensureSeeded() {
+        if (seeded) {
+            return;
+        }
+        seedLock.lock();
+        try {
+            if (!seeded) {
+                long start = System.nanoTime();
+                loadCounts().forEach((challengeId, count) ->
+                        counters.computeIfAbsent(challengeId, key -> new LongAdder()).add(count));
+                seeded = true;
+                log.info("👍 Challenge like counters seeded: {} challenges in {} ms",
+                        counters.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private void add(UUID challengeId, long delta) {
+        markChanged(challengeId);
+        // Before seeding the change is read from the database (or caught by the next reconciliation)
+        if (seeded) {
+            counters.computeIfAbsent(challengeId, key -> new LongAdder()).add(delta);
+        }
+    }
+
+    private Map<UUID, Long> loadCounts() {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : challengeLikeRepository.countGroupedByChallengeId()) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private void markChanged(UUID challengeId) {
+        var changed = changedDuringReconcile;
+        if (changed != null) {
+            changed.add(challengeId);
+        }
+    }
+
+    /**
+     * Run the action once the current transaction commits. From just before the commit until the action has
+     * run, the challenges are in flight: a reconciliation may already see the like in the database but not
+     * yet in the counts.
+     */
+    private void runAfterCommit(Collection<UUID> challengeIds, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing = true;
+                challengeIds.forEach(challengeId -> inFlight.merge(challengeId, 1, Integer::sum));
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) {
+                    challengeIds.forEach(challengeId ->
+                            inFlight.computeIfPresent(challengeId, (key, count) -> count == 1 ? null : count - 1));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.shared.infrastructure.cache.ReadThroughCache;
+import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.ChallengeForScoringResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the experience points and difficulty used to score submissions, keyed by challenge ID.
+ * <p>
+ * Every graded submission needs them, while they only change when a teacher edits the challenge.
+ * Updates and deletes invalidate the entry once their transaction commits.
+ */
+@Component
+public class ChallengeScoringCache {
+
+    public static final String CACHE_NAME = "challenge-scoring";
+
+    private final ReadThroughCache<UUID, ChallengeForScoringResource> cache;
+
+    public ChallengeScoringCache(@Value("${challenges.scoring-cache.max-size:1000}") long maxSize,
+                                 @Value("${challenges.scoring-cache.ttl:PT10M}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.cache = ReadThroughCache.create(CACHE_NAME, maxSize, ttl, meterRegistry);
+    }
+
+    /**
+     * Get the scoring data of a challenge, loading it on a miss
+     */
+    public Optional<ChallengeForScoringResource> get(UUID challengeId,
+                                                     Function<UUID, Optional<ChallengeForScoringResource>> loader) {
+        return cache.get(challengeId, loader);
+    }
+
+    /**
+     * Drop the cached scoring data of a challenge once the current transaction commits
+     */
+    public void invalidate(UUID challengeId) {
+        cache.invalidate(challengeId);
+    }
+}
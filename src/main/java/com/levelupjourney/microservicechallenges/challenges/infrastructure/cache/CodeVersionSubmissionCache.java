@@ -0,0 +1,48 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.shared.infrastructure.cache.ReadThroughCache;
+import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.CodeVersionToBeSubmittedResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the ready-to-send test suites used by submissions, keyed by code version ID.
+ * <p>
+ * Test suites rarely change while students are submitting, so the CodeVersion and its TEXT test
+ * rows are loaded once and reused. Writes to a code version or its tests invalidate the entry once
+ * their transaction commits.
+ */
+@Component
+public class CodeVersionSubmissionCache {
+
+    public static final String CACHE_NAME = "code-version-tests";
+
+    private final ReadThroughCache<UUID, CodeVersionToBeSubmittedResource> cache;
+
+    public CodeVersionSubmissionCache(@Value("${challenges.submission-cache.max-size:500}") long maxSize,
+                                      @Value("${challenges.submission-cache.ttl:PT30M}") Duration ttl,
+                                      MeterRegistry meterRegistry) {
+        this.cache = ReadThroughCache.create(CACHE_NAME, maxSize, ttl, meterRegistry);
+    }
+
+    /**
+     * Get the test suite of a code version, loading it on a miss
+     */
+    public Optional<CodeVersionToBeSubmittedResource> get(UUID codeVersionId,
+                                                          Function<UUID, Optional<CodeVersionToBeSubmittedResource>> loader) {
+        return cache.get(codeVersionId, loader);
+    }
+
+    /**
+     * Drop the cached test suite of a code version once the current transaction commits
+     */
+    public void invalidate(UUID codeVersionId) {
+        cache.invalidate(codeVersionId);
+    }
+}
@@ -0,0 +1,320 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengePageCursor;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.search.ChallengeSearchIndex;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.search.ChallengeSearchIndex.SearchHit;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.transactions.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory read model of the published challenge catalog.
+ * <p>
+ * The catalog is loaded on first use and updated incrementally by the challenge commands once their
+ * transaction commits: updates and guide changes replace the snapshot of the challenge (or drop it when
+ * it is no longer published), deletes drop it. A periodic reload
+ * ({@code challenges.catalog.refresh-interval}) picks up writes made on other instances.
+ * <p>
+ * Reads return immutable pages ordered from newest to oldest, or free-text search results from an
+ * inverted index kept in step with the catalog, without touching the database. A committed change only
+ * reindexes and repositions the challenges it touched; the full list is sorted and indexed on reloads.
+ * Like counts are served by {@link ChallengeLikeCounters}.
+ */
+@Slf4j
+@Component
+public class PublishedChallengeCatalog {
+
+    // Same order as the paged list queries: createdAt then id, newest first
+    private static final Comparator<ChallengePageCursor> NEWEST_FIRST = Comparator
+            .comparing(ChallengePageCursor::createdAt)
+            .thenComparing(ChallengePageCursor::challengeId)
+            .reversed();
+
+    private final ChallengeRepository challengeRepository;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ChallengeSearchIndex searchIndex = new ChallengeSearchIndex();
+
+    // Guarded by this
+    private final Map<UUID, PublishedChallengeView> views = new HashMap<>();
+    private List<Change> changesDuringReload;
+
+    private volatile List<CatalogEntry> entries = List.of();
+    private volatile boolean loaded;
+
+    public PublishedChallengeCatalog(ChallengeRepository challengeRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.challengeRepository = challengeRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("challenges.catalog.size", this, catalog -> catalog.entries.size())
+                .description("Published challenges held by the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get every published challenge, newest first
+     *
+     * @return Immutable snapshot of the catalog
+     */
+    public List<CatalogEntry> findAll() {
+        if (!loaded) {
+            reloadLock.lock();
+            try {
+                // A concurrent caller may have finished the first load while this one waited
+                if (!loaded) {
+                    doReload();
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Get one page of published challenges, newest first
+     *
+     * @param after Position after which the page starts
+     * @param limit Maximum number of challenges in the page
+     * @return The page and the cursor of the next one, if any
+     */
+    public CatalogPage findPage(ChallengePageCursor after, int limit) {
+        var all = findAll();
+        // Entries are sorted, so the page start is found by binary search on the cursor
+        int low = 0;
+        int high = all.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (NEWEST_FIRST.compare(all.get(mid).cursor(), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = Math.min(low + limit, all.size());
+        var items = all.subList(low, end);
+        var nextCursor = end < all.size() ? Optional.of(items.getLast().cursor()) : Optional.<ChallengePageCursor>empty();
+        return new CatalogPage(items, nextCursor);
+    }
+
+    /**
+     * Search published challenges by free text over their name, description and tags
+     *
+     * @param text Text to search; every word has to match, as a word, a prefix or with a small typo
+     * @return Matching challenges, most relevant first
+     */
+    public List<SearchHit> search(String text) {
+        findAll();
+        return searchIndex.search(text);
+    }
+
+    /**
+     * Record a change of a challenge made in the current transaction.
+     * The snapshot is taken now and applied after commit; a challenge that is not published is dropped.
+     *
+     * @param challenge The modified challenge
+     */
+    public void challengeChanged(Challenge challenge) {
+        var challengeId = challenge.getId().id();
+        if (challenge.getStatus() == ChallengeStatus.PUBLISHED) {
+            afterCommit(new Change(List.of(), List.of(PublishedChallengeView.from(challenge))));
+        } else {
+            afterCommit(new Change(List.of(challengeId), List.of()));
+        }
+    }
+
+    /**
+     * Record the deletion of a challenge in the current transaction
+     *
+     * @param challengeId The deleted challenge
+     */
+    public void challengeDeleted(UUID challengeId) {
+        afterCommit(new Change(List.of(challengeId), List.of()));
+    }
+
+    /**
+     * Record changes written without loading the challenges (bulk statements).
+     * The challenges already in the catalog are read again after commit.
+     *
+     * @param challengeIds The modified challenges
+     */
+    public void challengesChanged(Collection<UUID> challengeIds) {
+        var ids = Set.copyOf(challengeIds);
+        AfterCommit.run(() -> {
+            if (!isTracking()) {
+                return;
+            }
+            List<UUID> cached;
+            synchronized (this) {
+                // During the first load any of them may end up cached, so all of them are read
+                cached = loaded ? ids.stream().filter(views::containsKey).toList() : List.copyOf(ids);
+            }
+            if (cached.isEmpty()) {
+                return;
+            }
+            var reloaded = readTransaction.execute(status -> challengeRepository
+                    .findAllById(cached.stream().map(ChallengeId::new).toList())
+                    .stream()
+                    .filter(challenge -> challenge.getStatus() == ChallengeStatus.PUBLISHED)
+                    .map(PublishedChallengeView::from)
+                    .toList());
+            apply(new Change(cached, reloaded));
+        });
+    }
+
+    /**
+     * Rebuild the catalog from the database, picking up writes made by other instances.
+     * Skipped until the catalog is first read; changes committed while the reload runs are applied
+     * again on top of the reloaded data.
+     */
+    @Scheduled(fixedDelayString = "${challenges.catalog.refresh-interval:PT5M}",
+               initialDelayString = "${challenges.catalog.refresh-interval:PT5M}")
+    public void reload() {
+        if (!loaded) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            doReload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void doReload() {
+        synchronized (this) {
+            changesDuringReload = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            var published = readTransaction.execute(status -> {
+                // One query per collection instead of two selects per challenge
+                var challenges = challengeRepository.findPublishedChallengesWithTags();
+                challengeRepository.fetchGuidesOfPublishedChallenges();
+                return challenges.stream().map(PublishedChallengeView::from).toList();
+            });
+
+            synchronized (this) {
+                views.clear();
+                published.forEach(view -> views.put(view.id(), view));
+                changesDuringReload.forEach(change -> {
+                    change.removed().forEach(views::remove);
+                    change.stored().forEach(view -> views.put(view.id(), view));
+                });
+                changesDuringReload = null;
+                publish();
+                loaded = true;
+            }
+            log.info("📚 Published challenge catalog loaded: {} challenges in {} ms",
+                    published.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            log.error("❌ Failed to load the published challenge catalog: {}", e.getMessage(), e);
+            if (!loaded) {
+                throw e;
+            }
+        }
+    }
+
+    // Whether a committed change has to be applied: once loaded, or while the first load is running
+    private synchronized boolean isTracking() {
+        return loaded || changesDuringReload != null;
+    }
+
+    private void afterCommit(Change change) {
+        AfterCommit.run(() -> apply(change));
+    }
+
+    private synchronized void apply(Change change) {
+        if (changesDuringReload != null) {
+            changesDuringReload.add(change);
+        }
+        // Before the first load the change is either replayed above or read from the database
+        if (!loaded) {
+            return;
+        }
+        var updated = new ArrayList<>(entries);
+        for (UUID challengeId : change.removed()) {
+            var previous = views.remove(challengeId);
+            if (previous != null) {
+                removeEntry(updated, previous);
+                searchIndex.remove(challengeId);
+            }
+        }
+        for (var view : change.stored()) {
+            var previous = views.put(view.id(), view);
+            if (previous != null) {
+                removeEntry(updated, previous);
+            }
+            var entry = new CatalogEntry(view);
+            updated.add(-position(updated, entry) - 1, entry);
+            searchIndex.put(view);
+        }
+        // A new list, so readers holding the previous one keep a consistent snapshot
+        entries = Collections.unmodifiableList(updated);
+    }
+
+    private static void removeEntry(List<CatalogEntry> sorted, PublishedChallengeView view) {
+        int index = position(sorted, new CatalogEntry(view));
+        if (index >= 0) {
+            sorted.remove(index);
+        }
+    }
+
+    // Binary search of an entry by its cursor in a list in catalog order (insertion point encoded as for Collections.binarySearch)
+    private static int position(List<CatalogEntry> sorted, CatalogEntry entry) {
+        return Collections.binarySearch(sorted, entry, Comparator.comparing(CatalogEntry::cursor, NEWEST_FIRST));
+    }
+
+    // Sort the whole catalog and bring the search index in line with it, after a reload
+    private void publish() {
+        searchIndex.sync(views);
+        entries = views.values().stream()
+                .map(CatalogEntry::new)
+                .sorted(Comparator.comparing(CatalogEntry::cursor, NEWEST_FIRST))
+                .toList();
+    }
+
+    /**
+     * Published challenge in the catalog order
+     */
+    public record CatalogEntry(PublishedChallengeView challenge) {
+
+        /**
+         * Position of this challenge in the catalog order
+         */
+        public ChallengePageCursor cursor() {
+            return new ChallengePageCursor(challenge.createdAt().toInstant(), challenge.id());
+        }
+    }
+
+    /**
+     * Committed change to apply: challenges to drop, then snapshots to store (added or replaced)
+     */
+    private record Change(Collection<UUID> removed, Collection<PublishedChallengeView> stored) {
+    }
+
+    /**
+     * Page of the catalog
+     */
+    public record CatalogPage(List<CatalogEntry> items, Optional<ChallengePageCursor> nextCursor) {
+    }
+}
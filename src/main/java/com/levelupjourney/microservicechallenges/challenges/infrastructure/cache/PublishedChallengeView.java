@@ -0,0 +1,56 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a published challenge, as held by {@link PublishedChallengeCatalog}.
+ * Collections are copied when the snapshot is taken, so it can be shared between requests
+ * without touching the persistence context.
+ */
+public record PublishedChallengeView(
+    UUID id,
+    UUID teacherId,
+    String name,
+    String description,
+    Integer experiencePoints,
+    Difficulty difficulty,
+    List<String> tags,
+    List<UUID> guides,
+    Integer maxAttemptsBeforeGuides,
+    Date createdAt
+) {
+    /**
+     * Take a snapshot of a challenge; must run while its lazy collections can still be loaded
+     *
+     * @param challenge The challenge, expected to be PUBLISHED
+     * @return The snapshot
+     */
+    public static PublishedChallengeView from(Challenge challenge) {
+        return new PublishedChallengeView(
+            challenge.getId().id(),
+            challenge.getTeacherId().id(),
+            challenge.getName(),
+            challenge.getDescription(),
+            challenge.getExperiencePoints(),
+            challenge.getDifficulty(),
+            List.copyOf(challenge.getTags()),
+            List.copyOf(challenge.getGuides()),
+            challenge.getMaxAttemptsBeforeGuides(),
+            challenge.getCreatedAt()
+        );
+    }
+
+    /**
+     * Summary of this challenge for list pages
+     */
+    public ChallengeSummary toSummary() {
+        return new ChallengeSummary(id, teacherId, name, experiencePoints, difficulty, ChallengeStatus.PUBLISHED, createdAt);
+    }
+}
@@ -0,0 +1,64 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts challenge-guide links in bulk.
+ * Used by the guide event consumer, where loading every challenge with JPA to call addGuide would
+ * cost a select per challenge plus the rewrite of its whole guide collection.
+ */
+@Slf4j
+@Repository
+public class ChallengeGuideJdbcRepository {
+
+    // One statement for the whole list: unknown challenges are dropped by the join, links already stored by
+    // NOT EXISTS, and links inserted concurrently by another consumer by the unique constraint
+    private static final String INSERT_MISSING_GUIDES_SQL =
+            "INSERT INTO challenge_guides (challenge_id, guide_id) " +
+            "SELECT l.challenge_id, l.guide_id FROM unnest(?, ?) AS l(challenge_id, guide_id) " +
+            "JOIN challenges c ON c.id = l.challenge_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM challenge_guides g " +
+            "WHERE g.challenge_id = l.challenge_id AND g.guide_id = l.guide_id) " +
+            "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChallengeGuideJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the links that are not stored yet with a single statement
+     *
+     * @param links Distinct challenge-guide links
+     * @return Number of links inserted
+     */
+    public int insertMissing(List<GuideLink> links) {
+        if (links.isEmpty()) {
+            return 0;
+        }
+
+        var challengeIds = links.stream().map(GuideLink::challengeId).toArray(UUID[]::new);
+        var guideIds = links.stream().map(GuideLink::guideId).toArray(UUID[]::new);
+        int inserted = jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(INSERT_MISSING_GUIDES_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", challengeIds));
+            statement.setArray(2, connection.createArrayOf("uuid", guideIds));
+            return statement;
+        });
+
+        log.debug("💾 Guide batch written: {} of {} links inserted", inserted, links.size());
+        return inserted;
+    }
+
+    /**
+     * Guide attached to a challenge
+     */
+    public record GuideLink(UUID challengeId, UUID guideId) {
+    }
+}
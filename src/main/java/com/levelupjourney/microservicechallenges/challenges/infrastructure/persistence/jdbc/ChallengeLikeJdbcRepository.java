@@ -0,0 +1,102 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes challenge likes with single statements.
+ * The like and unlike endpoints use one INSERT or DELETE whose row count tells whether anything changed,
+ * so double clicks and retries are idempotent instead of racing a separate existence check.
+ */
+@Slf4j
+@Repository
+public class ChallengeLikeJdbcRepository {
+
+    // Unknown challenges are dropped by the join, existing likes by the primary key
+    private static final String INSERT_LIKE_SQL =
+            "INSERT INTO challenge_likes (challenge_id, user_id, liked_at) " +
+            "SELECT c.id, ?, ? FROM challenges c WHERE c.id = ? " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_LIKE_SQL =
+            "DELETE FROM challenge_likes WHERE challenge_id = ? AND user_id = ?";
+
+    // Same rules for a whole list; duplicates inside the list are collapsed by DISTINCT ON.
+    // The challenge of every inserted row is returned so the like counters can be moved
+    private static final String INSERT_MISSING_LIKES_SQL =
+            "INSERT INTO challenge_likes (challenge_id, user_id, liked_at) " +
+            "SELECT DISTINCT ON (l.challenge_id, l.user_id) l.challenge_id, l.user_id, COALESCE(l.liked_at, ?) " +
+            "FROM unnest(?, ?, ?) AS l(challenge_id, user_id, liked_at) " +
+            "JOIN challenges c ON c.id = l.challenge_id " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING challenge_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChallengeLikeJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Store a like unless it is already stored or the challenge does not exist
+     *
+     * @param challengeId The liked challenge
+     * @param userId      The user who likes it
+     * @return true if the like was inserted
+     */
+    public boolean insertIfAbsent(UUID challengeId, UUID userId) {
+        return jdbcTemplate.update(INSERT_LIKE_SQL, userId, Timestamp.valueOf(LocalDateTime.now()), challengeId) > 0;
+    }
+
+    /**
+     * Remove a like if it is stored
+     *
+     * @param challengeId The unliked challenge
+     * @param userId      The user who unlikes it
+     * @return true if a like was deleted
+     */
+    public boolean delete(UUID challengeId, UUID userId) {
+        return jdbcTemplate.update(DELETE_LIKE_SQL, challengeId, userId) > 0;
+    }
+
+    /**
+     * Insert the likes that are not stored yet with a single statement
+     *
+     * @param likes Likes to import; a missing likedAt is set to now
+     * @return Challenge of each inserted like, once per like
+     */
+    public List<UUID> insertMissing(List<LikeRow> likes) {
+        if (likes.isEmpty()) {
+            return List.of();
+        }
+
+        var challengeIds = likes.stream().map(LikeRow::challengeId).toArray(UUID[]::new);
+        var userIds = likes.stream().map(LikeRow::userId).toArray(UUID[]::new);
+        var likedAts = likes.stream()
+                .map(like -> like.likedAt() == null ? null : Timestamp.valueOf(like.likedAt()))
+                .toArray(Timestamp[]::new);
+        List<UUID> inserted = jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(INSERT_MISSING_LIKES_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            statement.setArray(2, connection.createArrayOf("uuid", challengeIds));
+            statement.setArray(3, connection.createArrayOf("uuid", userIds));
+            statement.setArray(4, connection.createArrayOf("timestamp", likedAts));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getObject(1, UUID.class));
+
+        log.debug("💾 Like import written: {} of {} likes inserted", inserted.size(), likes.size());
+        return inserted;
+    }
+
+    /**
+     * Like of a user on a challenge
+     */
+    public record LikeRow(UUID challengeId, UUID userId, LocalDateTime likedAt) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the tag dictionary ({@code challenge_tag_counts}); it is seeded by the V2 migration.
+ * Counts are changed with deltas inside the transaction that writes the challenge, so concurrent writers
+ * serialize on the tag rows instead of overwriting each other's counts.
+ */
+@Repository
+public class ChallengeTagJdbcRepository {
+
+    // One upsert for every tag touched by a challenge write
+    private static final String APPLY_COUNT_DELTAS_SQL =
+            "INSERT INTO challenge_tag_counts (tag, challenge_count) " +
+            "SELECT d.tag, d.delta FROM unnest(?, ?) AS d(tag, delta) " +
+            "ON CONFLICT (tag) DO UPDATE SET challenge_count = challenge_tag_counts.challenge_count + EXCLUDED.challenge_count";
+
+    // Ordered by tag; reads only the dictionary, not the challenges
+    private static final String FIND_TAGS_IN_USE_SQL =
+            "SELECT tag FROM challenge_tag_counts WHERE challenge_count > 0 ORDER BY tag";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChallengeTagJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add the given deltas to the challenge count of each tag
+     *
+     * @param deltas Change of the number of challenges per normalized tag (zero deltas are skipped)
+     */
+    public void applyCountDeltas(Map<String, Integer> deltas) {
+        var changed = deltas.entrySet().stream().filter(entry -> entry.getValue() != 0).toList();
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        var tags = changed.stream().map(Map.Entry::getKey).toArray(String[]::new);
+        var counts = changed.stream().map(entry -> entry.getValue().longValue()).toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(APPLY_COUNT_DELTAS_SQL);
+            statement.setArray(1, connection.createArrayOf("text", tags));
+            statement.setArray(2, connection.createArrayOf("bigint", counts));
+            return statement;
+        });
+    }
+
+    /**
+     * Get every tag used by at least one challenge
+     *
+     * @return Distinct tags in alphabetical order
+     */
+    public List<String> findTagsInUse() {
+        return jdbcTemplate.queryForList(FIND_TAGS_IN_USE_SQL, String.class);
+    }
+}
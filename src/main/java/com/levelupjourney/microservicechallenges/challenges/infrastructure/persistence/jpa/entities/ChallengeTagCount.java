@@ -0,0 +1,29 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of challenges using each tag.
+ * <p>
+ * Maintained by {@code ChallengeTagJdbcRepository} in the same transaction as the challenge writes, so the
+ * distinct tags can be listed without scanning {@code challenge_tags}. Tags whose count dropped to zero are
+ * kept and filtered out when reading.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "challenge_tag_counts")
+public class ChallengeTagCount {
+
+    @Id
+    @Column(name = "tag", nullable = false)
+    private String tag;
+
+    @Column(name = "challenge_count", nullable = false)
+    private long challengeCount;
+}
@@ -2,11 +2,14 @@ package com.levelupjourney.microservicechallenges.challenges.infrastructure.pers
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.entities.ChallengeLike;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.entities.ChallengeLikeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Stargazer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -56,10 +59,29 @@ public interface ChallengeLikeRepository extends JpaRepository<ChallengeLike, Ch
     List<UUID> findLikedChallengeIdsByUserIdAndChallengeIdIn(@Param("challengeIds") List<UUID> challengeIds, @Param("userId") UUID userId);
 
     /**
-     * Delete a like by composite key.
-     * 
+     * Get likes count of every liked challenge.
+     * Returns pairs of (challengeId, count).
+     *
+     * @return List of Object arrays where [0] is challengeId and [1] is count
+     */
+    @Query("SELECT cl.challengeId, COUNT(cl) FROM ChallengeLike cl GROUP BY cl.challengeId")
+    List<Object[]> countGroupedByChallengeId();
+
+    /**
+     * Get one page of the users who liked a challenge, most recent first (keyset on likedAt, userId).
+     *
      * @param challengeId The challenge UUID
-     * @param userId The user UUID
+     * @param afterLikedAt Like date of the last stargazer of the previous page
+     * @param afterUserId User of the last stargazer of the previous page
+     * @param limit Maximum number of rows
+     * @return The stargazers after the given position
      */
-    void deleteByChallengeIdAndUserId(UUID challengeId, UUID userId);
+    @Query("SELECT new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Stargazer(cl.userId, cl.likedAt) " +
+           "FROM ChallengeLike cl WHERE cl.challengeId = :challengeId " +
+           "AND (cl.likedAt < :afterLikedAt OR (cl.likedAt = :afterLikedAt AND cl.userId < :afterUserId)) " +
+           "ORDER BY cl.likedAt DESC, cl.userId DESC")
+    List<Stargazer> findStargazers(@Param("challengeId") UUID challengeId,
+                                   @Param("afterLikedAt") LocalDateTime afterLikedAt,
+                                   @Param("afterUserId") UUID afterUserId,
+                                   Limit limit);
 }
@@ -3,43 +3,73 @@ package com.levelupjourney.microservicechallenges.challenges.infrastructure.pers
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.ChallengeForScoringResource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ChallengeRepository extends JpaRepository<Challenge, ChallengeId> {
 
-    // Find challenges by teacher ID using clean method name
-    @Query("SELECT c FROM Challenge c WHERE c.teacherId.id = :teacherId")
-    List<Challenge> findByTeacherId(@Param("teacherId") UUID teacherId);
-
-    // Find published challenges by teacher ID
-    @Query("SELECT c FROM Challenge c WHERE c.teacherId.id = :teacherId AND c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED")
-    List<Challenge> findPublishedChallengesByTeacherId(@Param("teacherId") UUID teacherId);
-
     // Find challenges by status
     List<Challenge> findByStatus(ChallengeStatus status);
 
-    // Find published challenges
-    @Query("SELECT c FROM Challenge c WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED")
-    List<Challenge> findPublishedChallenges();
+    // Keyset page of published challenges filtered by name pattern and difficulty, newest first (projection, no description or collections)
+    @Query("SELECT new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary(c.id.id, c.teacherId.id, c.name, c.experiencePoints, c.difficulty, c.status, c.createdAt) FROM Challenge c " +
+           "WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED " +
+           "AND LOWER(c.name) LIKE :namePattern AND (:anyDifficulty = true OR c.difficulty IN :difficulties) " +
+           "AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id.id < :afterId)) ORDER BY c.createdAt DESC, c.id.id DESC")
+    List<ChallengeSummary> searchPublishedSummaries(@Param("namePattern") String namePattern,
+                                                    @Param("anyDifficulty") boolean anyDifficulty,
+                                                    @Param("difficulties") Collection<Difficulty> difficulties,
+                                                    @Param("afterCreatedAt") Date afterCreatedAt,
+                                                    @Param("afterId") UUID afterId,
+                                                    Limit limit);
+
+    // Same as searchPublishedSummaries, keeping only challenges with at least one of the given normalized tags (uses the challenge_tags tag index)
+    @Query("SELECT new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary(c.id.id, c.teacherId.id, c.name, c.experiencePoints, c.difficulty, c.status, c.createdAt) FROM Challenge c " +
+           "WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED " +
+           "AND LOWER(c.name) LIKE :namePattern AND (:anyDifficulty = true OR c.difficulty IN :difficulties) " +
+           "AND EXISTS (SELECT 1 FROM Challenge t JOIN t.tags tag WHERE t = c AND tag IN :tags) " +
+           "AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id.id < :afterId)) ORDER BY c.createdAt DESC, c.id.id DESC")
+    List<ChallengeSummary> searchPublishedSummariesByTags(@Param("namePattern") String namePattern,
+                                                          @Param("anyDifficulty") boolean anyDifficulty,
+                                                          @Param("difficulties") Collection<Difficulty> difficulties,
+                                                          @Param("tags") Collection<String> tags,
+                                                          @Param("afterCreatedAt") Date afterCreatedAt,
+                                                          @Param("afterId") UUID afterId,
+                                                          Limit limit);
+
+    // Keyset page of a teacher's challenges with the given statuses, newest first (projection)
+    @Query("SELECT new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary(c.id.id, c.teacherId.id, c.name, c.experiencePoints, c.difficulty, c.status, c.createdAt) FROM Challenge c " +
+           "WHERE c.teacherId.id = :teacherId AND c.status IN :statuses " +
+           "AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id.id < :afterId)) ORDER BY c.createdAt DESC, c.id.id DESC")
+    List<ChallengeSummary> findSummariesByTeacherId(@Param("teacherId") UUID teacherId,
+                                                    @Param("statuses") Collection<ChallengeStatus> statuses,
+                                                    @Param("afterCreatedAt") Date afterCreatedAt,
+                                                    @Param("afterId") UUID afterId,
+                                                    Limit limit);
 
-    // Search published challenges by name (case-insensitive, partial match)
-    @Query("SELECT c FROM Challenge c WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED AND LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Challenge> searchPublishedChallengesByName(@Param("name") String name);
+    // Load published challenges with their tags in one query (catalog read model)
+    @Query("SELECT DISTINCT c FROM Challenge c LEFT JOIN FETCH c.tags WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED")
+    List<Challenge> findPublishedChallengesWithTags();
 
-    // Search published challenges by name and difficulty
-    @Query("SELECT c FROM Challenge c WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED AND LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')) AND c.difficulty = :difficulty")
-    List<Challenge> searchPublishedChallengesByNameAndDifficulty(@Param("name") String name, @Param("difficulty") Difficulty difficulty);
+    // Initialize the guides of the published challenges already in the persistence context
+    @Query("SELECT DISTINCT c FROM Challenge c LEFT JOIN FETCH c.guides WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED")
+    List<Challenge> fetchGuidesOfPublishedChallenges();
 
-    // Search published challenges by difficulty only
-    @Query("SELECT c FROM Challenge c WHERE c.status = com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED AND c.difficulty = :difficulty")
-    List<Challenge> searchPublishedChallengesByDifficulty(@Param("difficulty") Difficulty difficulty);
+    // Read only the fields needed to score a submission, without loading the aggregate
+    @Query("SELECT new com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.ChallengeForScoringResource(CAST(c.id.id AS String), c.experiencePoints, c.difficulty) FROM Challenge c WHERE c.id.id = :challengeId")
+    Optional<ChallengeForScoringResource> findScoringById(@Param("challengeId") UUID challengeId);
 }
 
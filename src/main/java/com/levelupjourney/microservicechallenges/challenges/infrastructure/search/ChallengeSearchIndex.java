@@ -0,0 +1,322 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.search;
+
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeView;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the name, tags and description of published challenges.
+ * <p>
+ * Every query token must match the challenge, either exactly, as a prefix of an indexed term, or within a
+ * small edit distance (typo tolerance). Matches are ranked with BM25 over field-weighted term frequencies:
+ * a term in the name counts more than in the tags, which count more than in the description; exact matches
+ * score higher than prefix matches, which score higher than corrected typos.
+ * <p>
+ * Lookups only touch the postings of the matched terms, so search time depends on the size of the result,
+ * not on the number of indexed challenges. Writes reindex a single challenge ({@link #put}, {@link #remove});
+ * {@link #sync} brings the index in line with a full reload of the catalog.
+ */
+public class ChallengeSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.7;
+    private static final double FUZZY_MATCH = 0.5;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_EXPANSIONS = 50;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+    private final NavigableSet<String> terms = new TreeSet<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Bring the index in line with the given challenges: new or replaced snapshots are (re)indexed and
+     * challenges no longer present are removed. Unchanged snapshots are recognized by identity.
+     *
+     * @param views Every published challenge by ID
+     */
+    public void sync(Map<UUID, PublishedChallengeView> views) {
+        lock.writeLock().lock();
+        try {
+            documents.keySet().removeIf(challengeId -> {
+                if (!views.containsKey(challengeId)) {
+                    unindex(documents.get(challengeId));
+                    return true;
+                }
+                return false;
+            });
+            views.forEach((challengeId, view) -> {
+                var document = documents.get(challengeId);
+                if (document == null || document.view() != view) {
+                    if (document != null) {
+                        unindex(document);
+                    }
+                    documents.put(challengeId, index(view));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index a challenge, replacing its previous snapshot if it was already indexed
+     *
+     * @param view Published snapshot of the challenge
+     */
+    public void put(PublishedChallengeView view) {
+        lock.writeLock().lock();
+        try {
+            var previous = documents.remove(view.id());
+            if (previous != null) {
+                unindex(previous);
+            }
+            documents.put(view.id(), index(view));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a challenge from the index; does nothing if it is not indexed
+     *
+     * @param challengeId The challenge UUID
+     */
+    public void remove(UUID challengeId) {
+        lock.writeLock().lock();
+        try {
+            var previous = documents.remove(challengeId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the indexed challenges
+     *
+     * @param text Free text; every token has to match
+     * @return Matching challenges, best first (ties by ID)
+     */
+    public List<SearchHit> search(String text) {
+        var queryTokens = tokenize(text).stream().distinct().toList();
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents.size();
+
+            Map<UUID, Double> scores = null;
+            for (String token : queryTokens) {
+                var tokenScores = scoreToken(token, averageLength);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token must match: keep the challenges matched so far that also match this token
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((challengeId, score) -> score + tokenScores.get(challengeId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .map(entry -> new SearchHit(documents.get(entry.getKey()).view(), entry.getValue()))
+                    .sorted(SearchHit.BEST_FIRST)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score of each challenge for one query token over its exact, prefix and fuzzy expansions
+    private Map<UUID, Double> scoreToken(String token, double averageLength) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(token)) {
+            expansions.put(token, EXACT_MATCH);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            terms.subSet(token, false, token + Character.MAX_VALUE, false).stream()
+                    .limit(MAX_EXPANSIONS)
+                    .forEach(term -> expansions.putIfAbsent(term, PREFIX_MATCH));
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = token.length() >= 8 ? 2 : 1;
+            fuzzyCandidates(token).stream()
+                    .filter(term -> !expansions.containsKey(term))
+                    .filter(term -> editDistance(token, term, maxDistance) <= maxDistance)
+                    .limit(MAX_EXPANSIONS)
+                    .forEach(term -> expansions.put(term, FUZZY_MATCH));
+        }
+
+        Map<UUID, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        expansions.forEach((term, matchWeight) -> {
+            var termPostings = postings.get(term);
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            termPostings.forEach((challengeId, frequency) -> {
+                double normalization = K1 * (1 - B + B * documents.get(challengeId).length() / averageLength);
+                double score = matchWeight * idf * frequency * (K1 + 1) / (frequency + normalization);
+                scores.merge(challengeId, score, Math::max);
+            });
+        });
+        return scores;
+    }
+
+    // Indexed terms sharing at least one trigram with the token and of a close length
+    private Set<String> fuzzyCandidates(String token) {
+        Set<String> candidates = new HashSet<>();
+        for (String trigram : trigrams(token)) {
+            for (String term : termsByTrigram.getOrDefault(trigram, Set.of())) {
+                if (Math.abs(term.length() - token.length()) <= 2) {
+                    candidates.add(term);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Document index(PublishedChallengeView view) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(view.name()).forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        view.tags().forEach(tag -> tokenize(tag).forEach(term -> frequencies.merge(term, TAG_WEIGHT, Integer::sum)));
+        tokenize(view.description()).forEach(term -> frequencies.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        int length = 0;
+        for (var entry : frequencies.entrySet()) {
+            var term = entry.getKey();
+            var termPostings = postings.computeIfAbsent(term, key -> {
+                terms.add(key);
+                trigrams(key).forEach(trigram -> termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(key));
+                return new HashMap<>();
+            });
+            termPostings.put(view.id(), entry.getValue());
+            length += entry.getValue();
+        }
+        totalLength += length;
+        return new Document(view, Set.copyOf(frequencies.keySet()), length);
+    }
+
+    private void unindex(Document document) {
+        for (String term : document.terms()) {
+            var termPostings = postings.get(term);
+            termPostings.remove(document.view().id());
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                terms.remove(term);
+                for (String trigram : trigrams(term)) {
+                    var trigramTerms = termsByTrigram.get(trigram);
+                    trigramTerms.remove(term);
+                    if (trigramTerms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    /**
+     * Split text into lowercase terms without accents, so "Programación" matches "programacion"
+     *
+     * @param text Text to split, may be null
+     * @return Terms of at least two characters, in order
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        var folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Trigrams of a term padded with spaces, so short terms and word starts still produce trigrams
+    private static Set<String> trigrams(String term) {
+        var padded = "  " + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Damerau-Levenshtein (optimal string alignment) distance, stopping early once above the limit
+     *
+     * @return The distance, or {@code limit + 1} if it is larger than the limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            distance[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            distance[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMinimum = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(distance[i - 1][j] + 1, distance[i][j - 1] + 1), distance[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, distance[i - 2][j - 2] + 1);
+                }
+                distance[i][j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+        }
+        return Math.min(distance[a.length()][b.length()], limit + 1);
+    }
+
+    /**
+     * Challenge matched by a search, with its relevance
+     */
+    public record SearchHit(PublishedChallengeView challenge, double score) {
+
+        // Highest score first, ties by ID so the order is stable between pages
+        public static final Comparator<SearchHit> BEST_FIRST = Comparator
+                .comparingDouble(SearchHit::score).reversed()
+                .thenComparing(hit -> hit.challenge().id());
+    }
+
+    private record Document(PublishedChallengeView view, Set<String> terms, int length) {
+    }
+}
@@ -5,17 +5,28 @@ import com.levelupjourney.microservicechallenges.challenges.domain.model.aggrega
 import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.CodeVersionTestForSubmittingResource;
 import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.CodeVersionToBeSubmittedResource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
 public class CodeVersionToBeSubmittedResourceFromEntityAssembler {
 
     public static CodeVersionToBeSubmittedResource toResourceFromEntity(CodeVersion codeVersion) {
+        return toResourceFromEntity(codeVersion, codeVersion.getTests());
+    }
+
+    public static CodeVersionToBeSubmittedResource toResourceFromEntity(CodeVersion codeVersion, List<CodeVersionTest> codeVersionTests) {
 
-        var tests = codeVersion.getTests().stream()
+        var tests = codeVersionTests.stream()
                 .map(CodeVersionToBeSubmittedResourceFromEntityAssembler::toCodeVersionTestForSubmittingResourceFromEntity)
                 .toList();
 
         return new CodeVersionToBeSubmittedResource(
                 codeVersion.getLanguage().name().toLowerCase(), // Use language instead of ID
-                tests
+                tests,
+                computeSuiteVersion(tests)
         );
     }
 
@@ -24,8 +35,28 @@ public class CodeVersionToBeSubmittedResourceFromEntityAssembler {
                 codeVersionTest.getId().id().toString(), // Use test ID, not CodeVersion ID
                 codeVersionTest.getInput(),
                 codeVersionTest.getExpectedOutput(),
-                codeVersionTest.getCustomValidationCode()
+                codeVersionTest.getCustomValidationCode(),
+                Boolean.TRUE.equals(codeVersionTest.getIsRequired())
         );
     }
 
+    /**
+     * SHA-256 of every field sent to the CodeRunner, in test order, including the required flag
+     */
+    private static String computeSuiteVersion(List<CodeVersionTestForSubmittingResource> tests) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var test : tests) {
+                for (var field : new String[] { test.id(), test.input(), test.expectedOutput(), test.customValidationCode() }) {
+                    digest.update((field != null ? field : "").getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                digest.update((byte) (test.required() ? 1 : 0));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
 }
@@ -3,34 +3,47 @@ package com.levelupjourney.microservicechallenges.challenges.interfaces.rest;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuideCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.LikeChallengeCommand;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.UnlikeChallengeCommand;
-import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetAllPublishedChallengesQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengeByIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengesByTeacherIdQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetPublishedChallengesByTeacherIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetStargazersByChallengeIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesByTextQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesQuery;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengePageCursor;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeRankCursor;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummaryPage;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.StargazerPageCursor;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeCommandService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
 import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.ChallengeLikeCounters;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeCatalog;
 import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.*;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.*;
-import com.levelupjourney.microservicechallenges.shared.infrastructure.security.JwtUtil;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(value = "/api/v1/challenges", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -42,18 +55,30 @@ public class ChallengeController {
     private final ChallengeQueryService challengeQueryService;
     private final CodeVersionQueryService codeVersionQueryService;
     private final ChallengeLikeRepository challengeLikeRepository;
-    private final JwtUtil jwtUtil;
+    private final PublishedChallengeCatalog publishedChallengeCatalog;
+    private final ChallengeLikeCounters challengeLikeCounters;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxLikesImportSize;
 
     public ChallengeController(ChallengeCommandService challengeCommandService,
                                ChallengeQueryService challengeQueryService,
                                CodeVersionQueryService codeVersionQueryService,
                                ChallengeLikeRepository challengeLikeRepository,
-                               JwtUtil jwtUtil) {
+                               PublishedChallengeCatalog publishedChallengeCatalog,
+                               ChallengeLikeCounters challengeLikeCounters,
+                               @Value("${challenges.pagination.default-size:20}") int defaultPageSize,
+                               @Value("${challenges.pagination.max-size:100}") int maxPageSize,
+                               @Value("${challenges.likes.import-max-size:10000}") int maxLikesImportSize) {
         this.challengeCommandService = challengeCommandService;
         this.challengeQueryService = challengeQueryService;
         this.codeVersionQueryService = codeVersionQueryService;
         this.challengeLikeRepository = challengeLikeRepository;
-        this.jwtUtil = jwtUtil;
+        this.publishedChallengeCatalog = publishedChallengeCatalog;
+        this.challengeLikeCounters = challengeLikeCounters;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxLikesImportSize = maxLikesImportSize;
     }
 
     // Create a new challenge
@@ -68,12 +93,10 @@ public class ChallengeController {
     })
     public ResponseEntity<?> createChallenge(
             @RequestBody CreateChallengeResource resource,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract Authorization header from request
-            String authorizationHeader = request.getHeader("Authorization");
             // Extract teacherId from JWT token
-            String teacherId = jwtUtil.extractUserId(authorizationHeader);
+            String teacherId = currentUser.userId();
             
             // Transform resource to domain command with teacherId from token
             var command = CreateChallengeCommandFromResourceAssembler.toCommandFromResource(resource, teacherId);
@@ -92,7 +115,7 @@ public class ChallengeController {
                 UUID userUuid = UUID.fromString(teacherId);
                 
                 boolean userLiked = challengeLikeRepository.existsByChallengeIdAndUserId(challengeUuid, userUuid);
-                long likesCount = challengeLikeRepository.countByChallengeId(challengeUuid);
+                long likesCount = challengeLikeCounters.get(challengeUuid);
                 
                 var challengeResource = ChallengeResourceFromEntityAssembler.toResourceFromEntity(challenge.get(), userLiked, likesCount);
                 return new ResponseEntity<>(challengeResource, HttpStatus.CREATED);
@@ -117,10 +140,7 @@ public class ChallengeController {
     })
     public ResponseEntity<?> getChallengeById(
             @PathVariable String challengeId,
-            HttpServletRequest request) {
-        
-        // Extract Authorization header from request
-        String authorizationHeader = request.getHeader("Authorization");
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Transform path variable to domain query
         var query = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
@@ -139,7 +159,7 @@ public class ChallengeController {
         // Validate access based on challenge status
         if (challenge.getStatus() != com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus.PUBLISHED) {
             // Challenge is DRAFT or HIDDEN - only owner can access
-            String userIdFromToken = jwtUtil.extractUserId(authorizationHeader);
+            String userIdFromToken = currentUser.userId();
             String challengeOwnerId = challenge.getTeacherId().id().toString();
             
             if (userIdFromToken == null || !userIdFromToken.equals(challengeOwnerId)) {
@@ -149,189 +169,136 @@ public class ChallengeController {
         }
         
         // Fetch like data
-        String userId = jwtUtil.extractUserId(authorizationHeader);
+        String userId = currentUser.userId();
         UUID challengeUuid = UUID.fromString(challengeId);
         UUID userUuid = UUID.fromString(userId);
         
         boolean userLiked = challengeLikeRepository.existsByChallengeIdAndUserId(challengeUuid, userUuid);
-        long likesCount = challengeLikeRepository.countByChallengeId(challengeUuid);
+        long likesCount = challengeLikeCounters.get(challengeUuid);
         
         // Transform domain entity to response resource with like data
         var challengeResource = ChallengeResourceFromEntityAssembler.toResourceFromEntity(challenge, userLiked, likesCount);
         return new ResponseEntity<>(challengeResource, HttpStatus.OK);
     }
 
-    // Get all published challenges
+    // Get all published challenges, one page at a time
     @GetMapping
-    @Operation(summary = "Get all published challenges", description = "Retrieve all challenges with PUBLISHED status. Public endpoint.")
+    @Operation(summary = "Get all published challenges", description = "Retrieve challenges with PUBLISHED status, newest first, one page at a time. Pass the returned nextCursor as cursor to get the next page. Public endpoint.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Published challenges retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Published challenges retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     })
-    public ResponseEntity<List<ChallengeResource>> getAllPublishedChallenges(HttpServletRequest request) {
-        // Execute query for published challenges
-        var query = new GetAllPublishedChallengesQuery();
-        var challenges = challengeQueryService.handle(query);
-
-        // Extract user ID from JWT
-        String authorizationHeader = request.getHeader("Authorization");
-        String userId = jwtUtil.extractUserId(authorizationHeader);
-        UUID userUuid = UUID.fromString(userId);
-
-        // Batch fetch like data
-        List<UUID> challengeIds = challenges.stream()
-                .map(challenge -> challenge.getId().id())
-                .collect(Collectors.toList());
-
-        // Get likes count for all challenges
-        var likesCountResults = challengeLikeRepository.countByChallengeIdIn(challengeIds);
-        var likesCountMap = likesCountResults.stream()
-                .collect(Collectors.toMap(
-                        result -> (UUID) result[0],
-                        result -> (Long) result[1]
-                ));
-
-        // Get challenges liked by user
-        var likedChallengeIds = challengeLikeRepository.findLikedChallengeIdsByUserIdAndChallengeIdIn(challengeIds, userUuid);
-        var likedSet = likedChallengeIds.stream().collect(Collectors.toSet());
-
-        // Transform domain entities to response resources with like data
-        var challengeResources = challenges.stream()
-                .map(challenge -> {
-                    UUID challengeId = challenge.getId().id();
-                    boolean userLiked = likedSet.contains(challengeId);
-                    long likesCount = likesCountMap.getOrDefault(challengeId, 0L);
-                    return ChallengeResourceFromEntityAssembler.toResourceFromEntity(challenge, userLiked, likesCount);
-                })
-                .collect(Collectors.toList());
-
-        return new ResponseEntity<>(challengeResources, HttpStatus.OK);
+    public ResponseEntity<?> getAllPublishedChallenges(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, capped at the configured maximum)") @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Published challenges and like counts come from memory
+            var page = publishedChallengeCatalog.findPage(ChallengePageCursor.decode(cursor), pageSize(size));
+            var challengeIds = page.items().stream().map(entry -> entry.challenge().id()).toList();
+            var likesCountMap = challengeLikeCounters.get(challengeIds);
+            var likedSet = likedChallengeIds(challengeIds, currentUser);
+
+            var items = page.items().stream()
+                    .map(entry -> ChallengeSummaryResourceFromEntityAssembler.toResourceFromView(
+                            entry.challenge(), likedSet.contains(entry.challenge().id()), likesCountMap.get(entry.challenge().id())))
+                    .toList();
+            return ResponseEntity.ok(new ChallengeSummaryPageResource(items,
+                    page.nextCursor().map(ChallengePageCursor::encode).orElse(null)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Invalid request: " + e.getMessage()));
+        }
     }
 
     // Search published challenges with filters
     @GetMapping("/search")
     @Operation(
         summary = "Search published challenges", 
-        description = "Search challenges with PUBLISHED status using optional filters. " +
+        description = "Search challenges with PUBLISHED status using optional filters, one page at a time. " +
+                      "With q, the name, description and tags are searched as free text and results are ordered by relevance " +
+                      "(every word must match, prefixes and small typos included); otherwise results are newest first. " +
                       "All filters are optional and can be combined. " +
-                      "Examples: /challenges/search?name=hello, /challenges/search?name=h&difficulty=EASY"
+                      "Examples: /challenges/search?q=binary sear, /challenges/search?name=h&difficulty=EASY&size=10"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Challenges found successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid filter parameters")
+        @ApiResponse(responseCode = "400", description = "Invalid filter parameters, cursor or page size")
     })
-    public ResponseEntity<List<ChallengeResource>> searchPublishedChallenges(
+    public ResponseEntity<?> searchPublishedChallenges(
+            @Parameter(description = "Free text searched in the name, description and tags, ranked by relevance") @RequestParam(required = false) String q,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String difficulty,
             @RequestParam(required = false) String tags,
-            HttpServletRequest request) {
-        
-        // Create search query with filters
-        var query = new com.levelupjourney.microservicechallenges.challenges.domain.model.queries.SearchPublishedChallengesQuery(
-            name,
-            difficulty,
-            tags
-        );
-
-        // Execute search query
-        var challenges = challengeQueryService.handle(query);
-
-        // Extract user ID from JWT
-        String authorizationHeader = request.getHeader("Authorization");
-        String userId = jwtUtil.extractUserId(authorizationHeader);
-        UUID userUuid = UUID.fromString(userId);
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, capped at the configured maximum)") @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (q != null && !q.isBlank()) {
+                // Full-text search ranked by relevance
+                var textQuery = new SearchPublishedChallengesByTextQuery(
+                    q,
+                    difficulty,
+                    tags,
+                    ChallengeRankCursor.decode(cursor),
+                    pageSize(size)
+                );
+                return ResponseEntity.ok(toPageResource(challengeQueryService.handle(textQuery), currentUser));
+            }
+
+            // Create search query with filters
+            var query = new SearchPublishedChallengesQuery(
+                name,
+                difficulty,
+                tags,
+                ChallengePageCursor.decode(cursor),
+                pageSize(size)
+            );
 
-        // Batch fetch like data
-        List<UUID> challengeIds = challenges.stream()
-                .map(challenge -> challenge.getId().id())
-                .collect(Collectors.toList());
-
-        // Get likes count for all challenges
-        var likesCountResults = challengeLikeRepository.countByChallengeIdIn(challengeIds);
-        var likesCountMap = likesCountResults.stream()
-                .collect(Collectors.toMap(
-                        result -> (UUID) result[0],
-                        result -> (Long) result[1]
-                ));
-
-        // Get challenges liked by user
-        var likedChallengeIds = challengeLikeRepository.findLikedChallengeIdsByUserIdAndChallengeIdIn(challengeIds, userUuid);
-        var likedSet = likedChallengeIds.stream().collect(Collectors.toSet());
-
-        // Transform domain entities to response resources with like data
-        var challengeResources = challenges.stream()
-                .map(challenge -> {
-                    UUID challengeId = challenge.getId().id();
-                    boolean userLiked = likedSet.contains(challengeId);
-                    long likesCount = likesCountMap.getOrDefault(challengeId, 0L);
-                    return ChallengeResourceFromEntityAssembler.toResourceFromEntity(challenge, userLiked, likesCount);
-                })
-                .collect(Collectors.toList());
-
-        return new ResponseEntity<>(challengeResources, HttpStatus.OK);
+            // Execute search query
+            var page = challengeQueryService.handle(query);
+            return ResponseEntity.ok(toPageResource(page, currentUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Invalid request: " + e.getMessage()));
+        }
     }
 
     // Get challenges by teacher ID (derived collection)
     // Role-based filtering: Students see only PUBLISHED challenges, Teachers/Admins see all
     @GetMapping("/teachers/{teacherId}")
-    @Operation(summary = "Get challenges by teacher", description = "Retrieve challenges by teacher ID. Role-based filtering: Students see only PUBLISHED, Teachers/Admins see all.")
+    @Operation(summary = "Get challenges by teacher", description = "Retrieve challenges by teacher ID, newest first, one page at a time. Role-based filtering: Students see only PUBLISHED, Teachers/Admins see all.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Challenges retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Challenges retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid teacher ID, cursor or page size")
     })
-    public ResponseEntity<List<ChallengeResource>> getChallengesByTeacherId(
+    public ResponseEntity<?> getChallengesByTeacherId(
             @PathVariable String teacherId,
-            HttpServletRequest request) {
-        
-        // Extract Authorization header from request
-        String authorizationHeader = request.getHeader("Authorization");
-        
-        // Extract user roles from JWT token
-        List<String> roles = jwtUtil.extractRoles(authorizationHeader);
-        
-        // Determine which query to use based on user role
-        List<com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge> challenges;
-        
-        if (roles.contains("ROLE_STUDENT")) {
-            // Students can only see PUBLISHED challenges
-            var query = new GetPublishedChallengesByTeacherIdQuery(new TeacherId(UUID.fromString(teacherId)));
-            challenges = challengeQueryService.handle(query);
-        } else {
-            // Teachers and Admins can see all challenges (DRAFT and PUBLISHED)
-            var query = new GetChallengesByTeacherIdQuery(new TeacherId(UUID.fromString(teacherId)));
-            challenges = challengeQueryService.handle(query);
-        }
-
-        // Extract user ID from JWT
-        String userId = jwtUtil.extractUserId(authorizationHeader);
-        UUID userUuid = UUID.fromString(userId);
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, capped at the configured maximum)") @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract user roles from JWT token
+            List<String> roles = currentUser.roles();
+            var teacher = new TeacherId(UUID.fromString(teacherId));
+            var after = ChallengePageCursor.decode(cursor);
+            int limit = pageSize(size);
+
+            // Determine which query to use based on user role
+            ChallengeSummaryPage page;
+            if (roles.contains("ROLE_STUDENT")) {
+                // Students can only see PUBLISHED challenges
+                page = challengeQueryService.handle(new GetPublishedChallengesByTeacherIdQuery(teacher, after, limit));
+            } else {
+                // Teachers and Admins can see all challenges (DRAFT and PUBLISHED)
+                page = challengeQueryService.handle(new GetChallengesByTeacherIdQuery(teacher, after, limit));
+            }
 
-        // Batch fetch like data
-        List<UUID> challengeIds = challenges.stream()
-                .map(challenge -> challenge.getId().id())
-                .collect(Collectors.toList());
-
-        // Get likes count for all challenges
-        var likesCountResults = challengeLikeRepository.countByChallengeIdIn(challengeIds);
-        var likesCountMap = likesCountResults.stream()
-                .collect(Collectors.toMap(
-                        result -> (UUID) result[0],
-                        result -> (Long) result[1]
-                ));
-
-        // Get challenges liked by user
-        var likedChallengeIds = challengeLikeRepository.findLikedChallengeIdsByUserIdAndChallengeIdIn(challengeIds, userUuid);
-        var likedSet = likedChallengeIds.stream().collect(Collectors.toSet());
-
-        // Transform domain entities to response resources with like data
-        var challengeResources = challenges.stream()
-                .map(challenge -> {
-                    UUID challengeId = challenge.getId().id();
-                    boolean userLiked = likedSet.contains(challengeId);
-                    long likesCount = likesCountMap.getOrDefault(challengeId, 0L);
-                    return ChallengeResourceFromEntityAssembler.toResourceFromEntity(challenge, userLiked, likesCount);
-                })
-                .collect(Collectors.toList());
-
-        return new ResponseEntity<>(challengeResources, HttpStatus.OK);
+            return ResponseEntity.ok(toPageResource(page, currentUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Invalid request: " + e.getMessage()));
+        }
     }
 
     // Update an existing challenge (including status changes like publishing)
@@ -352,13 +319,10 @@ public class ChallengeController {
     public ResponseEntity<?> updateChallenge(
             @PathVariable String challengeId,
             @RequestBody UpdateChallengeResource resource,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract Authorization header from request
-            String authorizationHeader = request.getHeader("Authorization");
-            
             // Extract userId from JWT token
-            String userIdFromToken = jwtUtil.extractUserId(authorizationHeader);
+            String userIdFromToken = currentUser.userId();
             
             // Retrieve the challenge to verify ownership
             var getChallengeQuery = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
@@ -395,7 +359,7 @@ public class ChallengeController {
                 UUID userUuid = UUID.fromString(userIdFromToken);
                 
                 boolean userLiked = challengeLikeRepository.existsByChallengeIdAndUserId(challengeUuid, userUuid);
-                long likesCount = challengeLikeRepository.countByChallengeId(challengeUuid);
+                long likesCount = challengeLikeCounters.get(challengeUuid);
                 
                 var challengeResource = ChallengeResourceFromEntityAssembler.toResourceFromEntity(updatedChallenge.get(), userLiked, likesCount);
                 return new ResponseEntity<>(challengeResource, HttpStatus.OK);
@@ -424,13 +388,10 @@ public class ChallengeController {
     })
     public ResponseEntity<?> deleteChallenge(
             @PathVariable String challengeId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract Authorization header from request
-            String authorizationHeader = request.getHeader("Authorization");
-            
             // Extract userId from JWT token
-            String userIdFromToken = jwtUtil.extractUserId(authorizationHeader);
+            String userIdFromToken = currentUser.userId();
             
             // Retrieve the challenge to verify ownership
             var getChallengeQuery = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
@@ -479,13 +440,10 @@ public class ChallengeController {
     public ResponseEntity<?> addGuide(
             @PathVariable String challengeId,
             @PathVariable String guideId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract Authorization header from request
-            String authorizationHeader = request.getHeader("Authorization");
-
             // Extract userId from JWT token
-            String userIdFromToken = jwtUtil.extractUserId(authorizationHeader);
+            String userIdFromToken = currentUser.userId();
 
             // Retrieve the challenge to verify ownership
             var getChallengeQuery = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
@@ -524,7 +482,7 @@ public class ChallengeController {
                 UUID userUuid = UUID.fromString(userIdFromToken);
                 
                 boolean userLiked = challengeLikeRepository.existsByChallengeIdAndUserId(challengeUuid, userUuid);
-                long likesCount = challengeLikeRepository.countByChallengeId(challengeUuid);
+                long likesCount = challengeLikeCounters.get(challengeUuid);
                 
                 var challengeResource = ChallengeResourceFromEntityAssembler.toResourceFromEntity(updatedChallenge.get(), userLiked, likesCount);
                 return new ResponseEntity<>(challengeResource, HttpStatus.OK);
@@ -549,13 +507,10 @@ public class ChallengeController {
     public ResponseEntity<?> removeGuide(
             @PathVariable String challengeId,
             @PathVariable String guideId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            // Extract Authorization header from request
-            String authorizationHeader = request.getHeader("Authorization");
-
             // Extract userId from JWT token
-            String userIdFromToken = jwtUtil.extractUserId(authorizationHeader);
+            String userIdFromToken = currentUser.userId();
 
             // Retrieve the challenge to verify ownership
             var getChallengeQuery = new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId)));
@@ -594,7 +549,7 @@ public class ChallengeController {
                 UUID userUuid = UUID.fromString(userIdFromToken);
                 
                 boolean userLiked = challengeLikeRepository.existsByChallengeIdAndUserId(challengeUuid, userUuid);
-                long likesCount = challengeLikeRepository.countByChallengeId(challengeUuid);
+                long likesCount = challengeLikeCounters.get(challengeUuid);
                 
                 var challengeResource = ChallengeResourceFromEntityAssembler.toResourceFromEntity(updatedChallenge.get(), userLiked, likesCount);
                 return new ResponseEntity<>(challengeResource, HttpStatus.OK);
@@ -607,56 +562,89 @@ public class ChallengeController {
         }
     }
 
+    // Get the users who starred (liked) a challenge, one page at a time
+    // Same access rules as the challenge itself
+    @GetMapping("/{challengeId}/stargazers")
+    @Operation(summary = "Get challenge stargazers", description = "Retrieve the users who liked a challenge, most recent first, one page at a time. Pass the returned nextCursor as cursor to get the next page. Access control: PUBLISHED challenges are public, DRAFT/HIDDEN require ownership.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stargazers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid challenge ID, cursor or page size"),
+        @ApiResponse(responseCode = "403", description = "Access denied - not published and not owner"),
+        @ApiResponse(responseCode = "404", description = "Challenge not found")
+    })
+    public ResponseEntity<?> getStargazers(
+            @PathVariable String challengeId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, capped at the configured maximum)") @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            var challengeIdVO = new ChallengeId(UUID.fromString(challengeId));
+            var challenge = challengeQueryService.handle(new GetChallengeByIdQuery(challengeIdVO));
+            if (challenge.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Challenge not found with id: " + challengeId));
+            }
+            if (challenge.get().getStatus() != ChallengeStatus.PUBLISHED
+                    && (currentUser == null || !challenge.get().getTeacherId().id().toString().equals(currentUser.userId()))) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("Access denied. This challenge is not published and you are not the owner."));
+            }
+
+            var query = new GetStargazersByChallengeIdQuery(challengeIdVO, StargazerPageCursor.decode(cursor), pageSize(size));
+            var page = challengeQueryService.handle(query);
+            return ResponseEntity.ok(StargazerPageResourceFromPageAssembler.toResourceFromPage(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Invalid request: " + e.getMessage()));
+        }
+    }
+
     // Like a challenge
     @PostMapping("/{challengeId}/likes")
-    @Operation(summary = "Like a challenge", description = "Add a like to a challenge. Each user can like a challenge only once.")
+    @Operation(summary = "Like a challenge", description = "Add a like to a challenge. Each user can like a challenge only once; liking it again is a no-op.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Like added successfully"),
-        @ApiResponse(responseCode = "400", description = "Bad request - invalid challenge ID or user already liked"),
-        @ApiResponse(responseCode = "404", description = "Challenge not found")
+        @ApiResponse(responseCode = "200", description = "Challenge was already liked by the user"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid challenge ID or challenge not found")
     })
     public ResponseEntity<?> likeChallenge(
             @PathVariable String challengeId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user ID from JWT
-            String authorizationHeader = request.getHeader("Authorization");
-            String userId = jwtUtil.extractUserId(authorizationHeader);
+            String userId = currentUser.userId();
 
             // Create and execute command
             var command = new LikeChallengeCommand(
                 new ChallengeId(UUID.fromString(challengeId)),
                 userId
             );
-            challengeCommandService.handle(command);
+            boolean liked = challengeCommandService.handle(command);
 
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new MessageResponse("Challenge liked successfully"));
+            // Double clicks and retries get a 200 instead of a duplicate-key error
+            return liked
+                ? ResponseEntity.status(HttpStatus.CREATED).body(new MessageResponse("Challenge liked successfully"))
+                : ResponseEntity.ok(new MessageResponse("Challenge already liked"));
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(e.getMessage()));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(e.getMessage()));
         }
     }
 
     // Unlike a challenge
     @DeleteMapping("/{challengeId}/likes")
-    @Operation(summary = "Unlike a challenge", description = "Remove a like from a challenge.")
+    @Operation(summary = "Unlike a challenge", description = "Remove a like from a challenge. Unliking a challenge that is not liked is a no-op.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "204", description = "Like removed successfully"),
-        @ApiResponse(responseCode = "400", description = "Bad request - invalid challenge ID or user has not liked"),
-        @ApiResponse(responseCode = "404", description = "Challenge not found")
+        @ApiResponse(responseCode = "204", description = "Like removed, or challenge was not liked"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid challenge ID or challenge not found")
     })
     public ResponseEntity<?> unlikeChallenge(
             @PathVariable String challengeId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user ID from JWT
-            String authorizationHeader = request.getHeader("Authorization");
-            String userId = jwtUtil.extractUserId(authorizationHeader);
+            String userId = currentUser.userId();
 
             // Create and execute command
             var command = new UnlikeChallengeCommand(
@@ -670,13 +658,80 @@ public class ChallengeController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(e.getMessage()));
-        } catch (IllegalStateException e) {
+        }
+    }
+
+    // Import likes in bulk
+    @PostMapping("/likes/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import likes", description = "Store many likes with a single statement, e.g. when migrating from another system. Likes already stored and likes of unknown challenges are skipped. Only accessible by ADMIN role.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Likes imported"),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid IDs or too many likes"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Only admins can import likes")
+    })
+    public ResponseEntity<?> importLikes(@RequestBody ImportChallengeLikesResource resource) {
+        try {
+            if (resource == null || resource.likes() == null || resource.likes().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("likes cannot be null or empty"));
+            }
+            if (resource.likes().size() > maxLikesImportSize) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("At most " + maxLikesImportSize + " likes can be imported per request"));
+            }
+
+            var command = ImportChallengeLikesCommandFromResourceAssembler.toCommandFromResource(resource);
+            int imported = challengeCommandService.handle(command);
+
+            return ResponseEntity.ok(new ImportChallengeLikesResultResource(resource.likes().size(), imported));
+
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(e.getMessage()));
+                .body(new ErrorResponse("Invalid request: " + e.getMessage()));
         }
     }
 
     // Simple response records
     private record MessageResponse(String message) {}
     private record ErrorResponse(String message) {}
+
+    // Requested page size, defaulted and capped by configuration
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Challenges of the page liked by the current user (one query bounded by the page size)
+    private Set<UUID> likedChallengeIds(List<UUID> challengeIds, AuthenticatedUser currentUser) {
+        if (challengeIds.isEmpty()) {
+            return Set.of();
+        }
+        UUID userUuid = UUID.fromString(currentUser.userId());
+        return Set.copyOf(challengeLikeRepository.findLikedChallengeIdsByUserIdAndChallengeIdIn(challengeIds, userUuid));
+    }
+
+    // Add like data to a page of summaries
+    private ChallengeSummaryPageResource toPageResource(ChallengeSummaryPage page, AuthenticatedUser currentUser) {
+        List<UUID> challengeIds = page.items().stream()
+                .map(ChallengeSummary::challengeId)
+                .toList();
+
+        // Get likes count for the challenges of the page
+        Map<UUID, Long> likesCountMap = challengeLikeCounters.get(challengeIds);
+        var likedSet = likedChallengeIds(challengeIds, currentUser);
+
+        var items = page.items().stream()
+                .map(summary -> ChallengeSummaryResourceFromEntityAssembler.toResourceFromSummary(
+                        summary,
+                        likedSet.contains(summary.challengeId()),
+                        likesCountMap.get(summary.challengeId())))
+                .toList();
+        return new ChallengeSummaryPageResource(items, page.nextCursor().orElse(null));
+    }
 }
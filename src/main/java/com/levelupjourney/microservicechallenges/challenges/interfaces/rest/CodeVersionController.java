@@ -11,7 +11,7 @@ import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.reso
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.AddCodeVersionCommandFromResourceAssembler;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.CodeVersionResourceFromEntityAssembler;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.UpdateCodeVersionCommandFromResourceAssembler;
-import com.levelupjourney.microservicechallenges.shared.infrastructure.security.JwtUtil;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.security.AuthenticatedUser;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resources.ErrorResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,10 +19,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -37,14 +37,11 @@ public class CodeVersionController {
 
     private final CodeVersionCommandService codeVersionCommandService;
     private final CodeVersionQueryService codeVersionQueryService;
-    private final JwtUtil jwtUtil;
 
     public CodeVersionController(CodeVersionCommandService codeVersionCommandService,
-                               CodeVersionQueryService codeVersionQueryService,
-                               JwtUtil jwtUtil) {
+                               CodeVersionQueryService codeVersionQueryService) {
         this.codeVersionCommandService = codeVersionCommandService;
         this.codeVersionQueryService = codeVersionQueryService;
-        this.jwtUtil = jwtUtil;
     }
 
     // Create a new code version for a challenge
@@ -58,11 +55,10 @@ public class CodeVersionController {
     })
     public ResponseEntity<?> createCodeVersion(@PathVariable String challengeId,
                                                                  @RequestBody AddCodeVersionResource resource,
-                                                                 HttpServletRequest request) {
+                                                                 @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user roles from JWT token - only teachers can create code versions
-            String authorizationHeader = request.getHeader("Authorization");
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            List<String> roles = currentUser.roles();
             if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new ErrorResponse("Access denied. Only teachers and admins can create code versions."));
@@ -102,10 +98,9 @@ public class CodeVersionController {
     })
     public ResponseEntity<?> getCodeVersionById(@PathVariable String challengeId,
                                                                   @PathVariable String codeVersionId,
-                                                                  HttpServletRequest request) {
+                                                                  @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // Extract user roles from JWT token - only teachers can access code versions
-        String authorizationHeader = request.getHeader("Authorization");
-        List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+        List<String> roles = currentUser.roles();
 //        if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
 //            return ResponseEntity.status(HttpStatus.FORBIDDEN)
 //                    .body(new ErrorResponse("Access denied. Only teachers and admins can access code versions."));
@@ -133,10 +128,9 @@ public class CodeVersionController {
         @ApiResponse(responseCode = "200", description = "Code versions retrieved successfully")
     })
     public ResponseEntity<?> getCodeVersionsByChallenge(@PathVariable String challengeId,
-                                                                                 HttpServletRequest request) {
+                                                                                 @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // Extract user roles from JWT token - only teachers can access code versions
-        String authorizationHeader = request.getHeader("Authorization");
-        List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+        List<String> roles = currentUser.roles();
 //        if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
 //            return ResponseEntity.status(HttpStatus.FORBIDDEN)
 //                    .body(new ErrorResponse("Access denied. Only teachers and admins can access code versions."));
@@ -168,11 +162,10 @@ public class CodeVersionController {
     public ResponseEntity<?> updateCodeVersion(@PathVariable String challengeId,
                                                                @PathVariable String codeVersionId,
                                                                @RequestBody UpdateCodeVersionResource resource,
-                                                               HttpServletRequest request) {
+                                                               @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user roles from JWT token - only teachers can update code versions
-            String authorizationHeader = request.getHeader("Authorization");
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            List<String> roles = currentUser.roles();
             if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new ErrorResponse("Access denied. Only teachers and admins can update code versions."));
@@ -9,14 +9,14 @@ import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.reso
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.AddCodeVersionTestCommandFromResourceAssembler;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.CodeVersionTestResourceFromEntityAssembler;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform.UpdateCodeVersionTestCommandFromResourceAssembler;
-import com.levelupjourney.microservicechallenges.shared.infrastructure.security.JwtUtil;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.security.AuthenticatedUser;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resources.ErrorResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,19 +31,16 @@ public class CodeVersionTestController {
 
     private final CodeVersionTestCommandService codeVersionTestCommandService;
     private final CodeVersionTestQueryService codeVersionTestQueryService;
-    private final JwtUtil jwtUtil;
 
     public CodeVersionTestController(CodeVersionTestCommandService codeVersionTestCommandService,
-                                   CodeVersionTestQueryService codeVersionTestQueryService,
-                                   JwtUtil jwtUtil) {
+                                   CodeVersionTestQueryService codeVersionTestQueryService) {
         this.codeVersionTestCommandService = codeVersionTestCommandService;
         this.codeVersionTestQueryService = codeVersionTestQueryService;
-        this.jwtUtil = jwtUtil;
     }
 
     // Create a new test for a code version
     @PostMapping
-    @io.swagger.v3.oas.annotations.Operation(summary = "Create test", description = "Create a new test for a code version. isSecret indicates if the test is hidden from students.")
+    @io.swagger.v3.oas.annotations.Operation(summary = "Create test", description = "Create a new test for a code version. isSecret indicates if the test is hidden from students; isRequired (default false) stops a streamed evaluation as soon as the test fails.")
     @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Test created successfully"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad request - code version not found"),
@@ -53,11 +50,10 @@ public class CodeVersionTestController {
     public ResponseEntity<?> addCodeVersionTest(@PathVariable String challengeId,
                                                                       @PathVariable String codeVersionId,
                                                                       @RequestBody AddCodeVersionTestResource resource,
-                                                                      HttpServletRequest request) {
+                                                                      @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user roles from JWT token - only teachers can create tests
-            String authorizationHeader = request.getHeader("Authorization");
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            List<String> roles = currentUser.roles();
             if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new ErrorResponse("Access denied. Only teachers and admins can create tests."));
@@ -68,7 +64,8 @@ public class CodeVersionTestController {
                                                                          resource.expectedOutput(), 
                                                                          resource.customValidationCode(), 
                                                                          resource.failureMessage(),
-                                                                         resource.isSecret());
+                                                                         resource.isSecret(),
+                                                                         resource.isRequired());
             var command = AddCodeVersionTestCommandFromResourceAssembler.toCommandFromResource(resourceWithCodeVersion);
             
             // Execute command through domain service
@@ -101,10 +98,9 @@ public class CodeVersionTestController {
     public ResponseEntity<?> getCodeVersionTestById(@PathVariable String challengeId,
                                                                           @PathVariable String codeVersionId,
                                                                           @PathVariable String testId,
-                                                                          HttpServletRequest request) {
+                                                                          @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // Extract user roles from JWT token - only teachers can access tests
-        String authorizationHeader = request.getHeader("Authorization");
-        List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+        List<String> roles = currentUser.roles();
         if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new ErrorResponse("Access denied. Only teachers and admins can access tests."));
@@ -130,10 +126,9 @@ public class CodeVersionTestController {
     })
     public ResponseEntity<?> getTestsByCodeVersion(@PathVariable String challengeId,
                                                                                @PathVariable String codeVersionId,
-                                                                               HttpServletRequest request) {
+                                                                               @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // Extract user roles from JWT token - only teachers can access tests
-        String authorizationHeader = request.getHeader("Authorization");
-        List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+        List<String> roles = currentUser.roles();
 //        if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
 //            return ResponseEntity.status(HttpStatus.FORBIDDEN)
 //                    .body(new ErrorResponse("Access denied. Only teachers and admins can access tests."));
@@ -164,11 +159,10 @@ public class CodeVersionTestController {
                                                                          @PathVariable String codeVersionId,
                                                                          @PathVariable String testId,
                                                                          @RequestBody UpdateCodeVersionTestResource resource,
-                                                                         HttpServletRequest request) {
+                                                                         @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract user roles from JWT token - only teachers can update tests
-            String authorizationHeader = request.getHeader("Authorization");
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            List<String> roles = currentUser.roles();
     //        if (!roles.contains("ROLE_TEACHER") && !roles.contains("ROLE_ADMIN")) {
     //            return ResponseEntity.status(HttpStatus.FORBIDDEN)
     //                    .body(new ErrorResponse("Access denied. Only teachers and admins can update tests."));
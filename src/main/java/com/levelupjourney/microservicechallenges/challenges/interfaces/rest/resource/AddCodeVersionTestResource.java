@@ -6,6 +6,7 @@ public record AddCodeVersionTestResource(
     String expectedOutput,
     String customValidationCode,
     String failureMessage,
-    Boolean isSecret
+    Boolean isSecret,
+    Boolean isRequired
 ) {
 }
\ No newline at end of file
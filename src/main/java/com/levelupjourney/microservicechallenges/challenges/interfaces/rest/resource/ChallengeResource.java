@@ -12,7 +12,6 @@ public record ChallengeResource(
     String difficulty,
     String status,
     List<String> tags,
-    List<StarResource> stars,
     List<UUID> guides,
     Integer maxAttemptsBeforeGuides,
     boolean userLiked,
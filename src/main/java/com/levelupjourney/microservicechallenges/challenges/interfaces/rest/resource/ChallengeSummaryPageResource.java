@@ -0,0 +1,15 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource;
+
+import java.util.List;
+
+/**
+ * One page of a challenge list.
+ *
+ * @param items The challenges of the page, newest first
+ * @param nextCursor Value of the {@code cursor} parameter for the next page, null on the last page
+ */
+public record ChallengeSummaryPageResource(
+    List<ChallengeSummaryResource> items,
+    String nextCursor
+) {
+}
@@ -0,0 +1,16 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource;
+
+import java.util.Date;
+
+public record ChallengeSummaryResource(
+    String id,
+    String teacherId,
+    String name,
+    Integer experiencePoints,
+    String difficulty,
+    String status,
+    Date createdAt,
+    boolean userLiked,
+    long likesCount
+) {
+}
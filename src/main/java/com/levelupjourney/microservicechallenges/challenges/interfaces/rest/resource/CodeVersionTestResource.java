@@ -7,6 +7,7 @@ public record CodeVersionTestResource(
     String expectedOutput,
     String customValidationCode,
     String failureMessage,
-    Boolean isSecret
+    Boolean isSecret,
+    Boolean isRequired
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ImportChallengeLikesResource(
+    List<ImportedLikeResource> likes
+) {
+    public record ImportedLikeResource(
+        String challengeId,
+        String userId,
+        LocalDateTime likedAt // optional, defaults to the import time
+    ) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource;
+
+public record ImportChallengeLikesResultResource(
+    int requested,
+    int imported // likes already stored or of unknown challenges are skipped
+) {
+}
@@ -0,0 +1,15 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource;
+
+import java.util.List;
+
+/**
+ * One page of the stargazers of a challenge.
+ *
+ * @param items The stargazers of the page, most recent first
+ * @param nextCursor Value of the {@code cursor} parameter for the next page, null on the last page
+ */
+public record StargazerPageResource(
+    List<StarResource> items,
+    String nextCursor
+) {
+}
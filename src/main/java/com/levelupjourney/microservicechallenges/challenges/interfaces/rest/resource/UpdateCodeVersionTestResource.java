@@ -7,6 +7,7 @@ public record UpdateCodeVersionTestResource(
     Optional<String> expectedOutput,
     Optional<String> customValidationCode,
     Optional<String> failureMessage,
-    Optional<Boolean> isSecret
+    Optional<Boolean> isSecret,
+    Optional<Boolean> isRequired
 ) {
 }
\ No newline at end of file
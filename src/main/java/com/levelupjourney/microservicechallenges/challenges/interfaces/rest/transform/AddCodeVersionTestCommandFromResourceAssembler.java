@@ -15,7 +15,8 @@ public class AddCodeVersionTestCommandFromResourceAssembler {
             resource.expectedOutput(),
             resource.customValidationCode(),
             resource.failureMessage(),
-            resource.isSecret()
+            resource.isSecret(),
+            resource.isRequired()
         );
     }
 }
\ No newline at end of file
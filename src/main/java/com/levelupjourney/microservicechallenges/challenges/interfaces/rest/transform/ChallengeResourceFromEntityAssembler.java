@@ -2,9 +2,8 @@ package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.tra
 
 import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
 import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.ChallengeResource;
-import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.StarResource;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 public class ChallengeResourceFromEntityAssembler {
 
@@ -25,11 +24,8 @@ public class ChallengeResourceFromEntityAssembler {
             entity.getExperiencePoints(),
             entity.getDifficulty().name(),
             entity.getStatus().name(),
-            entity.getTags(), // Already List<String>
-            entity.getStars().stream()
-                .map(star -> new StarResource(star.getUserId(), star.getStarredAt()))
-                .collect(Collectors.toList()),
-            entity.getGuides(), // List<UUID>
+            List.copyOf(entity.getTags()),
+            List.copyOf(entity.getGuides()),
             entity.getMaxAttemptsBeforeGuides(),
             userLiked,
             likesCount
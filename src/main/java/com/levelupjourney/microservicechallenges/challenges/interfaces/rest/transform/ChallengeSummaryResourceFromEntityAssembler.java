@@ -0,0 +1,53 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeStatus;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeSummary;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeView;
+import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.ChallengeSummaryResource;
+
+public class ChallengeSummaryResourceFromEntityAssembler {
+
+    /**
+     * Convert a challenge summary projection to ChallengeSummaryResource with like information.
+     *
+     * @param summary The challenge summary
+     * @param userLiked Whether the current user has liked this challenge
+     * @param likesCount Total number of likes for this challenge
+     * @return ChallengeSummaryResource
+     */
+    public static ChallengeSummaryResource toResourceFromSummary(ChallengeSummary summary, boolean userLiked, long likesCount) {
+        return new ChallengeSummaryResource(
+            summary.challengeId().toString(),
+            summary.teacherId().toString(),
+            summary.name(),
+            summary.experiencePoints(),
+            summary.difficulty() != null ? summary.difficulty().name() : null,
+            summary.status().name(),
+            summary.createdAt(),
+            userLiked,
+            likesCount
+        );
+    }
+
+    /**
+     * Convert a published challenge snapshot from the catalog to ChallengeSummaryResource with like information.
+     *
+     * @param view The published challenge snapshot
+     * @param userLiked Whether the current user has liked this challenge
+     * @param likesCount Total number of likes for this challenge
+     * @return ChallengeSummaryResource
+     */
+    public static ChallengeSummaryResource toResourceFromView(PublishedChallengeView view, boolean userLiked, long likesCount) {
+        return new ChallengeSummaryResource(
+            view.id().toString(),
+            view.teacherId().toString(),
+            view.name(),
+            view.experiencePoints(),
+            view.difficulty() != null ? view.difficulty().name() : null,
+            ChallengeStatus.PUBLISHED.name(),
+            view.createdAt(),
+            userLiked,
+            likesCount
+        );
+    }
+}
@@ -52,7 +52,8 @@ public class CodeVersionResourceFromEntityAssembler {
                 "", // empty expectedOutput
                 "", // empty customValidationCode
                 "", // empty failureMessage
-                test.getIsSecret()
+                test.getIsSecret(),
+                test.getIsRequired()
             );
         }
         
@@ -64,7 +65,8 @@ public class CodeVersionResourceFromEntityAssembler {
             test.getExpectedOutput(),
             test.getCustomValidationCode(),
             test.getFailureMessage(),
-            test.getIsSecret()
+            test.getIsSecret(),
+            test.getIsRequired()
         );
     }
 }
\ No newline at end of file
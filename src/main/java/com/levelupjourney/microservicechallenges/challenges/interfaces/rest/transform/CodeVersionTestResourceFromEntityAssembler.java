@@ -13,7 +13,8 @@ public class CodeVersionTestResourceFromEntityAssembler {
             entity.getExpectedOutput(),
             entity.getCustomValidationCode(),
             entity.getFailureMessage(),
-            entity.getIsSecret()
+            entity.getIsSecret(),
+            entity.getIsRequired()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.ImportChallengeLikesCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.ImportChallengeLikesCommand.ImportedLike;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.ImportChallengeLikesResource;
+
+import java.util.UUID;
+
+public class ImportChallengeLikesCommandFromResourceAssembler {
+
+    public static ImportChallengeLikesCommand toCommandFromResource(ImportChallengeLikesResource resource) {
+        return new ImportChallengeLikesCommand(
+            resource.likes().stream()
+                .map(like -> {
+                    if (like == null || like.challengeId() == null || like.userId() == null) {
+                        throw new IllegalArgumentException("Every like needs a challengeId and a userId");
+                    }
+                    return new ImportedLike(
+                        new ChallengeId(UUID.fromString(like.challengeId())),
+                        UUID.fromString(like.userId()),
+                        like.likedAt()
+                    );
+                })
+                .toList()
+        );
+    }
+}
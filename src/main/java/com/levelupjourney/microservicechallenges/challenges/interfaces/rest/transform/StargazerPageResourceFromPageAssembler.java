@@ -0,0 +1,17 @@
+package com.levelupjourney.microservicechallenges.challenges.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.StargazerPage;
+import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.StarResource;
+import com.levelupjourney.microservicechallenges.challenges.interfaces.rest.resource.StargazerPageResource;
+
+public class StargazerPageResourceFromPageAssembler {
+
+    public static StargazerPageResource toResourceFromPage(StargazerPage page) {
+        return new StargazerPageResource(
+            page.items().stream()
+                .map(stargazer -> new StarResource(stargazer.userId().toString(), stargazer.starredAt()))
+                .toList(),
+            page.nextCursor().orElse(null)
+        );
+    }
+}
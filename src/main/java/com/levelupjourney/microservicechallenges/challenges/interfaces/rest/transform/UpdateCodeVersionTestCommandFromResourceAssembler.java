@@ -15,7 +15,8 @@ public class UpdateCodeVersionTestCommandFromResourceAssembler {
             resource.expectedOutput(),
             resource.customValidationCode(),
             resource.failureMessage(),
-            resource.isSecret()
+            resource.isSecret(),
+            resource.isRequired()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.levelupjourney.microservicechallenges.shared.domain.model.identifiers;
+
+import java.util.UUID;
+
+/**
+ * Source of the UUIDs given to new aggregates.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generate a new identifier
+     *
+     * @return A UUID never returned before
+     */
+    UUID nextId();
+}
@@ -0,0 +1,37 @@
+package com.levelupjourney.microservicechallenges.shared.domain.model.identifiers;
+
+import java.util.UUID;
+
+/**
+ * Identifier generator used by the aggregate constructors.
+ * <p>
+ * Aggregates are created with {@code new}, so the generator is held here rather than injected. It defaults
+ * to time-ordered UUIDv7 and is replaced at startup according to {@code identifiers.uuid-version}.
+ * IDs of every version are plain UUIDs, so rows created with another generator stay valid.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator generator = new TimeOrderedUuidGenerator();
+
+    private IdGenerators() {
+    }
+
+    /**
+     * Generate the identifier of a new aggregate
+     */
+    public static UUID nextId() {
+        return generator.nextId();
+    }
+
+    /**
+     * Replace the generator used for new aggregates
+     *
+     * @param idGenerator The generator to use from now on
+     */
+    public static void use(IdGenerator idGenerator) {
+        if (idGenerator == null) {
+            throw new IllegalArgumentException("ID generator cannot be null");
+        }
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,68 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.transactions.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring Caffeine cache in front of a database read.
+ * <p>
+ * Misses are loaded through the caller's loader (concurrent misses for the same key share a single load),
+ * writes invalidate their key once their transaction commits and the TTL bounds staleness for writes made
+ * on other instances. Hit and miss counts are published as {@code cache.gets{cache="<name>"}}.
+ *
+ * @param <K> Key type
+ * @param <V> Cached value type
+ */
+@Slf4j
+public final class ReadThroughCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    private ReadThroughCache(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Build a cache and register its metrics
+     *
+     * @param name          Cache name used in the metrics and logs
+     * @param maxSize       Maximum number of entries
+     * @param ttl           Time an entry is kept after being loaded
+     * @param meterRegistry Registry receiving the cache metrics
+     */
+    public static <K, V> ReadThroughCache<K, V> create(String name, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+
+        log.info("⚙️ Cache '{}' configured: maxSize={}, ttl={}", name, maxSize, ttl);
+        return new ReadThroughCache<>(cache);
+    }
+
+    /**
+     * Get the value of a key, loading it on a miss; empty loads are not cached
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        return Optional.ofNullable(cache.get(key, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Drop the entry of a key.
+     * Inside a transaction the entry is dropped after commit, so a concurrent load cannot
+     * cache the data that is being replaced.
+     */
+    public void invalidate(K key) {
+        AfterCommit.run(() -> cache.invalidate(key));
+    }
+}
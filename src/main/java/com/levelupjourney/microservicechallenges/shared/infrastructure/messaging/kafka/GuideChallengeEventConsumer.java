@@ -1,51 +1,114 @@
 package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka;
 
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuideCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuidesBatchCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeCommandService;
 import com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Kafka consumer that listens to guide-related events from the Learning Service.
  * Processes events when challenges are added to guides.
+ *
+ * <p>Events are consumed in batches: every valid event of a batch is added to its challenge with a single
+ * bulk statement, then the offsets are committed. Re-delivered or republished events do not create
+ * duplicate guide links.</p>
  */
 @Slf4j
 @Component
 public class GuideChallengeEventConsumer {
 
+    private final ChallengeCommandService challengeCommandService;
+
+    public GuideChallengeEventConsumer(ChallengeCommandService challengeCommandService) {
+        this.challengeCommandService = challengeCommandService;
+    }
+
     /**
-     * Handles the event when a challenge is added to a guide.
+     * Handles a batch of events, each one adding a challenge to a guide.
      * This consumer listens to the "guides.challenge.added.v1" topic.
      *
-     * @param event The event containing guide and challenge IDs
+     * <p>A record that cannot be deserialized or lacks its IDs stops the batch at that record: the events
+     * before it are stored and committed, the record is sent to the dead-letter topic and consumption
+     * resumes right after it. A database that is down or overloaded fails the whole batch, which is retried
+     * until it is back; any other storage failure is narrowed down to the record that causes it.</p>
+     *
+     * @param records        The batch of records, in partition order
+     * @param acknowledgment Commits the offsets of the batch once it is stored
      */
     @KafkaListener(
         topics = "${kafka.topics.guide-challenge-added:guides.challenge.added.v1}",
         groupId = "${spring.application.name:challenges-service}",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = KafkaConsumerConfig.GUIDE_EVENTS_CONTAINER_FACTORY
     )
-    public void handleGuideChallengeAdded(GuideChallengeAddedEvent event) {
-        log.info("📥 Received GuideChallengeAddedEvent: guideId={}, challengeId={}, occurredAt={}",
-            event.getGuideId(),
-            event.getChallengeId(),
-            event.getOccurredAt());
+    public void handleGuideChallengeAdded(List<ConsumerRecord<String, GuideChallengeAddedEvent>> records,
+                                          Acknowledgment acknowledgment) {
+        log.debug("📥 Received {} GuideChallengeAddedEvent records", records.size());
+
+        List<AddGuideCommand> guides = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            var record = records.get(index);
+            var event = record.value();
+            if (event == null || event.getGuideId() == null || event.getChallengeId() == null) {
+                // Store what precedes the poison record so only the record itself is dead-lettered
+                storeGuides(guides, records.size());
+                log.error("❌ Invalid GuideChallengeAddedEvent at {}-{}@{}, sending it to the dead-letter topic",
+                    record.topic(), record.partition(), record.offset());
+                throw new BatchListenerFailedException("Invalid GuideChallengeAddedEvent",
+                    new IllegalArgumentException("GuideChallengeAddedEvent without payload, guideId or challengeId"),
+                    index);
+            }
+            guides.add(new AddGuideCommand(new ChallengeId(event.getChallengeId()), event.getGuideId()));
+        }
 
+        storeGuides(guides, records.size());
+        acknowledgment.acknowledge();
+    }
+
+    private void storeGuides(List<AddGuideCommand> guides, int batchSize) {
+        if (guides.isEmpty()) {
+            return;
+        }
+        int added;
         try {
-            // TODO: Implement business logic here
-            // Examples:
-            // - Update challenge statistics (e.g., increment guide count)
-            // - Trigger notifications
-            // - Update search indexes
-            // - Store guide-challenge relationship if needed locally
-            
-            log.info("✅ Successfully processed GuideChallengeAddedEvent for challengeId={}", event.getChallengeId());
-        } catch (Exception e) {
-            log.error("❌ Error processing GuideChallengeAddedEvent: guideId={}, challengeId={}",
-                event.getGuideId(),
-                event.getChallengeId(),
-                e);
-            // TODO: Implement error handling strategy (e.g., retry, dead letter queue)
-            throw e; // Re-throw to trigger Kafka retry mechanism
+            added = challengeCommandService.handle(new AddGuidesBatchCommand(guides));
+        } catch (RuntimeException e) {
+            if (KafkaConsumerConfig.isTransientDatabaseFailure(e)) {
+                // Nothing is wrong with the records: the error handler retries the batch until the database is back
+                throw e;
+            }
+            added = storeOneByOne(guides, e);
+        }
+        log.info("✅ Processed {} GuideChallengeAddedEvent ({} new guide links, batch of {})",
+            guides.size(), added, batchSize);
+    }
+
+    /**
+     * Store the guides of a failed bulk statement one at a time, so only the record that fails on its own
+     * is sent to the dead-letter topic. Guides are in record order, so the failing index is the record's.
+     */
+    private int storeOneByOne(List<AddGuideCommand> guides, RuntimeException bulkFailure) {
+        log.warn("⚠️ Bulk insert of {} guide links failed ({}), storing them one by one", guides.size(), bulkFailure.getMessage());
+        int added = 0;
+        for (int index = 0; index < guides.size(); index++) {
+            try {
+                added += challengeCommandService.handle(new AddGuidesBatchCommand(List.of(guides.get(index))));
+            } catch (RuntimeException e) {
+                if (KafkaConsumerConfig.isTransientDatabaseFailure(e)) {
+                    throw e;
+                }
+                throw new BatchListenerFailedException("GuideChallengeAddedEvent could not be stored", e, index);
+            }
         }
+        return added;
     }
 }
@@ -1,30 +1,63 @@
 package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka;
 
+import com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.GuideChallengeAddedEventDeserializer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Configuration for Kafka Consumer.
  * Supports both Azure Event Hubs (SASL_SSL) and standard Kafka (PLAINTEXT).
  * The connection mode is controlled by the IS_AZURE environment variable.
+ *
+ * <p>Guide events use a dedicated batch container factory: records are delivered in lists of up to
+ * {@code kafka.consumers.guide-challenge-added.max-poll-records}, offsets are committed manually once the
+ * batch is stored, batches are retried for as long as the database is down, and records that cannot be processed
+ * on their own are sent to a dead-letter topic.</p>
  */
 @Slf4j
 @EnableKafka
 @Configuration
 public class KafkaConsumerConfig {
 
+    public static final String GUIDE_EVENTS_CONTAINER_FACTORY = "guideEventsBatchListenerContainerFactory";
+
+    private static final String EVENTS_PACKAGE = "com.levelupjourney.microservicechallenges.shared.domain.model.events";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -43,19 +76,145 @@ public class KafkaConsumerConfig {
     @Value("${kafka.is-azure:false}")
     private boolean isAzure;
 
+    @Value("${kafka.topics.guide-challenge-added-dlt:guides.challenge.added.v1.DLT}")
+    private String guideChallengeAddedDltTopic;
+
+    @Value("${kafka.consumers.guide-challenge-added.concurrency:3}")
+    private int guideEventsConcurrency;
+
+    @Value("${kafka.consumers.guide-challenge-added.max-poll-records:2000}")
+    private int guideEventsMaxPollRecords;
+
+    @Value("${kafka.consumers.guide-challenge-added.fetch-min-bytes:65536}")
+    private int guideEventsFetchMinBytes;
+
+    @Value("${kafka.consumers.guide-challenge-added.fetch-max-wait:PT0.1S}")
+    private Duration guideEventsFetchMaxWait;
+
+    @Value("${kafka.consumers.guide-challenge-added.retry-interval:PT1S}")
+    private Duration guideEventsRetryInterval;
+
+    @Value("${kafka.consumers.guide-challenge-added.max-retries:3}")
+    private long guideEventsMaxRetries;
+
+    @Value("${kafka.consumers.guide-challenge-added.max-retry-interval:PT30S}")
+    private Duration guideEventsMaxRetryInterval;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
+        Map<String, Object> props = baseConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+
+        // JSON Deserializer configuration: only our event classes can be instantiated
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, EVENTS_PACKAGE);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, GuideChallengeAddedEvent.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        return factory;
+    }
+
+    /**
+     * Batch listener factory for GuideChallengeAddedEvent.
+     * One consumer thread per partition up to the configured concurrency, manual offset commits and
+     * dead-letter publishing for records that fail deserialization or validation.
+     */
+    @Bean(name = GUIDE_EVENTS_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, GuideChallengeAddedEvent> guideEventsBatchListenerContainerFactory(
+            DefaultErrorHandler guideEventsErrorHandler) {
+        Map<String, Object> props = baseConsumerProperties();
+        // Offsets are committed by the listener after the batch is stored
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.remove(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG);
+        // Large fetches: a republish of the Learning Service arrives as a burst of small records
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, guideEventsMaxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, guideEventsFetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) guideEventsFetchMaxWait.toMillis());
+
+        // Accepts JSON and protobuf records; a malformed payload must not block the partition,
+        // it reaches the listener as a null value
+        ConcurrentKafkaListenerContainerFactory<String, GuideChallengeAddedEvent> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props,
+            new StringDeserializer(),
+            new ErrorHandlingDeserializer<>(new GuideChallengeAddedEventDeserializer())));
+        factory.setBatchListener(true);
+        factory.setConcurrency(guideEventsConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(guideEventsErrorHandler);
+
+        log.info("📥 Guide events consumer: batch listener, concurrency={}, max.poll.records={}, DLT='{}'",
+            guideEventsConcurrency, guideEventsMaxPollRecords, guideChallengeAddedDltTopic);
+        return factory;
+    }
+
+    /**
+     * Error handler of the guide events listener.
+     * While the database is unreachable or overloaded the batch is retried with an exponential back-off capped at
+     * {@code max-retry-interval} and no limit, so an outage never dead-letters valid records. A record that fails
+     * on its own (reported with {@link org.springframework.kafka.listener.BatchListenerFailedException}) is retried
+     * {@code max-retries} times every {@code retry-interval}, invalid records are not retried; either way it ends up
+     * in the dead-letter topic and the rest of the batch continues.
+     */
+    @Bean
+    public DefaultErrorHandler guideEventsErrorHandler(KafkaTemplate<String, Object> kafkaTemplate,
+                                                      KafkaProperties kafkaProperties) {
+        // Records that failed deserialization are republished with their original bytes
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, deadLetterBytesTemplate(kafkaProperties));
+        templates.put(Object.class, kafkaTemplate);
+
+        var recoverer = new DeadLetterPublishingRecoverer(templates,
+            (record, exception) -> new TopicPartition(guideChallengeAddedDltTopic, -1));
+
+        // Whole-batch failures only reach the handler when the database is down (see GuideChallengeEventConsumer)
+        var outageBackOff = new ExponentialBackOff(guideEventsRetryInterval.toMillis(), 2.0);
+        outageBackOff.setMaxInterval(guideEventsMaxRetryInterval.toMillis());
+        var errorHandler = new DefaultErrorHandler(recoverer, outageBackOff);
+        errorHandler.setBackOffFunction((record, exception) -> isTransientDatabaseFailure(exception)
+            ? outageBackOff
+            : new FixedBackOff(guideEventsRetryInterval.toMillis(), guideEventsMaxRetries));
+        errorHandler.addNotRetryableExceptions(IllegalArgumentException.class);
+        return errorHandler;
+    }
+
+    /**
+     * Whether a failure comes from the database being unreachable or overloaded rather than from the records
+     */
+    static boolean isTransientDatabaseFailure(Throwable failure) {
+        for (var cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                || cause instanceof RecoverableDataAccessException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof SQLTransientException
+                || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private KafkaTemplate<String, byte[]> deadLetterBytesTemplate(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    private Map<String, Object> baseConsumerProperties() {
         Map<String, Object> props = new HashMap<>();
         
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, applicationName);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        
-        // JSON Deserializer configuration
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         
         // Consumer behavior configuration
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
@@ -73,14 +232,6 @@ public class KafkaConsumerConfig {
             props.put("security.protocol", "PLAINTEXT");
         }
 
-        return new DefaultKafkaConsumerFactory<>(props);
-    }
-
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
-            new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        return factory;
+        return props;
     }
 }
@@ -1,11 +1,16 @@
 package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka;
 
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.ChallengeCompletedEventSerializer;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.EventSerializationFormat;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.Locale;
+
 /**
  * Kafka Producer Configuration
  * 
@@ -23,13 +28,13 @@ import jakarta.annotation.PostConstruct;
 @Slf4j
 @Configuration
 public class KafkaProducerConfig {
-    
+
     @Value("${kafka.is-azure:false}")
     private boolean isAzure;
     
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
-    
+
     @PostConstruct
     public void logConfiguration() {
         if (isAzure) {
@@ -39,5 +44,18 @@ public class KafkaProducerConfig {
         }
     }
     
+    /**
+     * Serializer de ChallengeCompletedEvent según kafka.serialization.format.
+     * JSON mantiene el payload que recibía el Profile Service; protobuf reduce tamaño y CPU una vez
+     * que los consumidores aceptan la cabecera contentType=application/x-protobuf.
+     */
+    @Bean
+    public ChallengeCompletedEventSerializer challengeCompletedEventSerializer(
+            @Value("${kafka.serialization.format:json}") String format) {
+        var serializationFormat = EventSerializationFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        log.info("📦 ChallengeCompletedEvent published as {}", serializationFormat.contentType());
+        return new ChallengeCompletedEventSerializer(serializationFormat);
+    }
+    
     // Spring Boot auto-configura el KafkaTemplate basado en spring.kafka.* properties
 }
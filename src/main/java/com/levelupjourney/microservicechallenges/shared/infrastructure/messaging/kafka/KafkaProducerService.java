@@ -1,95 +1,41 @@
 package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka;
 
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox.OutboxEventWriter;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.ChallengeCompletedEventSerializer;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.events.ChallengeCompletedEvent;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.CompletableFuture;
-
 /**
  * Kafka Producer Service for publishing domain events to Kafka topics.
- * Handles event serialization and publishing with proper error handling and logging.
+ * Events are stored in the transactional outbox and published by the OutboxRelay.
  */
 @Service
-@Slf4j
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventWriter outboxEventWriter;
+    private final ChallengeCompletedEventSerializer challengeCompletedEventSerializer;
 
     @Value("${kafka.topics.challenge-completed}")
     private String challengeCompletedTopic;
 
     @Autowired
-    public KafkaProducerService(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
-    }
-
-    /**
-     * Publish a ChallengeCompletedEvent to Kafka.
-     * The event will be consumed by the Profile Service to update student scores and rankings.
-     * The alreadyCompleted flag indicates whether points should be awarded (false = award, true = skip).
-     *
-     * @param event The challenge completed event containing score information and completion status
-     */
-    public void publishChallengeCompleted(ChallengeCompletedEvent event) {
-        log.info("📤 Publishing ChallengeCompletedEvent to Azure Event Hub (Kafka):");
-        log.info("  - Topic: '{}'", challengeCompletedTopic);
-        log.info("  - Student ID: '{}'", event.getStudentId());
-        log.info("  - Challenge ID: '{}'", event.getChallengeId());
-        log.info("  - Points Earned: {}/{}", event.getExperiencePointsEarned(), event.getTotalExperiencePoints());
-        log.info("  - Tests Passed: {}/{}", event.getPassedTests(), event.getTotalTests());
-        log.info("  - Already Completed: {} {}", event.getAlreadyCompleted(),
-            event.getAlreadyCompleted() ? "(Profile should NOT award points)" : "(Profile SHOULD award points)");
-
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(
-            challengeCompletedTopic,
-            event.getStudentId(), // Use studentId as partition key for ordering
-            event
-        );
-
-        future.whenComplete((result, ex) -> {
-            if (ex == null) {
-                log.info("✅ Successfully published ChallengeCompletedEvent to Azure Event Hub:");
-                log.info("  - Topic: {}", result.getRecordMetadata().topic());
-                log.info("  - Partition: {}", result.getRecordMetadata().partition());
-                log.info("  - Offset: {}", result.getRecordMetadata().offset());
-                log.info("  - Timestamp: {}", result.getRecordMetadata().timestamp());
-                log.info("  - Already Completed Flag: {}", event.getAlreadyCompleted());
-            } else {
-                log.error("❌ Failed to publish ChallengeCompletedEvent to Azure Event Hub for student '{}': {}",
-                    event.getStudentId(), ex.getMessage(), ex);
-            }
-        });
+    public KafkaProducerService(OutboxEventWriter outboxEventWriter,
+                                ChallengeCompletedEventSerializer challengeCompletedEventSerializer) {
+        this.outboxEventWriter = outboxEventWriter;
+        this.challengeCompletedEventSerializer = challengeCompletedEventSerializer;
     }
 
     /**
-     * Publish event synchronously (blocks until confirmation).
-     * Use this when you need to ensure the event is published before continuing.
+     * Store a ChallengeCompletedEvent in the transactional outbox.
+     * Must be called inside the transaction that saves the score; the OutboxRelay publishes the
+     * event to the challenge-completed topic (keyed by studentId) once that transaction commits.
+     * The payload uses the configured kafka.serialization.format (JSON or protobuf).
      *
      * @param event The challenge completed event
-     * @return true if published successfully, false otherwise
      */
-    public boolean publishChallengeCompletedSync(ChallengeCompletedEvent event) {
-        try {
-            log.info("Publishing ChallengeCompletedEvent synchronously to Kafka");
-            SendResult<String, Object> result = kafkaTemplate.send(
-                challengeCompletedTopic,
-                event.getStudentId(),
-                event
-            ).get(); // Blocking call
-
-            log.info("Successfully published ChallengeCompletedEvent (sync):");
-            log.info("  - Partition: {}", result.getRecordMetadata().partition());
-            log.info("  - Offset: {}", result.getRecordMetadata().offset());
-            return true;
-
-        } catch (Exception ex) {
-            log.error("Failed to publish ChallengeCompletedEvent synchronously: {}", ex.getMessage(), ex);
-            return false;
-        }
+    public void enqueueChallengeCompleted(ChallengeCompletedEvent event) {
+        outboxEventWriter.append(challengeCompletedTopic, event.getStudentId(), event, challengeCompletedEventSerializer);
     }
 }
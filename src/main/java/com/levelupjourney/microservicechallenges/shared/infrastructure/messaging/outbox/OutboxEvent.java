@@ -0,0 +1,113 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Event waiting to be relayed to Kafka.
+ *
+ * <p>Rows are inserted in the same transaction as the state change that produced the event,
+ * so the event is stored if and only if that change commits. {@link OutboxRelay} publishes
+ * pending rows in batches and deletes them once the broker acknowledged them. While a relay
+ * publishes a row it holds a lease on it ({@code lockedUntil}) instead of a database lock.
+ * A failed event waits until {@code nextAttemptAt} and is parked after too many attempts.</p>
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    // Serialized record value, sent to Kafka as is
+    @Column(nullable = false)
+    private byte[] payload;
+
+    // Wire format of the payload, sent as the contentType record header
+    private String contentType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Earliest time of the next publication, pushed back after every failure
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    // End of the lease of the relay publishing the event; other relays skip it until then
+    private Instant lockedUntil;
+
+    public OutboxEvent(String topic, String messageKey, String eventType, byte[] payload, String contentType) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.contentType = contentType;
+        this.createdAt = Instant.now();
+        this.status = OutboxEventStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /**
+     * Lease the event to the relay about to publish it
+     *
+     * @param leaseUntil Time after which another relay may claim the event again
+     */
+    public void claim(Instant leaseUntil) {
+        this.lockedUntil = leaseUntil;
+    }
+
+    /**
+     * Give the event back without publishing it, for instance because an earlier event of its key failed
+     */
+    public void release() {
+        this.lockedUntil = null;
+    }
+
+    /**
+     * Record a failed publication and release the lease.
+     * The event is retried at {@code retryAt}, unless this was its last allowed attempt: it is then parked.
+     *
+     * @param error       Reason reported by the producer
+     * @param retryAt     Earliest time of the next attempt
+     * @param maxAttempts Attempts allowed before parking the event
+     */
+    public void recordFailure(String error, Instant retryAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error;
+        this.lockedUntil = null;
+        this.nextAttemptAt = retryAt;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxEventStatus.PARKED;
+        }
+    }
+
+    public boolean isParked() {
+        return this.status == OutboxEventStatus.PARKED;
+    }
+}
@@ -0,0 +1,29 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest pending events that are due and not leased by a relay; rows being claimed by another relay instance are
+    // skipped instead of waited for. An event is held back while an earlier pending event of its key waits for a retry
+    // or is leased, so the events of a key are published in order.
+    @Query(value = "SELECT * FROM outbox_events e " +
+                   "WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now AND (e.locked_until IS NULL OR e.locked_until < :now) " +
+                   "AND NOT EXISTS (SELECT 1 FROM outbox_events b WHERE b.topic = e.topic AND b.message_key = e.message_key " +
+                   "AND b.id < e.id AND b.status = 'PENDING' AND (b.next_attempt_at > :now OR b.locked_until >= :now)) " +
+                   "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit, @Param("now") Instant now);
+
+    long countByStatus(OutboxEventStatus status);
+
+    // Creation time of the oldest pending event (relay lag)
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = 'PENDING'")
+    Instant findOldestCreatedAt();
+}
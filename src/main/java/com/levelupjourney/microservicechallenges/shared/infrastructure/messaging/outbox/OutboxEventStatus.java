@@ -0,0 +1,16 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+/**
+ * Relay state of an outbox event
+ */
+public enum OutboxEventStatus {
+    /**
+     * Waiting to be published, possibly after a failed attempt
+     */
+    PENDING,
+
+    /**
+     * Failed {@code outbox.relay.max-attempts} times; kept for inspection and no longer relayed
+     */
+    PARKED
+}
@@ -0,0 +1,52 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.EventSerializationFormat;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores events in the outbox as part of the caller's transaction.
+ * Payloads are serialized up front with the Kafka serializer of the event, and the content type it
+ * announces is kept with the row so the relay sends the record exactly as a producer would have.
+ */
+@Slf4j
+@Component
+public class OutboxEventWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxEventWriter(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    /**
+     * Append an event to the outbox.
+     * Must run inside the transaction of the state change that produced the event.
+     *
+     * @param topic      Destination topic
+     * @param key        Record key (partitioning and ordering)
+     * @param event      Event to serialize
+     * @param serializer Kafka serializer of the event
+     * @throws IllegalStateException if the event cannot be serialized
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <T> void append(String topic, String key, T event, Serializer<T> serializer) {
+        var eventType = event.getClass().getSimpleName();
+        try {
+            var headers = new RecordHeaders();
+            var payload = serializer.serialize(topic, headers, event);
+            var contentType = headers.lastHeader(EventSerializationFormat.CONTENT_TYPE_HEADER);
+            outboxEventRepository.save(new OutboxEvent(topic, key, eventType, payload,
+                    contentType != null ? new String(contentType.value(), StandardCharsets.UTF_8) : null));
+            log.debug("📮 {} stored in outbox for topic '{}'", eventType, topic);
+        } catch (SerializationException e) {
+            throw new IllegalStateException("Failed to serialize " + eventType + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization.EventSerializationFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes pending outbox events to Kafka in batches.
+ *
+ * <p>Each run claims up to {@code batch-size} of the oldest due events in a short transaction: the rows are
+ * selected with {@code FOR UPDATE SKIP LOCKED} and leased until {@code lease} from now, so several instances
+ * can relay in parallel. The events are then handed to the producer together, so they are grouped into a few
+ * compressed requests, and the broker acknowledgements are awaited without holding a transaction or a
+ * connection. A second short transaction deletes the acknowledged rows and releases the others.
+ * Delivery is at-least-once: a crash before the rows are deleted publishes the batch again once the
+ * lease expires.</p>
+ *
+ * <p>A batch is sent in rounds holding at most one event per key, so when an event fails the later events
+ * of its key are given back unpublished and stay behind it. A failed event is retried after an exponential
+ * back-off and parked once it has failed {@code max-attempts} times; a parked event no longer holds back
+ * its key.</p>
+ *
+ * <p>The relay owns its producer (String keys, byte[] payloads, tuned for batches). It is not a bean, so
+ * Spring Boot still creates the default {@code KafkaTemplate<String, Object>} used by the rest of the service.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Timer publishLag;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter parked;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       JdbcTemplate jdbcTemplate,
+                       KafkaProperties kafkaProperties,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.linger-ms:20}") int lingerMs,
+                       @Value("${outbox.relay.batch-size-bytes:65536}") int batchSizeBytes,
+                       @Value("${outbox.relay.compression:gzip}") String compression,
+                       @Value("${outbox.relay.delivery-timeout-ms:30000}") int deliveryTimeoutMs,
+                       @Value("${outbox.relay.lease:PT1M}") Duration lease,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.retry-backoff:PT1S}") Duration retryBackoff,
+                       @Value("${outbox.relay.max-retry-backoff:PT5M}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.producerFactory = new DefaultKafkaProducerFactory<>(
+                producerProperties(kafkaProperties, lingerMs, batchSizeBytes, compression, deliveryTimeoutMs));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        // Every send completes (acknowledged or failed) within the producer delivery timeout
+        this.sendTimeout = Duration.ofMillis(deliveryTimeoutMs).plusSeconds(5);
+        if (lease.compareTo(sendTimeout) <= 0) {
+            // A lease ending while the batch is still in flight would let another instance publish it again
+            throw new IllegalArgumentException("outbox.relay.lease must be longer than " + sendTimeout + " (delivery timeout + 5s)");
+        }
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.publishLag = Timer.builder("outbox.publish.lag")
+                .description("Time between storing an event in the outbox and its acknowledgement by Kafka")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.events.published").register(meterRegistry);
+        this.failed = Counter.builder("outbox.events.failed").register(meterRegistry);
+        this.parked = Counter.builder("outbox.events.parked").register(meterRegistry);
+        Gauge.builder("outbox.backlog", outboxEventRepository, repository -> repository.countByStatus(OutboxEventStatus.PENDING))
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", outboxEventRepository, repository -> repository.countByStatus(OutboxEventStatus.PARKED))
+                .description("Events that exhausted their attempts and are no longer relayed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", outboxEventRepository, OutboxRelay::oldestEventAgeSeconds)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        producerFactory.destroy();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT0.5S}")
+    public void relay() {
+        int relayed;
+        do {
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                log.error("❌ Outbox relay run failed: {}", e.getMessage(), e);
+                return;
+            }
+        } while (relayed == batchSize); // Drain the backlog without waiting for the next poll while the broker accepts it
+    }
+
+    /**
+     * Publish one batch of pending events
+     *
+     * @return Number of events published and removed from the outbox
+     */
+    private int relayBatch() {
+        var events = transactionTemplate.execute(status -> claimNextBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        // Events of a key go out one round after the other, so a failure stops the later events of its key
+        Map<String, Deque<OutboxEvent>> queues = new LinkedHashMap<>();
+        for (var event : events) {
+            queues.computeIfAbsent(orderingKey(event), key -> new ArrayDeque<>()).add(event);
+        }
+
+        var deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        List<OutboxEvent> unpublished = new ArrayList<>();
+        while (!queues.isEmpty()) {
+            if (System.nanoTime() >= deadline) {
+                // Out of lease budget: give the rest back untouched instead of starting another round
+                queues.values().forEach(unpublished::addAll);
+                unpublished.forEach(OutboxEvent::release);
+                break;
+            }
+            List<OutboxEvent> round = new ArrayList<>(queues.size());
+            queues.values().forEach(queue -> round.add(queue.poll()));
+            for (var failedEvent : publishRound(round, deadline, publishedIds)) {
+                unpublished.add(failedEvent);
+                var heldBack = queues.remove(orderingKey(failedEvent));
+                heldBack.forEach(OutboxEvent::release);
+                unpublished.addAll(heldBack);
+                if (!heldBack.isEmpty()) {
+                    log.debug("⏸️ Holding back {} outbox events of key '{}' behind failed event {}",
+                            heldBack.size(), failedEvent.getMessageKey(), failedEvent.getId());
+                }
+            }
+            queues.values().removeIf(Deque::isEmpty);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(publishedIds);
+            }
+            if (!unpublished.isEmpty()) {
+                outboxEventRepository.saveAll(unpublished);
+            }
+        });
+        published.increment(publishedIds.size());
+        log.debug("📮 Relayed {}/{} outbox events", publishedIds.size(), events.size());
+        return publishedIds.size();
+    }
+
+    /**
+     * Send a round of events (at most one per key) and wait for their acknowledgements
+     *
+     * @return Events that failed, with the failure recorded
+     */
+    private List<OutboxEvent> publishRound(List<OutboxEvent> round, long deadline, List<Long> publishedIds) {
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(round.size());
+        for (var event : round) {
+            futures.add(send(event));
+        }
+        kafkaTemplate.flush();
+
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        for (int i = 0; i < round.size(); i++) {
+            var event = round.get(i);
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                publishedIds.add(event.getId());
+                publishLag.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            } catch (ExecutionException | TimeoutException e) {
+                var cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                recordFailure(event, cause.getMessage());
+                failedEvents.add(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Outbox relay interrupted", e);
+            }
+        }
+        return failedEvents;
+    }
+
+    private void recordFailure(OutboxEvent event, String error) {
+        var retryAt = Instant.now().plus(retryBackoff(event.getAttempts() + 1));
+        event.recordFailure(error, retryAt, maxAttempts);
+        failed.increment();
+        if (event.isParked()) {
+            parked.increment();
+            log.error("🅿️ Parked outbox event {} to '{}' after {} failed attempts: {}",
+                    event.getId(), event.getTopic(), event.getAttempts(), error);
+        } else {
+            log.warn("⚠️ Failed to relay outbox event {} to '{}' (attempt {}/{}), retrying at {}: {}",
+                    event.getId(), event.getTopic(), event.getAttempts(), maxAttempts, retryAt, error);
+        }
+    }
+
+    /**
+     * Exponential back-off before the given attempt: retry-backoff, doubled after every failure up to max-retry-backoff
+     */
+    private Duration retryBackoff(int attempt) {
+        var backoff = retryBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    // Kafka keeps the order of a key within its topic (topic names cannot contain ':'); events without a key have no order to keep
+    private static String orderingKey(OutboxEvent event) {
+        return event.getMessageKey() != null ? event.getTopic() + ':' + event.getMessageKey() : "#" + event.getId();
+    }
+
+    /**
+     * Lease the next batch of pending events to this instance; must run inside a transaction
+     */
+    private List<OutboxEvent> claimNextBatch() {
+        // Claims are serialized across instances (the lock ends with the transaction), so an instance never sees
+        // an earlier event of a key as free while another instance is claiming it and takes the later one
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('outbox_events_claim'))");
+        var now = Instant.now();
+        var events = outboxEventRepository.lockNextBatch(batchSize, now);
+        var leaseUntil = now.plus(lease);
+        events.forEach(event -> event.claim(leaseUntil));
+        return events;
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxEvent event) {
+        try {
+            var record = new ProducerRecord<>(event.getTopic(), event.getMessageKey(), event.getPayload());
+            if (event.getContentType() != null) {
+                record.headers().add(EventSerializationFormat.CONTENT_TYPE_HEADER, event.getContentType().getBytes(StandardCharsets.UTF_8));
+            }
+            return kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Inherits bootstrap servers and security (SASL_SSL for Azure Event Hubs) from spring.kafka.*;
+    // linger.ms and batch.size group the events of a run into a few compressed requests
+    private static Map<String, Object> producerProperties(KafkaProperties kafkaProperties, int lingerMs, int batchSizeBytes,
+                                                          String compression, int deliveryTimeoutMs) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeBytes);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // The relay runs in the background: it can wait longer than HTTP requests
+        properties.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 10_000);
+        properties.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, Math.min(deliveryTimeoutMs - lingerMs, 15_000));
+        properties.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+
+        log.info("📮 Outbox relay producer: linger.ms={}, batch.size={}, compression={}", lingerMs, batchSizeBytes, compression);
+        return properties;
+    }
+
+    private static double oldestEventAgeSeconds(OutboxEventRepository repository) {
+        var oldest = repository.findOldestCreatedAt();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
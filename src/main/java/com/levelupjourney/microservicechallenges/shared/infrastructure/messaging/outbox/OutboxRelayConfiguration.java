@@ -0,0 +1,24 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.outbox;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración del relay del outbox.
+ *
+ * El relay crea su propio producer privado (payload ya serializado como bytes; no se expone como bean para
+ * no sustituir el KafkaTemplate por defecto de Spring Boot) ajustado para envíos en lote:
+ * linger.ms y batch.size agrupan los eventos de cada ciclo en pocas peticiones al broker y la
+ * compresión reduce el tamaño de cada lote. Hereda bootstrap-servers y la seguridad (SASL_SSL para
+ * Azure Event Hubs) de spring.kafka.*; por eso la compresión por defecto es gzip, soportada por Event Hubs.
+ *
+ * Propiedades configuradas:
+ * - outbox.relay.linger-ms
+ * - outbox.relay.batch-size-bytes
+ * - outbox.relay.compression
+ * - outbox.relay.delivery-timeout-ms
+ */
+@Configuration
+@EnableScheduling
+public class OutboxRelayConfiguration {
+}
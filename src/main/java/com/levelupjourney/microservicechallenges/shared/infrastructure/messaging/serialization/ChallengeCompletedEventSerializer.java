@@ -0,0 +1,98 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.proto.ChallengeCompletedEventMessage;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.events.ChallengeCompletedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka serializer of ChallengeCompletedEvent.
+ *
+ * <p>PROTOBUF writes a {@link ChallengeCompletedEventMessage}. JSON writes exactly what Spring Kafka's
+ * {@code JsonSerializer} wrote before, so consumers that only read JSON keep working while the
+ * format is rolled out.</p>
+ */
+public class ChallengeCompletedEventSerializer implements Serializer<ChallengeCompletedEvent> {
+
+    private final EventSerializationFormat format;
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    public ChallengeCompletedEventSerializer(EventSerializationFormat format) {
+        this.format = format;
+    }
+
+    public EventSerializationFormat format() {
+        return format;
+    }
+
+    @Override
+    public byte[] serialize(String topic, ChallengeCompletedEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return switch (format) {
+            case PROTOBUF -> toMessage(event).toByteArray();
+            case JSON -> toJson(event);
+        };
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, ChallengeCompletedEvent event) {
+        headers.remove(EventSerializationFormat.CONTENT_TYPE_HEADER);
+        headers.add(EventSerializationFormat.CONTENT_TYPE_HEADER, format.contentType().getBytes(StandardCharsets.UTF_8));
+        return serialize(topic, event);
+    }
+
+    /**
+     * Map the event to its protobuf message; null values are written as the protobuf defaults
+     *
+     * @param event The event to map
+     * @return The protobuf message
+     */
+    public static ChallengeCompletedEventMessage toMessage(ChallengeCompletedEvent event) {
+        var builder = ChallengeCompletedEventMessage.newBuilder()
+                .setStudentId(nullToEmpty(event.getStudentId()))
+                .setChallengeId(nullToEmpty(event.getChallengeId()))
+                .setSolutionId(nullToEmpty(event.getSolutionId()))
+                .setExperiencePointsEarned(nullToZero(event.getExperiencePointsEarned()))
+                .setTotalExperiencePoints(nullToZero(event.getTotalExperiencePoints()))
+                .setPassedTests(nullToZero(event.getPassedTests()))
+                .setTotalTests(nullToZero(event.getTotalTests()))
+                .setAllTestsPassed(Boolean.TRUE.equals(event.getAllTestsPassed()))
+                .setExecutionTimeMs(event.getExecutionTimeMs() != null ? event.getExecutionTimeMs() : 0L)
+                .setSolutionTimeSeconds(event.getSolutionTimeSeconds() != null ? event.getSolutionTimeSeconds() : 0L)
+                .setScoreMultiplier(nullToZero(event.getScoreMultiplier()))
+                .setTimePenaltyApplied(Boolean.TRUE.equals(event.getTimePenaltyApplied()))
+                .setScoringReason(nullToEmpty(event.getScoringReason()))
+                .setAlreadyCompleted(Boolean.TRUE.equals(event.getAlreadyCompleted()));
+        if (event.getCompletedAt() != null) {
+            builder.setCompletedAt(ProtobufTimestamps.of(event.getCompletedAt()));
+        }
+        if (event.getOccurredOn() != null) {
+            builder.setOccurredOn(ProtobufTimestamps.of(event.getOccurredOn()));
+        }
+        return builder.build();
+    }
+
+    private byte[] toJson(ChallengeCompletedEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Can't serialize ChallengeCompletedEvent to JSON", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
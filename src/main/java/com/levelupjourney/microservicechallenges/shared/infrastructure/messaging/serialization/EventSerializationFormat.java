@@ -0,0 +1,40 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Wire formats of the Kafka events exchanged with other services.
+ * The format of each record is announced in its {@link #CONTENT_TYPE_HEADER} header.
+ */
+public enum EventSerializationFormat {
+    JSON("application/json"),
+    PROTOBUF("application/x-protobuf");
+
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+
+    private final String contentType;
+
+    EventSerializationFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolve the format announced by a record header
+     *
+     * @param contentType Header value, may be null
+     * @return The matching format, empty when the header is missing or unknown
+     */
+    public static Optional<EventSerializationFormat> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(format -> contentType.regionMatches(true, 0, format.contentType, 0, format.contentType.length()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,89 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.proto.GuideChallengeAddedEventMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Kafka deserializer of GuideChallengeAddedEvent accepting both wire formats, so the Learning Service
+ * can switch from JSON to protobuf without coordinating the deployment.
+ *
+ * <p>The format comes from the {@code contentType} header; records without it are read as JSON when
+ * they start with '{' and as protobuf otherwise. JSON is always bound to GuideChallengeAddedEvent:
+ * type information in the payload or the headers is ignored.</p>
+ */
+public class GuideChallengeAddedEventDeserializer implements Deserializer<GuideChallengeAddedEvent> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public GuideChallengeAddedEvent deserialize(String topic, byte[] data) {
+        return deserialize(data, null);
+    }
+
+    @Override
+    public GuideChallengeAddedEvent deserialize(String topic, Headers headers, byte[] data) {
+        var header = headers.lastHeader(EventSerializationFormat.CONTENT_TYPE_HEADER);
+        var contentType = header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+        return deserialize(data, contentType);
+    }
+
+    private GuideChallengeAddedEvent deserialize(byte[] data, String contentType) {
+        if (data == null) {
+            return null;
+        }
+        var format = EventSerializationFormat.fromContentType(contentType).orElseGet(() -> detectFormat(data));
+        return switch (format) {
+            case PROTOBUF -> fromProtobuf(data);
+            case JSON -> fromJson(data);
+        };
+    }
+
+    /**
+     * Map a protobuf message to the event
+     *
+     * @param message The received message
+     * @return The event; IDs missing from the message are null
+     */
+    public static GuideChallengeAddedEvent fromMessage(GuideChallengeAddedEventMessage message) {
+        return new GuideChallengeAddedEvent(
+                parseUuid(message.getGuideId()),
+                parseUuid(message.getChallengeId()),
+                message.hasOccurredAt() ? ProtobufTimestamps.toInstant(message.getOccurredAt()) : null
+        );
+    }
+
+    private GuideChallengeAddedEvent fromProtobuf(byte[] data) {
+        try {
+            return fromMessage(GuideChallengeAddedEventMessage.parseFrom(data));
+        } catch (InvalidProtocolBufferException | IllegalArgumentException e) {
+            throw new SerializationException("Can't deserialize GuideChallengeAddedEvent from protobuf", e);
+        }
+    }
+
+    private GuideChallengeAddedEvent fromJson(byte[] data) {
+        try {
+            return objectMapper.readValue(data, GuideChallengeAddedEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize GuideChallengeAddedEvent from JSON", e);
+        }
+    }
+
+    // '{' (0x7B) would be a group start tag of field 15, which protobuf 3 never writes
+    private static EventSerializationFormat detectFormat(byte[] data) {
+        return data.length > 0 && data[0] == '{' ? EventSerializationFormat.JSON : EventSerializationFormat.PROTOBUF;
+    }
+
+    private static UUID parseUuid(String value) {
+        return value.isEmpty() ? null : UUID.fromString(value);
+    }
+}
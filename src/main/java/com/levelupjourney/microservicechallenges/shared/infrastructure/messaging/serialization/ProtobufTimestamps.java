@@ -0,0 +1,32 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization;
+
+import com.google.protobuf.Timestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conversions between java.time values and protobuf timestamps.
+ * Events carry LocalDateTime in server time (as their JSON form does), so they are read in the system zone.
+ */
+final class ProtobufTimestamps {
+
+    private ProtobufTimestamps() {
+    }
+
+    static Timestamp of(Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+
+    static Timestamp of(LocalDateTime dateTime) {
+        return of(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
@@ -0,0 +1,34 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.identifiers;
+
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerator;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.TimeOrderedUuidGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Selects the identifier generator of new aggregates.
+ * {@code identifiers.uuid-version}: {@code v7} (time-ordered, default) or {@code v4} (random).
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${identifiers.uuid-version:v7}") String uuidVersion) {
+        String version = uuidVersion.trim().toLowerCase(Locale.ROOT).replace("v", "");
+        IdGenerator generator = switch (version) {
+            case "7" -> new TimeOrderedUuidGenerator();
+            case "4" -> UUID::randomUUID;
+            default -> throw new IllegalArgumentException("Unsupported identifiers.uuid-version: " + uuidVersion);
+        };
+        IdGenerators.use(generator);
+        log.info("🆔 New aggregates get UUIDv{} identifiers", version);
+        return generator;
+    }
+}
@@ -0,0 +1,105 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas when {@code read-replicas.urls} is set; without replicas
+ * Spring Boot's single data source is used unchanged.
+ *
+ * Propiedades configuradas:
+ * - read-replicas.urls
+ * - read-replicas.username / read-replicas.password
+ * - read-replicas.pool-size
+ * - read-replicas.max-lag
+ * - read-replicas.lag-check-interval
+ * - read-replicas.read-your-writes-window
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${read-replicas.urls:}'.isBlank()")
+public class ReadReplicaRoutingConfiguration {
+
+    // Built like Spring Boot's own pool (spring.datasource.*), which backs off once a DataSource bean exists.
+    // Migrations always run here, not through the router
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${read-replicas.urls}") String urls,
+            @Value("${read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${read-replicas.pool-size:10}") int poolSize,
+            @Value("${read-replicas.max-lag:PT5S}") Duration maxLag,
+            @Value("${read-replicas.lag-check-interval:PT1S}") Duration lagCheckInterval) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(primaryDataSource.getDriverClassName());
+            // Same connection defaults as the primary, so the lazy proxy sees one kind of connection
+            replica.setAutoCommit(primaryDataSource.isAutoCommit());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(poolSize);
+            // A replica that is down must not hold requests for Hikari's default 30 s; they fall back instead
+            replica.setConnectionTimeout(Math.min(primaryDataSource.getConnectionTimeout(), 2_000));
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+
+        log.info("📚 Read-only transactions routed to {} read replicas (max lag {})", replicas.size(), maxLag);
+        return new ReplicaLagMonitor(replicas, maxLag, lagCheckInterval, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${read-replicas.read-your-writes-window:PT10S}") Duration window,
+            @Value("${read-replicas.read-your-writes-max-writers:100000}") long maxWriters) {
+        return new ReadYourWritesTracker(window, maxWriters);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        var router = new ReadReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, readYourWritesTracker, meterRegistry);
+        var lazy = new LazyConnectionDataSourceProxy(router);
+        lazy.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+}
@@ -0,0 +1,84 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends the connections of read-only transactions ({@code @Transactional(readOnly = true)}, e.g. the query
+ * services) to a read replica and everything else to the primary.
+ * <p>
+ * A read-only transaction still uses the primary when the caller has just written (see
+ * {@link ReadYourWritesTracker}), when every replica lags beyond the tolerated staleness (see
+ * {@link ReplicaLagMonitor}) or when the chosen replica cannot give a connection.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the connection
+ * is then only taken at the first statement, once the transaction's read-only flag is known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter readYourWritesReads;
+    private final Counter laggingReads;
+    private final Counter unavailableReads;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor,
+                                        ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.readYourWritesReads = fallbackCounter(meterRegistry, "read-your-writes");
+        this.laggingReads = fallbackCounter(meterRegistry, "replicas-lagging");
+        this.unavailableReads = fallbackCounter(meterRegistry, "replica-unavailable");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWriteOnCommit();
+            return primary.getConnection();
+        }
+        if (readYourWrites.mustReadPrimary()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+
+        var replica = lagMonitor.nextUsableReplica();
+        if (replica.isEmpty()) {
+            laggingReads.increment();
+            return primary.getConnection();
+        }
+        return replicaConnection(replica.get());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Per-call credentials are only used by tooling; they always target the primary
+        return primary.getConnection(username, password);
+    }
+
+    private Connection replicaConnection(HikariDataSource replica) throws SQLException {
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(replica, e);
+            unavailableReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("datasource.reads.primary-fallbacks")
+                .description("Read-only transactions served by the primary instead of a read replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes stickiness: after a caller commits a write (e.g. {@code StartChallengeCommand}), its reads stay
+ * on the primary for {@code read-replicas.read-your-writes-window}, so it never reads a replica that has not
+ * replayed its own write yet.
+ * <p>
+ * Callers are identified by the authenticated user, so the stickiness also covers the user's next requests.
+ * Work without a user (Kafka consumers, schedulers) is tracked per thread.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxWriters) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxWriters)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Remember the current caller once the current read-write transaction commits.
+     * Registered once per transaction; does nothing outside a transaction.
+     */
+    public void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+
+        String writer = currentCaller();
+        TransactionSynchronizationManager.bindResource(this, writer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(writer, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    /**
+     * Whether the current caller committed a write within the window
+     *
+     * @return true if its reads must go to the primary
+     */
+    public boolean mustReadPrimary() {
+        return recentWriters.getIfPresent(currentCaller()) != null;
+    }
+
+    private static String currentCaller() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken) && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "thread:" + Thread.currentThread().threadId();
+    }
+}
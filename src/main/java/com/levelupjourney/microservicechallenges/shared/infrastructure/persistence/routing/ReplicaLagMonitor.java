@@ -0,0 +1,143 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the replication lag of each read replica and hands out the replicas that are fresh enough.
+ * <p>
+ * Every {@code read-replicas.lag-check-interval} each replica is asked how far its replay is behind. A replica
+ * is used for reads while its lag is within {@code read-replicas.max-lag} and its last check is recent; an
+ * unreachable, lagging or unchecked replica is skipped, and reads fall back to the primary when none is left.
+ * Also owns the replica connection pools, which are closed with it.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // Zero when caught up (nothing received is left to replay), otherwise the age of the last replayed
+    // transaction. A server that is not in recovery (e.g. the primary itself in development) has no lag
+    private static final String LAG_MILLIS_SQL =
+            "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long maxCheckAgeMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaLagMonitor(List<HikariDataSource> dataSources, Duration maxLag, Duration checkInterval,
+                             MeterRegistry meterRegistry) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        // A missed check or two is tolerated; after that the lag is unknown and the replica is skipped
+        this.maxCheckAgeMillis = checkInterval.multipliedBy(3).toMillis();
+
+        replicas.forEach(replica -> Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis)
+                .description("Replication lag of the read replica in milliseconds (-1 when unreachable)")
+                .tag("replica", replica.name())
+                .baseUnit("milliseconds")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Pick the next replica fresh enough to serve reads, in round robin
+     *
+     * @return The replica's data source, or empty if every replica lags or is unreachable
+     */
+    public Optional<HikariDataSource> nextUsableReplica() {
+        long now = System.currentTimeMillis();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (replica.isUsable(now)) {
+                return Optional.of(replica.dataSource);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Take a replica out of rotation until its next successful check (its pool failed to give a connection)
+     *
+     * @param dataSource The replica's data source
+     * @param cause      Why the connection failed
+     */
+    public void markUnavailable(HikariDataSource dataSource, Exception cause) {
+        replicas.stream()
+                .filter(replica -> replica.dataSource == dataSource)
+                .findFirst()
+                .ifPresent(replica -> replica.update(-1, cause.getMessage()));
+    }
+
+    /**
+     * Measure the lag of every replica
+     */
+    @Scheduled(fixedDelayString = "${read-replicas.lag-check-interval:PT1S}")
+    public void check() {
+        for (var replica : replicas) {
+            try {
+                Double lag = new JdbcTemplate(replica.dataSource).queryForObject(LAG_MILLIS_SQL, Double.class);
+                replica.update(lag == null ? 0 : lag.longValue(), null);
+            } catch (DataAccessException e) {
+                replica.update(-1, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile long lagMillis = -1;
+        private volatile long checkedAt;
+        private volatile boolean usable;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private boolean isUsable(long now) {
+            return usable && now - checkedAt <= maxCheckAgeMillis;
+        }
+
+        // -1 means unreachable; state changes are logged once instead of on every check
+        private void update(long lag, String error) {
+            boolean wasUsable = usable;
+            boolean firstCheck = checkedAt == 0;
+            lagMillis = lag;
+            checkedAt = System.currentTimeMillis();
+            usable = lag >= 0 && lag <= maxLagMillis;
+
+            if ((wasUsable || firstCheck) && !usable) {
+                if (lag < 0) {
+                    log.warn("⚠️ Read replica {} unreachable, its reads go to the primary: {}", name(), error);
+                } else {
+                    log.warn("🐢 Read replica {} is {} ms behind (max {} ms), its reads go to the primary", name(), lag, maxLagMillis);
+                }
+            } else if (!wasUsable && usable) {
+                log.info("✅ Read replica {} serving reads ({} ms behind)", name(), lag);
+            }
+        }
+    }
+}
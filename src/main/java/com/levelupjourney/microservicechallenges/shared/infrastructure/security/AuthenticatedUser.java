@@ -0,0 +1,32 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.security;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal of an authenticated request, read once from the verified JWT by {@link JwtAuthenticationFilter}.
+ * Controllers receive it with {@code @AuthenticationPrincipal AuthenticatedUser currentUser}.
+ *
+ * @param userId The userId claim
+ * @param email  The email claim, may be null
+ * @param roles  The roles claim (e.g. ROLE_STUDENT, ROLE_TEACHER, ROLE_ADMIN)
+ */
+public record AuthenticatedUser(
+    String userId,
+    String email,
+    List<String> roles
+) implements Principal {
+    public AuthenticatedUser {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    // Keeps Authentication.getName() returning the userId
+    @Override
+    public String getName() {
+        return userId;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
@@ -13,11 +13,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * JWT Authentication Filter that processes Bearer tokens.
- * Extracts user information from JWT and sets authentication in SecurityContext.
+ * Verifies the JWT once per request and sets an {@link AuthenticatedUser} principal in the SecurityContext.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -33,31 +34,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userId;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
+        // Verify the token once and read every claim the request needs from it
+        Optional<AuthenticatedUser> user = jwtUtil.verify(authHeader);
 
-        // Extract user information from JWT
-        userId = jwtUtil.extractUserId(jwt);
-        String email = jwtUtil.extractEmail(jwt);
-        List<String> roles = jwtUtil.extractRoles(jwt);
-
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (user.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
             // Convert roles to GrantedAuthority
-            List<SimpleGrantedAuthority> authorities = roles.stream()
+            List<SimpleGrantedAuthority> authorities = user.get().roles().stream()
                     .map(SimpleGrantedAuthority::new)
                     .collect(Collectors.toList());
 
             // Create authentication token
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userId, // principal (userId)
-                    null,   // credentials (not needed for JWT)
+                    user.get(), // principal, available to controllers through @AuthenticationPrincipal
+                    null,       // credentials (not needed for JWT)
                     authorities
             );
 
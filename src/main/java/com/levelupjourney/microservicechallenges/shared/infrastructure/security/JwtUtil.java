@@ -1,25 +1,84 @@
 package com.levelupjourney.microservicechallenges.shared.infrastructure.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Utility class for JWT token operations.
  * Decodes and verifies JWT tokens using the configured secret.
+ * <p>
+ * Verified tokens are kept in a bounded cache keyed by the SHA-256 hash of the token (the raw token
+ * is not retained), each entry expiring when the token does, so a client reusing its token pays the
+ * HMAC512 verification once. Hit and miss counts are published as {@code cache.gets{cache="verified-jwt"}}.
  */
 @Component
 public class JwtUtil {
 
-    private final Algorithm algorithm;
+    public static final String CACHE_NAME = "verified-jwt";
 
-    public JwtUtil(@Value("${jwt.secret}") String jwtSecret) {
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final long maxTtlNanos;
+
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+                   @Value("${jwt.verified-cache.max-ttl:PT15M}") Duration maxTtl,
+                   MeterRegistry meterRegistry) {
         this.algorithm = Algorithm.HMAC512(jwtSecret);
+        // The verifier is immutable and thread-safe: build it once
+        this.verifier = JWT.require(algorithm).build();
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return token.remainingNanos(maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return token.remainingNanos(maxTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+    }
+
+    /**
+     * Verifies a JWT token once and returns its principal.
+     * Tokens verified recently are answered from the cache until they expire.
+     *
+     * @param token The JWT token string, with or without "Bearer " prefix
+     * @return The principal of the token, or empty if the token is missing, invalid, expired or has no userId
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        return verifyToken(token).map(VerifiedToken::user);
     }
 
     /**
@@ -29,28 +88,7 @@ public class JwtUtil {
      * @return The userId from the token payload, or null if extraction/verification fails
      */
     public String extractUserId(String token) {
-        if (token == null || token.isBlank()) {
-            return null;
-        }
-
-        try {
-            // Remove "Bearer " prefix if present
-            String cleanToken = token.startsWith("Bearer ")
-                ? token.substring(7)
-                : token;
-
-            // Verify and decode JWT
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(cleanToken);
-
-            // Extract userId from payload
-            String userId = decodedJWT.getClaim("userId").asString();
-
-            return userId;
-        } catch (Exception e) {
-            // Log error and return null if token is invalid
-            System.err.println("Error verifying/decoding JWT token: " + e.getMessage());
-            return null;
-        }
+        return verify(token).map(AuthenticatedUser::userId).orElse(null);
     }
 
     /**
@@ -60,21 +98,7 @@ public class JwtUtil {
      * @return The subject from the token payload, or null if extraction/verification fails
      */
     public String extractSubject(String token) {
-        if (token == null || token.isBlank()) {
-            return null;
-        }
-
-        try {
-            String cleanToken = token.startsWith("Bearer ")
-                ? token.substring(7)
-                : token;
-
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(cleanToken);
-            return decodedJWT.getSubject();
-        } catch (Exception e) {
-            System.err.println("Error verifying/decoding JWT token: " + e.getMessage());
-            return null;
-        }
+        return verifyToken(token).map(VerifiedToken::subject).orElse(null);
     }
 
     /**
@@ -84,21 +108,7 @@ public class JwtUtil {
      * @return The email from the token payload, or null if extraction/verification fails
      */
     public String extractEmail(String token) {
-        if (token == null || token.isBlank()) {
-            return null;
-        }
-
-        try {
-            String cleanToken = token.startsWith("Bearer ")
-                ? token.substring(7)
-                : token;
-
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(cleanToken);
-            return decodedJWT.getClaim("email").asString();
-        } catch (Exception e) {
-            System.err.println("Error verifying/decoding JWT token: " + e.getMessage());
-            return null;
-        }
+        return verify(token).map(AuthenticatedUser::email).orElse(null);
     }
 
     /**
@@ -108,21 +118,7 @@ public class JwtUtil {
      * @return The list of roles from the token payload, or empty list if extraction/verification fails
      */
     public List<String> extractRoles(String token) {
-        if (token == null || token.isBlank()) {
-            return List.of();
-        }
-
-        try {
-            String cleanToken = token.startsWith("Bearer ")
-                ? token.substring(7)
-                : token;
-
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(cleanToken);
-            return decodedJWT.getClaim("roles").asList(String.class);
-        } catch (Exception e) {
-            System.err.println("Error verifying/decoding JWT token roles: " + e.getMessage());
-            return List.of();
-        }
+        return verify(token).map(AuthenticatedUser::roles).orElse(List.of());
     }
 
     /**
@@ -152,4 +148,72 @@ public class JwtUtil {
                 .withExpiresAt(new Date(System.currentTimeMillis() + 3600000)) // 1 hour
                 .sign(algorithm);
     }
+
+    private Optional<VerifiedToken> verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        // Remove "Bearer " prefix if present
+        String cleanToken = token.startsWith("Bearer ")
+            ? token.substring(7)
+            : token;
+
+        var key = hash(cleanToken);
+        var cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return Optional.of(cached);
+        }
+
+        try {
+            // Verify and decode JWT
+            DecodedJWT decodedJWT = verifier.verify(cleanToken);
+
+            String userId = decodedJWT.getClaim("userId").asString();
+            if (userId == null) {
+                return Optional.empty();
+            }
+            var user = new AuthenticatedUser(
+                userId,
+                decodedJWT.getClaim("email").asString(),
+                decodedJWT.getClaim("roles").asList(String.class)
+            );
+            var expiresAt = decodedJWT.getExpiresAtAsInstant();
+            var verified = new VerifiedToken(user, decodedJWT.getSubject(),
+                expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE);
+            verifiedTokens.put(key, verified);
+            return Optional.of(verified);
+        } catch (Exception e) {
+            // Log error and return empty if token is invalid
+            System.err.println("Error verifying/decoding JWT token: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Principal of a verified token and the instant (epoch millis) the token expires
+     */
+    private record VerifiedToken(AuthenticatedUser user, String subject, long expiresAtMillis) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+
+        long remainingNanos(long maxTtlNanos) {
+            if (expiresAtMillis == Long.MAX_VALUE) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = Math.max(0, expiresAtMillis - System.currentTimeMillis());
+            return Math.min(Duration.ofMillis(remainingMillis).toNanos(), maxTtlNanos);
+        }
+    }
 }
@@ -4,6 +4,7 @@ public record CodeVersionTestForSubmittingResource(
         String id,
         String input,
         String expectedOutput,
-        String customValidationCode
+        String customValidationCode,
+        boolean required
 ) {
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.util.List;
 
 public record CodeVersionToBeSubmittedResource(
         String codeLanguage,
-        List<CodeVersionTestForSubmittingResource> tests
+        List<CodeVersionTestForSubmittingResource> tests,
+        String suiteVersion // Content hash of the tests, changes whenever a test changes
 ) {
 }
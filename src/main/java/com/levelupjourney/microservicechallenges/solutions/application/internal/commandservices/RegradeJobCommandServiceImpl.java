@@ -0,0 +1,273 @@
+package com.levelupjourney.microservicechallenges.solutions.application.internal.commandservices;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.services.TimeBasedScoringStrategy;
+import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.ChallengeForScoringResource;
+import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.CodeVersionToBeSubmittedResource;
+import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.acl.ExternalChallengesService;
+import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.grpc.CodeRunnerExecutionService;
+import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.grpc.CodeRunnerExecutionService.CodeExecutionResult;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.RegradeJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.StartRegradeCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeCandidate;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionStatus;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.RegradeJobCommandService;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency.SubmissionExecutorConfiguration;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jdbc.SolutionScoreJdbcRepository;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jdbc.SolutionScoreJdbcRepository.ScoreUpdate;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.RegradeJobRepository;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SolutionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-grades every submitted solution of a code version on the regrade executor.
+ * <p>
+ * Solutions are read in keyset batches as lightweight projections, evaluated with at most
+ * {@code parallelism} CodeRunner calls in flight, and their scores are written back in one
+ * JDBC batch per page. Evaluations go through admission control under a lane of their own,
+ * so live submissions keep getting turns while a large re-grade runs.
+ */
+@Service
+@Slf4j
+public class RegradeJobCommandServiceImpl implements RegradeJobCommandService {
+
+    // Evaluations with these outcomes are grades; anything else (timeouts, runner errors) leaves the old score
+    private static final Set<String> GRADED_ERROR_TYPES = Set.of("", "test_failure", "compilation_error", "required_test_failure");
+
+    // Smallest UUID, keyset pagination starts after it
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final RegradeJobRepository regradeJobRepository;
+    private final SolutionRepository solutionRepository;
+    private final SolutionScoreJdbcRepository solutionScoreJdbcRepository;
+    private final ExternalChallengesService externalChallengesService;
+    private final CodeRunnerExecutionService codeRunnerExecutionService;
+    private final TimeBasedScoringStrategy timeBasedScoringStrategy;
+    private final TaskExecutor regradeExecutor;
+
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Duration staleAfter;
+
+    public RegradeJobCommandServiceImpl(RegradeJobRepository regradeJobRepository,
+                                        SolutionRepository solutionRepository,
+                                        SolutionScoreJdbcRepository solutionScoreJdbcRepository,
+                                        ExternalChallengesService externalChallengesService,
+                                        CodeRunnerExecutionService codeRunnerExecutionService,
+                                        TimeBasedScoringStrategy timeBasedScoringStrategy,
+                                        @Qualifier(SubmissionExecutorConfiguration.REGRADE_EXECUTOR) TaskExecutor regradeExecutor,
+                                        @Value("${submissions.regrade.batch-size:500}") int batchSize,
+                                        @Value("${submissions.regrade.parallelism:8}") int parallelism,
+                                        @Value("${submissions.regrade.max-retries:3}") int maxRetries,
+                                        @Value("${submissions.regrade.retry-backoff:PT2S}") Duration retryBackoff,
+                                        @Value("${submissions.regrade.stale-after:PT15M}") Duration staleAfter) {
+        this.regradeJobRepository = regradeJobRepository;
+        this.solutionRepository = solutionRepository;
+        this.solutionScoreJdbcRepository = solutionScoreJdbcRepository;
+        this.externalChallengesService = externalChallengesService;
+        this.codeRunnerExecutionService = codeRunnerExecutionService;
+        this.timeBasedScoringStrategy = timeBasedScoringStrategy;
+        this.regradeExecutor = regradeExecutor;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Persist a QUEUED re-grade and schedule it.
+     *
+     * @param command The code version to re-grade
+     * @return The identifier clients use to poll the job
+     * @throws IllegalArgumentException if the code version does not exist
+     * @throws IllegalStateException if a re-grade of the code version is already queued or running
+     * @throws RejectedExecutionException if too many re-grades are waiting
+     */
+    @Override
+    public RegradeJobId handle(StartRegradeCommand command) {
+        var codeVersionId = command.codeVersionId().id();
+
+        // Fails with IllegalArgumentException when the code version does not exist
+        externalChallengesService.getCodeVersionDetailsForSubmission(codeVersionId.toString());
+
+        var activeSince = new Date(System.currentTimeMillis() - staleAfter.toMillis());
+        if (regradeJobRepository.countActiveByCodeVersionId(codeVersionId, activeSince) > 0) {
+            throw new IllegalStateException("A re-grade of this code version is already running");
+        }
+
+        var job = regradeJobRepository.save(new RegradeJob(command));
+        var jobId = job.getId();
+
+        try {
+            regradeExecutor.execute(() -> runRegrade(jobId));
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Regrade queue is full, rejecting re-grade of code version '{}'", codeVersionId);
+            regradeJobRepository.deleteById(jobId);
+            throw e;
+        }
+
+        log.info("📥 Regrade job '{}' queued for code version '{}' by '{}'", jobId.id(), codeVersionId, command.requestedBy());
+        return jobId;
+    }
+
+    private void runRegrade(RegradeJobId jobId) {
+        var queuedJob = regradeJobRepository.findById(jobId).orElse(null);
+        if (queuedJob == null) {
+            log.warn("⚠️ Regrade job '{}' disappeared before it started", jobId.id());
+            return;
+        }
+
+        var codeVersionId = queuedJob.getCodeVersionId().id();
+        queuedJob.markRunning((int) solutionRepository.countSubmittedByCodeVersionId(codeVersionId));
+        var job = regradeJobRepository.save(queuedJob);
+        log.info("🚀 Regrade job '{}' started: {} solutions of code version '{}'", jobId.id(), job.getTotalSolutions(), codeVersionId);
+
+        try {
+            // Tests are read once, after the fix that triggered the re-grade
+            var codeVersion = externalChallengesService.getCodeVersionDetailsForSubmission(codeVersionId.toString());
+            var admissionLane = "regrade:" + jobId.id();
+            ChallengeForScoringResource challenge = null;
+
+            var afterId = FIRST_ID;
+            while (true) {
+                var batch = solutionRepository.findRegradeCandidates(codeVersionId, afterId, Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (challenge == null) {
+                    // Every solution of a code version belongs to the same challenge
+                    challenge = externalChallengesService.getChallengeForScoring(batch.getFirst().challengeId().toString());
+                }
+
+                var outcome = regradeBatch(admissionLane, codeVersionId.toString(), codeVersion, challenge, batch);
+                job.recordBatch(batch.size(), outcome.regraded(), outcome.failed());
+                job = regradeJobRepository.save(job);
+                afterId = batch.getLast().solutionId();
+
+                log.info("🔁 Regrade job '{}': {}/{} solutions processed ({} re-graded, {} failed)",
+                        jobId.id(), job.getProcessedSolutions(), job.getTotalSolutions(),
+                        job.getRegradedSolutions(), job.getFailedSolutions());
+            }
+
+            job.complete();
+            log.info("✅ Regrade job '{}' completed: {}", jobId.id(), job.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Regrade job '{}' interrupted", jobId.id());
+            job.fail("Re-grade interrupted after " + job.getProcessedSolutions() + " solutions");
+        } catch (Exception e) {
+            log.error("❌ Regrade job '{}' failed: {}", jobId.id(), e.getMessage(), e);
+            job.fail("Error during re-grade: " + e.getMessage());
+        }
+
+        regradeJobRepository.save(job);
+    }
+
+    /**
+     * Evaluate a page of solutions with bounded parallelism and write the new scores in one JDBC batch
+     */
+    private BatchOutcome regradeBatch(String admissionLane, String codeVersionId, CodeVersionToBeSubmittedResource codeVersion,
+                                      ChallengeForScoringResource challenge, List<RegradeCandidate> batch) throws InterruptedException {
+        var inFlight = new Semaphore(parallelism);
+        var evaluations = new ArrayList<CompletableFuture<ScoreUpdate>>(batch.size());
+
+        for (var candidate : batch) {
+            inFlight.acquire();
+            evaluations.add(evaluateWithRetry(admissionLane, codeVersionId, codeVersion, candidate, 0)
+                    .thenApply(result -> toScoreUpdate(candidate, result, challenge))
+                    .whenComplete((update, ex) -> inFlight.release()));
+        }
+
+        var updates = new ArrayList<ScoreUpdate>(batch.size());
+        int failed = 0;
+        for (int i = 0; i < evaluations.size(); i++) {
+            try {
+                updates.add(evaluations.get(i).join());
+            } catch (CompletionException e) {
+                failed++;
+                var cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("⚠️ Could not re-grade solution '{}': {}", batch.get(i).solutionId(), cause.getMessage());
+            }
+        }
+
+        return new BatchOutcome(solutionScoreJdbcRepository.updateScores(updates), failed);
+    }
+
+    /**
+     * Evaluate a solution, waiting and retrying when admission control turns it away because the CodeRunner is busy
+     */
+    private CompletableFuture<CodeExecutionResult> evaluateWithRetry(String admissionLane, String codeVersionId,
+                                                                     CodeVersionToBeSubmittedResource codeVersion,
+                                                                     RegradeCandidate candidate, int attempt) {
+        return codeRunnerExecutionService.reevaluateSolutionAsync(
+                        admissionLane,
+                        candidate.challengeId().toString(),
+                        codeVersionId,
+                        codeVersion.suiteVersion(),
+                        candidate.studentId().toString(),
+                        candidate.code(),
+                        codeVersion.tests())
+                .exceptionallyCompose(ex -> {
+                    if (attempt >= maxRetries || !isRejection(ex)) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    var backoff = CompletableFuture.delayedExecutor(retryBackoff.toMillis() << attempt, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.supplyAsync(() -> attempt + 1, backoff)
+                            .thenCompose(nextAttempt -> evaluateWithRetry(admissionLane, codeVersionId, codeVersion, candidate, nextAttempt));
+                });
+    }
+
+    private ScoreUpdate toScoreUpdate(RegradeCandidate candidate, CodeExecutionResult result, ChallengeForScoringResource challenge) {
+        if (!result.successful() && !GRADED_ERROR_TYPES.contains(Objects.toString(result.errorType(), ""))) {
+            throw new IllegalStateException("CodeRunner could not evaluate the solution (" + result.errorType() + ")");
+        }
+
+        // Same scoring as a live submission, for the time the student actually took
+        var scoringResult = timeBasedScoringStrategy.calculateScore(
+                challenge.experiencePoints(),
+                challenge.difficulty(),
+                candidate.timeTakenSeconds(),
+                result.successful()
+        );
+        return new ScoreUpdate(
+                candidate.solutionId(),
+                scoringResult.finalScore(),
+                challenge.experiencePoints(),
+                SolutionStatus.fromScore(scoringResult.finalScore(), challenge.experiencePoints()),
+                candidate.lastAttemptAt()
+        );
+    }
+
+    private static boolean isRejection(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record BatchOutcome(int regraded, int failed) {
+    }
+}
@@ -2,6 +2,7 @@ package com.levelupjourney.microservicechallenges.solutions.application.internal
 
 import com.levelupjourney.microservicechallenges.challenges.domain.services.TimeBasedScoringStrategy;
 import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ScoringResult;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka.KafkaProducerService;
 import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.acl.ExternalChallengesService;
 import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.grpc.CodeRunnerExecutionService;
@@ -14,16 +15,21 @@ import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionReportId;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionStatus;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionResult;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
 import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionCommandService;
 import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionQueryService;
 import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SolutionRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -34,19 +40,22 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
     private final CodeRunnerExecutionService codeRunnerExecutionService;
     private final KafkaProducerService kafkaProducerService;
     private final TimeBasedScoringStrategy timeBasedScoringStrategy;
+    private final TransactionTemplate transactionTemplate;
 
     public SolutionCommandServiceImpl(ExternalChallengesService externalChallengesService,
                                     SolutionQueryService solutionQueryService,
                                     SolutionRepository solutionRepository,
                                     CodeRunnerExecutionService codeRunnerExecutionService,
                                     KafkaProducerService kafkaProducerService,
-                                    TimeBasedScoringStrategy timeBasedScoringStrategy) {
+                                    TimeBasedScoringStrategy timeBasedScoringStrategy,
+                                    PlatformTransactionManager transactionManager) {
         this.externalChallengesService = externalChallengesService;
         this.solutionQueryService = solutionQueryService;
         this.solutionRepository = solutionRepository;
         this.codeRunnerExecutionService = codeRunnerExecutionService;
         this.kafkaProducerService = kafkaProducerService;
         this.timeBasedScoringStrategy = timeBasedScoringStrategy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -58,6 +67,16 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
 
     @Override
     public SubmissionResult handle(SubmitSolutionCommand command) {
+        return handle(command, null);
+    }
+
+    /**
+     * Submit a solution reporting every finished test to the given listener.
+     * With a listener the evaluation is streamed from the CodeRunner and stops early when a
+     * required test fails; without one the unary evaluation is used.
+     */
+    @Override
+    public SubmissionResult handle(SubmitSolutionCommand command, Consumer<TestCaseProgress> progressListener) {
         // 📝 LOG INICIAL DE LA SUBMISSION
         log.info("🎯 =============== SUBMIT SOLUTION PROCESS STARTED ===============");
         log.info("📋 Submit Solution Command received:");
@@ -70,36 +89,33 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
             log.info("  - Code preview:\n{}", codePreview);
         }
         
-        // 1. Verify solution exists and get its CodeVersion
-        log.info("🔍 Step 1: Validating solution exists...");
-        var solution = solutionQueryService.handle(
-                new GetSolutionByIdQuery(command.solutionId())
-        );
+        // 1. Load everything the submission needs with a single projection query
+        log.info("🔍 Step 1: Loading solution snapshot...");
+        var snapshotOptional = solutionRepository.findSubmissionSnapshot(command.solutionId().id(), command.studentId().id());
 
-        if (solution.isEmpty()) {
+        if (snapshotOptional.isEmpty()) {
             log.error("❌ Solution not found: {}", command.solutionId().id());
             return SubmissionResult.failure("Solution not found: " + command.solutionId().id());
         }
 
-        var existingSolution = solution.get();
+        var snapshot = snapshotOptional.get();
 
         // Capture the ORIGINAL status before any modifications
-        SolutionStatus originalStatus = existingSolution.getStatus();
+        SolutionStatus originalStatus = snapshot.status();
 
         log.info("✅ Solution found:");
-        log.info("  - Code Version ID: '{}'", existingSolution.getCodeVersionId().id());
+        log.info("  - Code Version ID: '{}'", snapshot.codeVersionId());
         log.info("  - Current status: '{}'", originalStatus);
 
-        // Record submission attempt to update lastAttemptAt timestamp
-        existingSolution.recordSubmissionAttempt();
-        solutionRepository.save(existingSolution);
-        log.info("✅ Submission attempt recorded");
+        // The attempt is written together with its score once the evaluation ends, in a single UPDATE
+        var attemptAt = new Date();
+        boolean attemptRecorded = false;
 
         try {
             // 2. Get code version details (language + tests) through ACL
             log.info("🔍 Step 2: Fetching CodeVersion details from external service...");
             var codeVersionDetails = externalChallengesService.getCodeVersionDetailsForSubmission(
-                existingSolution.getCodeVersionId().id().toString()
+                snapshot.codeVersionId().toString()
             );
 
             log.info("✅ CodeVersion details retrieved:");
@@ -119,19 +135,30 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
             // 3. Submit solution for execution using CodeRunner microservice
             log.info("🚀 Step 3: Submitting to CodeRunner via gRPC...");
             log.info("📦 Preparing gRPC execution request:");
-            log.info("  - Challenge ID: '{}'", existingSolution.getChallengeId().id().toString());
-            log.info("  - Code Version ID: '{}'", existingSolution.getCodeVersionId().id().toString());
+            log.info("  - Challenge ID: '{}'", snapshot.challengeId().toString());
+            log.info("  - Code Version ID: '{}'", snapshot.codeVersionId().toString());
             log.info("  - Student ID: '{}'", command.studentId().id().toString());
             log.info("  - Code: {} characters", command.code().length());
             log.info("  - Tests to validate: {}", codeVersionDetails.tests().size());
             
-            var executionResult = codeRunnerExecutionService.executeSolution(
-                existingSolution.getChallengeId().id().toString(),
-                existingSolution.getCodeVersionId().id().toString(),
-                command.studentId().id().toString(),
-                command.code(),
-                codeVersionDetails.tests()
-            );
+            var executionResult = progressListener == null
+                ? codeRunnerExecutionService.executeSolution(
+                    snapshot.challengeId().toString(),
+                    snapshot.codeVersionId().toString(),
+                    codeVersionDetails.suiteVersion(),
+                    command.studentId().id().toString(),
+                    command.code(),
+                    codeVersionDetails.tests()
+                )
+                : codeRunnerExecutionService.executeSolutionStreaming(
+                    snapshot.challengeId().toString(),
+                    snapshot.codeVersionId().toString(),
+                    codeVersionDetails.suiteVersion(),
+                    command.studentId().id().toString(),
+                    command.code(),
+                    codeVersionDetails.tests(),
+                    progressListener
+                ).join();
 
             // 📊 LOG RESULTADO FINAL
             log.info("🎉 Step 4: Processing execution results...");
@@ -160,7 +187,7 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
             // Get challenge details to calculate score
             log.info("📋 Step 5: Fetching challenge details for score calculation...");
             var challenge = externalChallengesService.getChallengeForScoring(
-                existingSolution.getChallengeId().id().toString()
+                snapshot.challengeId().toString()
             );
 
             log.info("✅ Challenge details retrieved:");
@@ -169,11 +196,11 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
             log.info("  - Difficulty: {}", challenge.difficulty());
 
             // Calculate time taken to solve the challenge (in seconds)
-            long timeTakenSeconds = calculateTimeTaken(existingSolution);
+            long timeTakenSeconds = snapshot.timeTakenSeconds(attemptAt);
 
             log.info("⏱️ Time tracking:");
-            log.info("  - Challenge started at: {}", existingSolution.getCreatedAt());
-            log.info("  - Challenge completed at: {}", existingSolution.getLastAttemptAt());
+            log.info("  - Challenge started at: {}", snapshot.createdAt());
+            log.info("  - Challenge completed at: {}", attemptAt);
             log.info("  - Time taken: {} seconds ({} minutes)", timeTakenSeconds, timeTakenSeconds / 60);
 
             // Calculate score with time-based penalties
@@ -205,12 +232,8 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
                 // Check if this specific solution was already marked as SUCCESS
                 boolean thisWasAlreadySuccess = (originalStatus == SolutionStatus.SUCCESS);
 
-                // Check if another solution for this challenge is already SUCCESS
-                boolean anotherSolutionIsSuccess = checkIfChallengeWasAlreadyCompleted(
-                    command.studentId().id(),
-                    existingSolution.getChallengeId().id(),
-                    existingSolution.getId().id()
-                );
+                // Check if another solution for this challenge is already SUCCESS (read with the snapshot)
+                boolean anotherSolutionIsSuccess = snapshot.completedElsewhere();
 
                 alreadyCompleted = thisWasAlreadySuccess || anotherSolutionIsSuccess;
 
@@ -229,22 +252,16 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
                 }
             }
 
-            // Assign score to solution (this may change status to SUCCESS)
-            existingSolution.assignScore(scoringResult.finalScore(), challenge.experiencePoints());
-            solutionRepository.save(existingSolution);
-            log.info("✅ Score saved to solution");
-
-            // Publish event to Kafka if student earned points
+            // Build the event first so it is stored together with the score
+            ChallengeCompletedEvent event = null;
             if (scoringResult.finalScore() > 0) {
-                log.info("📤 Publishing ChallengeCompletedEvent to Kafka...");
-
                 // Generate scoring reason explanation
                 String scoringReason = scoringResult.getScoringReason(challenge.difficulty().name());
 
-                var event = new ChallengeCompletedEvent(
+                event = new ChallengeCompletedEvent(
                     command.studentId().id().toString(),
-                    existingSolution.getChallengeId().id().toString(),
-                    existingSolution.getId().id().toString(),
+                    snapshot.challengeId().toString(),
+                    snapshot.solutionId().toString(),
                     scoringResult.finalScore(),
                     challenge.experiencePoints(),
                     executionResult.passedTests(),
@@ -264,15 +281,35 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
                 log.info("  - Penalty Applied: {}", scoringResult.penaltyApplied());
                 log.info("  - Scoring Reason: {}", scoringReason);
                 log.info("  - Already Completed: {}", alreadyCompleted);
+            }
 
-                kafkaProducerService.publishChallengeCompleted(event);
-                log.info("✅ Event published successfully");
+            // Record the attempt and its score (this may change status to SUCCESS) and, if the student
+            // earned points, store the ChallengeCompletedEvent in the outbox within the same transaction:
+            // the event is relayed to Kafka only if the score is committed, and never lost if it is
+            var completedEvent = event;
+            transactionTemplate.executeWithoutResult(status -> {
+                solutionRepository.recordGradedAttempt(
+                    snapshot.solutionId(),
+                    attemptAt,
+                    command.code(),
+                    scoringResult.finalScore(),
+                    challenge.experiencePoints(),
+                    SolutionStatus.fromScore(scoringResult.finalScore(), challenge.experiencePoints())
+                );
+                if (completedEvent != null) {
+                    kafkaProducerService.enqueueChallengeCompleted(completedEvent);
+                }
+            });
+            attemptRecorded = true;
+            log.info("✅ Submission attempt and score saved to solution");
+            if (completedEvent != null) {
+                log.info("📮 ChallengeCompletedEvent stored in outbox, relayed to Kafka in the background");
             } else {
                 log.info("⚠️ No points earned, event not published");
             }
 
             // TODO: Create actual SolutionReport entity with approved test IDs and execution metadata
-            var solutionReportId = new SolutionReportId(UUID.randomUUID());
+            var solutionReportId = new SolutionReportId(IdGenerators.nextId());
             log.info("  - Solution Report ID: '{}'", solutionReportId.value());
 
             // Enhanced message with execution details, score, and time-based penalty info
@@ -303,8 +340,17 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
             );
             
         } catch (Exception e) {
+            // CodeRunner saturated: let the caller answer with Retry-After instead of failing the submission
+            var rejection = findRejection(e);
+            if (rejection != null) {
+                log.warn("⚠️ Submission for solution {} rejected by admission control: {}", command.solutionId().id(), rejection.getMessage());
+                throw rejection;
+            }
             log.error("💥 =============== SUBMIT SOLUTION PROCESS ERROR ===============");
             log.error("❌ Error executing solution {}: {}", command.solutionId().id(), e.getMessage(), e);
+            if (!attemptRecorded) {
+                solutionRepository.recordUngradedAttempt(snapshot.solutionId(), attemptAt, command.code(), SolutionStatus.IN_PROGRESS);
+            }
             return SubmissionResult.failure("Error during code execution: " + e.getMessage());
         }
     }
@@ -379,63 +425,12 @@ public class SolutionCommandServiceImpl implements SolutionCommandService {
     }
 
 
-    /**
-     * Calculate the time taken to solve the challenge (in seconds).
-     * Time is measured from when the solution was created (challenge started)
-     * to when the last submission attempt was made.
-     *
-     * @param solution The solution aggregate
-     * @return Time taken in seconds
-     */
-    private long calculateTimeTaken(Solution solution) {
-        if (solution.getLastAttemptAt() == null || solution.getCreatedAt() == null) {
-            log.warn("⚠️ Unable to calculate time taken: missing timestamps");
-            return 0L;
-        }
-
-        long createdAtMillis = solution.getCreatedAt().getTime();
-        long lastAttemptMillis = solution.getLastAttemptAt().getTime();
-        long timeTakenMillis = lastAttemptMillis - createdAtMillis;
-
-        // Convert milliseconds to seconds
-        return timeTakenMillis / 1000;
-    }
-
-    /**
-     * Check if the student had already completed this challenge before the current submission.
-     * A challenge is considered "already completed" if there exists another solution for the same
-     * student and challenge with SUCCESS status, excluding the current solution being evaluated.
-     *
-     * This prevents the Profile Service from awarding duplicate points when a student
-     * re-submits a solution for a challenge they've already completed successfully.
-     *
-     * @param studentId The student's ID
-     * @param challengeId The challenge ID
-     * @param currentSolutionId The current solution ID being evaluated (to exclude from search)
-     * @return true if the student had previously completed this challenge, false otherwise
-     */
-    private boolean checkIfChallengeWasAlreadyCompleted(UUID studentId, UUID challengeId, UUID currentSolutionId) {
-        log.info("🔍 Checking if challenge was already completed by student...");
-        log.info("  - Student ID: '{}'", studentId);
-        log.info("  - Challenge ID: '{}'", challengeId);
-        log.info("  - Current Solution ID: '{}'", currentSolutionId);
-
-        // Find all solutions for this student and challenge
-        var allSolutions = solutionRepository.findByStudentIdAndChallengeId(studentId, challengeId);
-
-        log.info("  - Found {} total solutions for this student and challenge", allSolutions.size());
-
-        // Check if any solution (excluding the current one) has SUCCESS status
-        boolean wasAlreadyCompleted = allSolutions.stream()
-            .filter(solution -> !solution.getId().id().equals(currentSolutionId)) // Exclude current solution
-            .anyMatch(solution -> solution.getStatus() == SolutionStatus.SUCCESS); // Check for SUCCESS status
-
-        if (wasAlreadyCompleted) {
-            log.info("  ✅ Found previous successful completion - alreadyCompleted = true");
-        } else {
-            log.info("  ℹ️ No previous successful completion found - alreadyCompleted = false");
+    private static RejectedExecutionException findRejection(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException rejection) {
+                return rejection;
+            }
         }
-
-        return wasAlreadyCompleted;
+        return null;
     }
 }
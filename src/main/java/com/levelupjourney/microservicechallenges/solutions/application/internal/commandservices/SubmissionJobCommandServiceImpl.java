@@ -0,0 +1,162 @@
+package com.levelupjourney.microservicechallenges.solutions.application.internal.commandservices;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.EnqueueSubmissionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.SubmitSolutionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobStatus;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionCommandService;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobCommandService;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobListener;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency.SubmissionExecutorConfiguration;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SubmissionJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Queues solution submissions and evaluates them on the bounded submission executor.
+ * The HTTP thread only persists the job and hands it over, so the number of evaluations
+ * in flight is no longer limited by the servlet thread pool.
+ */
+@Service
+@Slf4j
+public class SubmissionJobCommandServiceImpl implements SubmissionJobCommandService {
+
+    // Partial unique index allowing a single QUEUED or RUNNING job per solution
+    private static final String ACTIVE_JOB_CONSTRAINT = "uk_submission_jobs_active_solution";
+
+    // Same hint the submit endpoints send with a 503 when the queue is full
+    private static final int REJECTED_RETRY_AFTER_SECONDS = 5;
+
+    private final SubmissionJobRepository submissionJobRepository;
+    private final SolutionCommandService solutionCommandService;
+    private final TaskExecutor submissionExecutor;
+    private final Duration staleAfter;
+
+    public SubmissionJobCommandServiceImpl(SubmissionJobRepository submissionJobRepository,
+                                           SolutionCommandService solutionCommandService,
+                                           @Qualifier(SubmissionExecutorConfiguration.SUBMISSION_EXECUTOR) TaskExecutor submissionExecutor,
+                                           @Value("${submissions.async.stale-after:PT5M}") Duration staleAfter) {
+        this.submissionJobRepository = submissionJobRepository;
+        this.solutionCommandService = solutionCommandService;
+        this.submissionExecutor = submissionExecutor;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Persist a QUEUED job and schedule its evaluation.
+     *
+     * @param command The submission to evaluate in the background
+     * @return The identifier clients use to poll the job
+     * @throws IllegalStateException if the solution already has a submission queued or running
+     * @throws RejectedExecutionException if the submission queue is full
+     */
+    @Override
+    public SubmissionJobId handle(EnqueueSubmissionCommand command) {
+        return handle(command, SubmissionJobListener.NONE);
+    }
+
+    /**
+     * Persist a QUEUED job and schedule its evaluation, reporting its progress to the listener.
+     * With a listener other than {@link SubmissionJobListener#NONE} the evaluation is streamed
+     * test by test from the CodeRunner.
+     *
+     * @param command The submission to evaluate in the background
+     * @param listener Receives the job lifecycle and every finished test
+     * @return The identifier clients use to poll the job
+     * @throws IllegalStateException if the solution already has a submission queued or running
+     * @throws RejectedExecutionException if the submission queue is full
+     */
+    @Override
+    public SubmissionJobId handle(EnqueueSubmissionCommand command, SubmissionJobListener listener) {
+        var solutionId = command.submitSolutionCommand().solutionId();
+
+        // Jobs left QUEUED or RUNNING by a crashed instance stop blocking the solution once they go stale
+        var now = new Date();
+        var activeSince = new Date(now.getTime() - staleAfter.toMillis());
+        int abandoned = submissionJobRepository.failStalePendingJobs(solutionId.id(), activeSince, now,
+                "Abandoned: the evaluation did not finish within " + staleAfter, SubmissionJobStatus.FAILED);
+        if (abandoned > 0) {
+            log.warn("⚠️ Failed {} stale submission job(s) of solution '{}'", abandoned, solutionId.id());
+        }
+
+        SubmissionJob job;
+        try {
+            // The unique index on active jobs settles concurrent submissions of the same solution
+            job = submissionJobRepository.saveAndFlush(new SubmissionJob(command));
+        } catch (DataIntegrityViolationException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains(ACTIVE_JOB_CONSTRAINT)) {
+                throw e;
+            }
+            throw new IllegalStateException("A submission for this solution is already being evaluated");
+        }
+        var jobId = job.getId();
+
+        try {
+            submissionExecutor.execute(() -> runSubmission(jobId, command.submitSolutionCommand(), listener));
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠️ Submission queue is full, rejecting submission for solution '{}'", solutionId.id());
+            submissionJobRepository.deleteById(jobId);
+            throw e;
+        }
+
+        log.info("📥 Submission job '{}' queued for solution '{}'", jobId.id(), solutionId.id());
+        return jobId;
+    }
+
+    /**
+     * Evaluate a queued submission using the regular submit flow and store its outcome in the job.
+     */
+    private void runSubmission(SubmissionJobId jobId, SubmitSolutionCommand command, SubmissionJobListener listener) {
+        var queuedJob = submissionJobRepository.findById(jobId).orElse(null);
+        if (queuedJob == null) {
+            log.warn("⚠️ Submission job '{}' disappeared before evaluation", jobId.id());
+            return;
+        }
+        if (queuedJob.isFinished()) {
+            // Waited in the queue past stale-after and was failed by a newer submission of the same solution
+            log.warn("⚠️ Submission job '{}' was abandoned before evaluation: {}", jobId.id(), queuedJob.getMessage());
+            return;
+        }
+
+        queuedJob.markRunning();
+        var job = submissionJobRepository.save(queuedJob);
+        log.info("🚀 Submission job '{}' started", jobId.id());
+        notifyListener(() -> listener.onStarted(job));
+
+        try {
+            var result = listener == SubmissionJobListener.NONE
+                    ? solutionCommandService.handle(command)
+                    : solutionCommandService.handle(command, listener::onTestResult);
+            job.complete(result);
+            log.info("✅ Submission job '{}' completed (success={})", jobId.id(), result.success());
+        } catch (RejectedExecutionException e) {
+            // Admission control turned the evaluation away before it ran: not an execution error
+            log.warn("⚠️ Submission job '{}' rejected by admission control: {}", jobId.id(), e.getMessage());
+            job.reject("Code runner is busy, please submit again in " + REJECTED_RETRY_AFTER_SECONDS + " seconds: "
+                    + e.getMessage(), REJECTED_RETRY_AFTER_SECONDS);
+        } catch (Exception e) {
+            log.error("❌ Submission job '{}' failed: {}", jobId.id(), e.getMessage(), e);
+            job.fail("Error during code execution: " + e.getMessage());
+        }
+
+        var finishedJob = submissionJobRepository.save(job);
+        notifyListener(() -> listener.onFinished(finishedJob));
+    }
+
+    private void notifyListener(Runnable notification) {
+        try {
+            notification.run();
+        } catch (Exception e) {
+            log.warn("⚠️ Submission job listener failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.grpc;
 
+import com.levelupjourney.microservicechallenges.coderunner.grpc.EvaluateSolutionResponse;
 import com.levelupjourney.microservicechallenges.shared.interfaces.rest.resources.CodeVersionTestForSubmittingResource;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.cache.EvaluationResultCache;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency.SubmissionAdmissionController;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.grpc.CodeRunnerGrpcClientService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Application service for executing code solutions using the CodeRunner microservice.
@@ -17,10 +26,16 @@ import java.util.List;
 public class CodeRunnerExecutionService {
 
     private final CodeRunnerGrpcClientService codeRunnerGrpcClient;
+    private final EvaluationResultCache evaluationResultCache;
+    private final SubmissionAdmissionController admissionController;
 
     @Autowired
-    public CodeRunnerExecutionService(CodeRunnerGrpcClientService codeRunnerGrpcClient) {
+    public CodeRunnerExecutionService(CodeRunnerGrpcClientService codeRunnerGrpcClient,
+                                      EvaluationResultCache evaluationResultCache,
+                                      SubmissionAdmissionController admissionController) {
         this.codeRunnerGrpcClient = codeRunnerGrpcClient;
+        this.evaluationResultCache = evaluationResultCache;
+        this.admissionController = admissionController;
     }
 
     /**
@@ -28,63 +43,205 @@ public class CodeRunnerExecutionService {
      */
     public CodeExecutionResult executeSolution(String challengeId, String codeVersionId, String studentId,
                                               String code, List<CodeVersionTestForSubmittingResource> tests) {
+        return executeSolution(challengeId, codeVersionId, null, studentId, code, tests);
+    }
+
+    /**
+     * Execute solution code with tests using the CodeRunner microservice.
+     * The suite version identifies the tests so their gRPC messages can be reused across students.
+     */
+    public CodeExecutionResult executeSolution(String challengeId, String codeVersionId, String suiteVersion,
+                                              String studentId, String code, List<CodeVersionTestForSubmittingResource> tests) {
         try {
-            log.info("🎯 Starting code execution process using CodeRunner microservice");
-            log.info("📋 Input validation:");
-            log.info("  - Challenge ID: '{}'", challengeId);
-            log.info("  - Code Version ID: '{}'", codeVersionId);
-            log.info("  - Student ID: '{}'", studentId);
-            log.info("  - Code length: {} characters", code != null ? code.length() : 0);
-            log.info("  - Total tests: {}", tests != null ? tests.size() : 0);
+            return executeSolutionAsync(challengeId, codeVersionId, suiteVersion, studentId, code, tests).join();
+        } catch (CompletionException e) {
+            var cause = e.getCause() != null ? e.getCause() : e;
+            log.error("❌ Failed to execute solution via CodeRunner: {}", cause.getMessage(), cause);
+            throw new RuntimeException("Code execution failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Execute solution code with tests using the CodeRunner microservice without blocking the caller.
+     * The evaluation runs on the async gRPC stub, so callers can compose on the returned future
+     * instead of holding a thread for the whole execution.
+     */
+    public CompletableFuture<CodeExecutionResult> executeSolutionAsync(String challengeId, String codeVersionId,
+                                                                      String suiteVersion, String studentId, String code,
+                                                                      List<CodeVersionTestForSubmittingResource> tests) {
+        return evaluate(challengeId, challengeId, codeVersionId, suiteVersion, studentId, code, tests);
+    }
+
+    /**
+     * Re-evaluate an already submitted solution on behalf of a background job.
+     * Admission control queues the job's evaluations under their own lane instead of the challenge's,
+     * so a large re-grade takes turns with live submissions rather than crowding them out.
+     *
+     * @param admissionLane Fair queueing lane shared by all the evaluations of the job
+     */
+    public CompletableFuture<CodeExecutionResult> reevaluateSolutionAsync(String admissionLane, String challengeId,
+                                                                         String codeVersionId, String suiteVersion,
+                                                                         String studentId, String code,
+                                                                         List<CodeVersionTestForSubmittingResource> tests) {
+        return evaluate(admissionLane, challengeId, codeVersionId, suiteVersion, studentId, code, tests);
+    }
+
+    private CompletableFuture<CodeExecutionResult> evaluate(String admissionLane, String challengeId, String codeVersionId,
+                                                            String suiteVersion, String studentId, String code,
+                                                            List<CodeVersionTestForSubmittingResource> tests) {
+        log.info("🎯 Starting code execution process using CodeRunner microservice");
+        log.info("📋 Input validation:");
+        log.info("  - Challenge ID: '{}'", challengeId);
+        log.info("  - Code Version ID: '{}'", codeVersionId);
+        log.info("  - Student ID: '{}'", studentId);
+        log.info("  - Code length: {} characters", code != null ? code.length() : 0);
+        log.info("  - Total tests: {}", tests != null ? tests.size() : 0);
+
+        // Unchanged code against an unchanged suite gives the same result, skip the sandbox
+        var cached = evaluationResultCache.find(code, codeVersionId, suiteVersion);
+        if (cached.isPresent()) {
+            log.info("♻️ Reusing previous evaluation of identical code for code version '{}'", codeVersionId);
+            return CompletableFuture.completedFuture(toCodeExecutionResult(cached.get()));
+        }
 
+        try {
             // Transform tests to the format expected by CodeRunner
             var testCases = tests.stream()
                     .map(test -> new CodeRunnerGrpcClientService.TestCaseData(
                             test.id(),
                             test.input(),
                             test.expectedOutput(),
-                            test.customValidationCode()
+                            test.customValidationCode(),
+                            test.required()
                     ))
                     .toList();
 
-            // Call CodeRunner via gRPC
-            var response = codeRunnerGrpcClient.evaluateSolution(challengeId, codeVersionId, studentId, code, testCases);
-
-            log.info("🎉 Code execution completed:");
-            log.info("  - Completed: {}", response.getCompleted());
-            log.info("  - Success: {}", response.getSuccess());
-            log.info("  - Total tests: {}", response.getTotalTests());
-            log.info("  - Passed tests: {}", response.getPassedTests());
-            log.info("  - Failed tests: {}", response.getFailedTests());
-            log.info("  - Success rate: {:.1f}%", 
-                    response.getTotalTests() > 0 ? (response.getPassedTests() * 100.0) / response.getTotalTests() : 0);
-            log.info("  - Execution time: {} ms", response.getExecutionTimeMs());
-            log.info("  - Message: {}", response.getMessage());
-            
-            if (!response.getSuccess()) {
-                log.warn("⚠️ Execution had errors:");
-                log.warn("  - Error Type: {}", response.getErrorType());
-                log.warn("  - Error Message: {}", response.getErrorMessage());
-            }
-
-            return new CodeExecutionResult(
-                    response.getApprovedTestsList(),
-                    response.getExecutionTimeMs(),
-                    response.getSuccess(),
-                    response.getTotalTests(),
-                    response.getPassedTests(),
-                    response.getFailedTests(),
-                    response.getMessage(),
-                    response.getErrorMessage(),
-                    response.getErrorType()
-            );
+            // Call CodeRunner via gRPC once admission control grants a slot
+            return withAdmission(admissionLane, studentId,
+                    () -> codeRunnerGrpcClient.evaluateSolutionAsync(challengeId, codeVersionId, suiteVersion, studentId, code, testCases))
+                    .thenApply(response -> {
+                        evaluationResultCache.put(code, codeVersionId, suiteVersion, response);
+                        return toCodeExecutionResult(response);
+                    });
 
         } catch (Exception e) {
-            log.error("❌ Failed to execute solution via CodeRunner: {}", e.getMessage(), e);
-            throw new RuntimeException("Code execution failed: " + e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * Execute solution code streaming every finished test to the given listener.
+     * The evaluation stops as soon as a test marked as required by the teacher fails;
+     * tests are optional by default, so an unmarked suite always runs to the end.
+     */
+    public CompletableFuture<CodeExecutionResult> executeSolutionStreaming(String challengeId, String codeVersionId,
+                                                                          String suiteVersion, String studentId, String code,
+                                                                          List<CodeVersionTestForSubmittingResource> tests,
+                                                                          Consumer<TestCaseProgress> progressListener) {
+        log.info("🎯 Starting streamed code execution for student '{}' ({} tests)", studentId, tests != null ? tests.size() : 0);
+
+        var cached = evaluationResultCache.find(code, codeVersionId, suiteVersion);
+        if (cached.isPresent()) {
+            log.info("♻️ Reusing previous evaluation of identical code for code version '{}'", codeVersionId);
+            replayProgress(cached.get(), tests, progressListener);
+            return CompletableFuture.completedFuture(toCodeExecutionResult(cached.get()));
+        }
+
+        try {
+            var testCases = tests.stream()
+                    .map(test -> new CodeRunnerGrpcClientService.TestCaseData(
+                            test.id(),
+                            test.input(),
+                            test.expectedOutput(),
+                            test.customValidationCode(),
+                            test.required()
+                    ))
+                    .toList();
+
+            return withAdmission(challengeId, studentId,
+                    () -> codeRunnerGrpcClient.evaluateSolutionStream(challengeId, codeVersionId, suiteVersion, studentId, code, testCases,
+                            result -> progressListener.accept(new TestCaseProgress(
+                                    result.getCodeVersionTestId(),
+                                    result.getPassed(),
+                                    result.getRequired(),
+                                    result.getExecutionTimeMs(),
+                                    result.getErrorMessage(),
+                                    result.getIndex(),
+                                    testCases.size()
+                            ))))
+                    .thenApply(response -> {
+                        // Evaluations stopped early are not complete results for the unary path
+                        if (response.getCompleted()) {
+                            evaluationResultCache.put(code, codeVersionId, suiteVersion, response);
+                        }
+                        return toCodeExecutionResult(response);
+                    });
+
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Run a CodeRunner call inside a slot granted by admission control, releasing it when the call ends
+     */
+    private <T> CompletableFuture<T> withAdmission(String admissionLane, String studentId,
+                                                   Supplier<CompletableFuture<T>> call) {
+        return admissionController.acquire(admissionLane, studentId)
+                .thenCompose(permit -> {
+                    try {
+                        return call.get().whenComplete((result, ex) -> permit.release());
+                    } catch (RuntimeException e) {
+                        permit.release();
+                        throw e;
+                    }
+                });
+    }
+
+    /**
+     * Report the outcome of every test of a reused evaluation to the streaming listener.
+     * Per-test timings and messages are not kept, only whether each test passed.
+     */
+    private void replayProgress(EvaluateSolutionResponse response, List<CodeVersionTestForSubmittingResource> tests,
+                                Consumer<TestCaseProgress> progressListener) {
+        var approvedTests = Set.copyOf(response.getApprovedTestsList());
+        for (int i = 0; i < tests.size(); i++) {
+            var testId = tests.get(i).id();
+            progressListener.accept(new TestCaseProgress(testId, approvedTests.contains(testId), tests.get(i).required(), 0L, null, i, tests.size()));
+        }
+    }
+
+    private CodeExecutionResult toCodeExecutionResult(EvaluateSolutionResponse response) {
+        log.info("🎉 Code execution completed:");
+        log.info("  - Completed: {}", response.getCompleted());
+        log.info("  - Success: {}", response.getSuccess());
+        log.info("  - Total tests: {}", response.getTotalTests());
+        log.info("  - Passed tests: {}", response.getPassedTests());
+        log.info("  - Failed tests: {}", response.getFailedTests());
+        log.info("  - Success rate: {:.1f}%", 
+                response.getTotalTests() > 0 ? (response.getPassedTests() * 100.0) / response.getTotalTests() : 0);
+        log.info("  - Execution time: {} ms", response.getExecutionTimeMs());
+        log.info("  - Message: {}", response.getMessage());
+        
+        if (!response.getSuccess()) {
+            log.warn("⚠️ Execution had errors:");
+            log.warn("  - Error Type: {}", response.getErrorType());
+            log.warn("  - Error Message: {}", response.getErrorMessage());
+        }
+
+        return new CodeExecutionResult(
+                response.getApprovedTestsList(),
+                response.getExecutionTimeMs(),
+                response.getSuccess(),
+                response.getTotalTests(),
+                response.getPassedTests(),
+                response.getFailedTests(),
+                response.getMessage(),
+                response.getErrorMessage(),
+                response.getErrorType()
+        );
+    }
+
     /**
      * Result of code execution with comprehensive details
      */
@@ -0,0 +1,24 @@
+package com.levelupjourney.microservicechallenges.solutions.application.internal.queryservices;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.RegradeJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetRegradeJobByIdQuery;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.RegradeJobQueryService;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.RegradeJobRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class RegradeJobQueryServiceImpl implements RegradeJobQueryService {
+
+    private final RegradeJobRepository regradeJobRepository;
+
+    public RegradeJobQueryServiceImpl(RegradeJobRepository regradeJobRepository) {
+        this.regradeJobRepository = regradeJobRepository;
+    }
+
+    @Override
+    public Optional<RegradeJob> handle(GetRegradeJobByIdQuery query) {
+        return regradeJobRepository.findById(query.regradeJobId());
+    }
+}
@@ -7,10 +7,12 @@ import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.
 import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionQueryService;
 import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SolutionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class SolutionQueryServiceImpl implements SolutionQueryService {
 
     private final SolutionRepository solutionRepository;
@@ -0,0 +1,24 @@
+package com.levelupjourney.microservicechallenges.solutions.application.internal.queryservices;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSubmissionJobByIdQuery;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobQueryService;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SubmissionJobRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class SubmissionJobQueryServiceImpl implements SubmissionJobQueryService {
+
+    private final SubmissionJobRepository submissionJobRepository;
+
+    public SubmissionJobQueryServiceImpl(SubmissionJobRepository submissionJobRepository) {
+        this.submissionJobRepository = submissionJobRepository;
+    }
+
+    @Override
+    public Optional<SubmissionJob> handle(GetSubmissionJobByIdQuery query) {
+        return submissionJobRepository.findById(query.submissionJobId());
+    }
+}
@@ -0,0 +1,116 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates;
+
+import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.StartRegradeCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.CodeVersionId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Tracks the re-grade of every submitted solution of a code version.
+ * The job is created as QUEUED, moves to RUNNING once a worker picks it up and records
+ * its progress after every batch of solutions, ending as COMPLETED or FAILED.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_regrade_jobs_code_version_id", columnList = "code_version_id"))
+public class RegradeJob extends AuditableAbstractAggregateRoot<RegradeJob> {
+
+    @EmbeddedId
+    private RegradeJobId id;
+
+    @Embedded
+    @AttributeOverride(name = "id", column = @Column(name = "code_version_id"))
+    private CodeVersionId codeVersionId;
+
+    private String requestedBy;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private RegradeJobStatus status;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+
+    // Progress counters, updated after every batch
+    private Integer totalSolutions;
+
+    private Integer processedSolutions;
+
+    private Integer regradedSolutions;
+
+    private Integer failedSolutions;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    public RegradeJob(StartRegradeCommand command) {
+        this.id = new RegradeJobId(IdGenerators.nextId());
+        this.codeVersionId = command.codeVersionId();
+        this.requestedBy = command.requestedBy();
+        this.status = RegradeJobStatus.QUEUED;
+        this.totalSolutions = 0;
+        this.processedSolutions = 0;
+        this.regradedSolutions = 0;
+        this.failedSolutions = 0;
+    }
+
+    /**
+     * Mark the job as picked up by a worker
+     *
+     * @param totalSolutions Number of submitted solutions that will be re-graded
+     */
+    public void markRunning(int totalSolutions) {
+        this.status = RegradeJobStatus.RUNNING;
+        this.startedAt = new Date();
+        this.totalSolutions = totalSolutions;
+    }
+
+    /**
+     * Add the outcome of a batch to the progress counters
+     *
+     * @param processed Solutions taken from the batch
+     * @param regraded  Solutions whose score was rewritten
+     * @param failed    Solutions that could not be evaluated
+     */
+    public void recordBatch(int processed, int regraded, int failed) {
+        this.processedSolutions += processed;
+        this.regradedSolutions += regraded;
+        this.failedSolutions += failed;
+        // Solutions submitted after the job started are picked up as well
+        this.totalSolutions = Math.max(this.totalSolutions, this.processedSolutions);
+    }
+
+    public void complete() {
+        this.status = RegradeJobStatus.COMPLETED;
+        this.finishedAt = new Date();
+        this.message = String.format("%d of %d solutions re-graded, %d failed",
+                regradedSolutions, processedSolutions, failedSolutions);
+    }
+
+    /**
+     * Mark the job as failed when it could not process every solution
+     *
+     * @param reason Human-readable failure reason
+     */
+    public void fail(String reason) {
+        this.status = RegradeJobStatus.FAILED;
+        this.finishedAt = new Date();
+        this.message = reason;
+    }
+
+    public boolean isFinished() {
+        return status == RegradeJobStatus.COMPLETED || status == RegradeJobStatus.FAILED;
+    }
+}
@@ -1,6 +1,7 @@
 package com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates;
 
 import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.CreateSolutionCommand;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.*;
 import jakarta.persistence.*;
@@ -9,11 +10,16 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.Date;
-import java.util.UUID;
 
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_solutions_student_code_version", columnNames = {"student_id", "code_version_id"}),
+    indexes = {
+        @Index(name = "idx_solutions_student_challenge", columnList = "student_id, challenge_id"),
+        @Index(name = "idx_solutions_challenge_id", columnList = "challenge_id"),
+        @Index(name = "idx_solutions_code_version_id", columnList = "code_version_id, id")
+    })
 public class Solution extends AuditableAbstractAggregateRoot<Solution> {
     
     @EmbeddedId
@@ -39,6 +45,11 @@ public class Solution extends AuditableAbstractAggregateRoot<Solution> {
     @Column(columnDefinition = "TEXT")
     private String code;
 
+    // Code of the last submission; re-grades evaluate it instead of the draft in code
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String submittedCode;
+
     @Temporal(TemporalType.TIMESTAMP)
     private Date lastAttemptAt;
 
@@ -51,7 +62,7 @@ public class Solution extends AuditableAbstractAggregateRoot<Solution> {
     private SolutionScore score;
 
     public Solution(CreateSolutionCommand command) {
-        this.id = new SolutionId(UUID.randomUUID());
+        this.id = new SolutionId(IdGenerators.nextId());
         this.challengeId = command.challengeId();
         this.codeVersionId = command.codeVersionId();
         this.studentId = command.studentId();
@@ -89,12 +100,6 @@ public class Solution extends AuditableAbstractAggregateRoot<Solution> {
         this.score = new SolutionScore(pointsEarned, maxPoints);
         
         // Update status based on score
-        if (pointsEarned.equals(maxPoints) && maxPoints > 0) {
-            this.status = SolutionStatus.SUCCESS;
-        } else if (pointsEarned == 0) {
-            this.status = SolutionStatus.FAILED;
-        } else {
-            this.status = SolutionStatus.IN_PROGRESS;
-        }
+        this.status = SolutionStatus.fromScore(pointsEarned, maxPoints);
     }
 }
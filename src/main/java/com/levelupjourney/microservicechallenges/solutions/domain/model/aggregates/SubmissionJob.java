@@ -0,0 +1,162 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates;
+
+import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.EnqueueSubmissionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.*;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks a solution submission that is evaluated in the background.
+ * The job is created as QUEUED when the request is accepted, moves to RUNNING
+ * once a worker picks it up and ends as COMPLETED (with the submission result), FAILED
+ * or REJECTED when admission control turned it away.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_submission_jobs_solution_id", columnList = "solution_id"))
+public class SubmissionJob extends AuditableAbstractAggregateRoot<SubmissionJob> {
+
+    @EmbeddedId
+    private SubmissionJobId id;
+
+    @Embedded
+    @AttributeOverride(name = "id", column = @Column(name = "solution_id"))
+    private SolutionId solutionId;
+
+    @Embedded
+    @AttributeOverride(name = "id", column = @Column(name = "student_id"))
+    private StudentId studentId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private SubmissionJobStatus status;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+
+    // Submission result fields (filled once the evaluation finishes)
+    private Boolean success;
+
+    @ElementCollection
+    @CollectionTable(name = "submission_job_approved_tests", joinColumns = @JoinColumn(name = "submission_job_id"),
+        indexes = @Index(name = "idx_submission_job_approved_tests_job", columnList = "submission_job_id"))
+    @Column(name = "code_version_test_id")
+    private List<String> approvedTestIds = new ArrayList<>();
+
+    private Integer totalTests;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(columnDefinition = "TEXT")
+    private String executionDetails;
+
+    private Double timeTaken;
+
+    private UUID solutionReportId;
+
+    // Seconds to wait before submitting again, only set on REJECTED jobs
+    private Integer retryAfterSeconds;
+
+    public SubmissionJob(EnqueueSubmissionCommand command) {
+        this.id = new SubmissionJobId(IdGenerators.nextId());
+        this.solutionId = command.submitSolutionCommand().solutionId();
+        this.studentId = command.submitSolutionCommand().studentId();
+        this.status = SubmissionJobStatus.QUEUED;
+    }
+
+    /**
+     * Mark the job as picked up by an evaluation worker
+     */
+    public void markRunning() {
+        this.status = SubmissionJobStatus.RUNNING;
+        this.startedAt = new Date();
+    }
+
+    /**
+     * Store the outcome of the evaluation.
+     * A result produced by the submit flow always completes the job, even when tests failed;
+     * FAILED is reserved for evaluations that could not run at all.
+     *
+     * @param result The submission result returned by the submit flow
+     */
+    public void complete(SubmissionResult result) {
+        this.status = SubmissionJobStatus.COMPLETED;
+        this.finishedAt = new Date();
+        this.success = result.success();
+        this.approvedTestIds.clear();
+        if (result.approvedTestIds() != null) {
+            this.approvedTestIds.addAll(result.approvedTestIds());
+        }
+        this.totalTests = result.totalTests();
+        this.message = result.message();
+        this.executionDetails = result.executionDetails();
+        this.timeTaken = result.timeTaken();
+        this.solutionReportId = result.solutionReportId() != null ? result.solutionReportId().value() : null;
+    }
+
+    /**
+     * Mark the job as failed when the evaluation could not be executed
+     *
+     * @param reason Human-readable failure reason
+     */
+    public void fail(String reason) {
+        this.status = SubmissionJobStatus.FAILED;
+        this.finishedAt = new Date();
+        this.success = false;
+        this.message = reason;
+    }
+
+    /**
+     * Mark the job as rejected by admission control: the CodeRunner was saturated, so the solution was
+     * neither evaluated nor charged an attempt
+     *
+     * @param reason Human-readable rejection reason
+     * @param retryAfterSeconds Seconds to wait before submitting again
+     */
+    public void reject(String reason, int retryAfterSeconds) {
+        this.status = SubmissionJobStatus.REJECTED;
+        this.finishedAt = new Date();
+        this.success = false;
+        this.message = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public boolean isFinished() {
+        return status == SubmissionJobStatus.COMPLETED || status == SubmissionJobStatus.FAILED
+                || status == SubmissionJobStatus.REJECTED;
+    }
+
+    /**
+     * Rebuild the submission result stored in this job
+     *
+     * @return The submission result, or null while the job has not finished
+     */
+    public SubmissionResult toSubmissionResult() {
+        if (!isFinished()) {
+            return null;
+        }
+        return new SubmissionResult(
+                solutionReportId != null ? new SolutionReportId(solutionReportId) : null,
+                Boolean.TRUE.equals(success),
+                List.copyOf(approvedTestIds),
+                totalTests != null ? totalTests : 0,
+                message,
+                executionDetails,
+                timeTaken != null ? timeTaken : 0.0
+        );
+    }
+}
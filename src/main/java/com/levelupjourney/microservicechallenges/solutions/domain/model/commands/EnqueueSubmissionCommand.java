@@ -0,0 +1,9 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.commands;
+
+/**
+ * Command to queue a solution submission for asynchronous evaluation.
+ * Wraps the same data as a synchronous submission so the background worker
+ * can run the regular submit flow once a slot is available.
+ */
+public record EnqueueSubmissionCommand(SubmitSolutionCommand submitSolutionCommand) {
+}
@@ -0,0 +1,18 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.commands;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.CodeVersionId;
+
+/**
+ * Command to re-evaluate every submitted solution of a code version,
+ * typically after a teacher fixed one of its tests.
+ *
+ * @param codeVersionId The code version whose solutions are re-graded
+ * @param requestedBy   User ID of the teacher or admin who requested the re-grade
+ */
+public record StartRegradeCommand(CodeVersionId codeVersionId, String requestedBy) {
+    public StartRegradeCommand {
+        if (codeVersionId == null) {
+            throw new IllegalArgumentException("Code version ID cannot be null");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.queries;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+
+public record GetRegradeJobByIdQuery(RegradeJobId regradeJobId) {
+}
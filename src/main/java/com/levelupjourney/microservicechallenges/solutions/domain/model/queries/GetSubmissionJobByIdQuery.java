@@ -0,0 +1,6 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.queries;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobId;
+
+public record GetSubmissionJobByIdQuery(SubmissionJobId submissionJobId) {
+}
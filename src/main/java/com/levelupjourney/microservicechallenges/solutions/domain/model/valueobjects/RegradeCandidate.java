@@ -0,0 +1,27 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read-only view of a submitted solution with just the fields needed to re-grade it.
+ * Loaded as a projection so re-grading does not keep thousands of managed entities in memory.
+ */
+public record RegradeCandidate(
+        UUID solutionId,
+        UUID challengeId,
+        UUID studentId,
+        String code,
+        Date createdAt,
+        Date lastAttemptAt
+) {
+    /**
+     * Time taken to solve the challenge in seconds, from when the solution was created to its last attempt
+     */
+    public long timeTakenSeconds() {
+        if (createdAt == null || lastAttemptAt == null) {
+            return 0L;
+        }
+        return (lastAttemptAt.getTime() - createdAt.getTime()) / 1000;
+    }
+}
@@ -0,0 +1,26 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects;
+
+/**
+ * Represents the lifecycle of a re-grade of every solution of a code version
+ */
+public enum RegradeJobStatus {
+    /**
+     * Re-grade accepted and waiting for a free worker
+     */
+    QUEUED,
+
+    /**
+     * Solutions are being re-evaluated by the CodeRunner service
+     */
+    RUNNING,
+
+    /**
+     * Every solution was processed; individual failures are reported in the counters
+     */
+    COMPLETED,
+
+    /**
+     * The re-grade stopped before processing every solution
+     */
+    FAILED
+}
@@ -27,5 +27,20 @@ public enum SolutionStatus {
     /**
      * Solution has reached maximum submission attempts
      */
-    MAX_ATTEMPTS_REACHED
+    MAX_ATTEMPTS_REACHED;
+
+    /**
+     * Status that corresponds to a graded score
+     * @param pointsEarned Points earned from passed tests
+     * @param maxPoints Maximum possible points from the challenge
+     * @return SUCCESS for a full score, FAILED for no points, IN_PROGRESS otherwise
+     */
+    public static SolutionStatus fromScore(int pointsEarned, int maxPoints) {
+        if (pointsEarned == maxPoints && maxPoints > 0) {
+            return SUCCESS;
+        } else if (pointsEarned == 0) {
+            return FAILED;
+        }
+        return IN_PROGRESS;
+    }
 }
@@ -0,0 +1,32 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects;
+
+/**
+ * Represents the lifecycle of an asynchronous solution submission
+ */
+public enum SubmissionJobStatus {
+    /**
+     * Submission accepted and waiting for a free evaluation worker
+     */
+    QUEUED,
+
+    /**
+     * Submission is being evaluated by the CodeRunner service
+     */
+    RUNNING,
+
+    /**
+     * Evaluation finished and the submission result is available
+     */
+    COMPLETED,
+
+    /**
+     * Evaluation could not be completed
+     */
+    FAILED,
+
+    /**
+     * Turned away by admission control because the CodeRunner was saturated; nothing was evaluated
+     * and no attempt was recorded, so the submission can be sent again after the retry-after delay
+     */
+    REJECTED
+}
@@ -0,0 +1,29 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Read-only view of a solution with everything the submit flow needs, loaded with a single query.
+ *
+ * @param completedElsewhere True if the submitting student already has another solution of the same challenge with SUCCESS status
+ */
+public record SubmissionSnapshot(
+        UUID solutionId,
+        UUID challengeId,
+        UUID codeVersionId,
+        SolutionStatus status,
+        Date createdAt,
+        boolean completedElsewhere
+) {
+    /**
+     * Time taken to solve the challenge in seconds, from when the solution was created (challenge started)
+     * to the given submission attempt
+     */
+    public long timeTakenSeconds(Date attemptAt) {
+        if (createdAt == null || attemptAt == null) {
+            return 0L;
+        }
+        return (attemptAt.getTime() - createdAt.getTime()) / 1000;
+    }
+}
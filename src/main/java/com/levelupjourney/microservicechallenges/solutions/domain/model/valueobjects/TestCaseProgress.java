@@ -0,0 +1,15 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects;
+
+/**
+ * Value object representing the outcome of a single test while a submission is still being evaluated
+ */
+public record TestCaseProgress(
+        String codeVersionTestId,
+        boolean passed,
+        boolean required,
+        long executionTimeMs,
+        String errorMessage,
+        int index,
+        int totalTests
+) {
+}
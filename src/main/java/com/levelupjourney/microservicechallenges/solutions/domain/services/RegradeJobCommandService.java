@@ -0,0 +1,8 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.services;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.StartRegradeCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+
+public interface RegradeJobCommandService {
+    RegradeJobId handle(StartRegradeCommand command);
+}
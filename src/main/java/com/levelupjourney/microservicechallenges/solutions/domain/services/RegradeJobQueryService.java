@@ -0,0 +1,10 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.services;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.RegradeJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetRegradeJobByIdQuery;
+
+import java.util.Optional;
+
+public interface RegradeJobQueryService {
+    Optional<RegradeJob> handle(GetRegradeJobByIdQuery query);
+}
@@ -5,11 +5,14 @@ import com.levelupjourney.microservicechallenges.solutions.domain.model.commands
 import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.SubmitSolutionCommand;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.UpdateSolutionCommand;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionResult;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface SolutionCommandService {
     Optional<Solution> handle(CreateSolutionCommand command);
     SubmissionResult handle(SubmitSolutionCommand command);
+    SubmissionResult handle(SubmitSolutionCommand command, Consumer<TestCaseProgress> progressListener);
     void handle(UpdateSolutionCommand command);
 }
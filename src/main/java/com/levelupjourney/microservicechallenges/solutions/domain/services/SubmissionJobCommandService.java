@@ -0,0 +1,9 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.services;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.EnqueueSubmissionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobId;
+
+public interface SubmissionJobCommandService {
+    SubmissionJobId handle(EnqueueSubmissionCommand command);
+    SubmissionJobId handle(EnqueueSubmissionCommand command, SubmissionJobListener listener);
+}
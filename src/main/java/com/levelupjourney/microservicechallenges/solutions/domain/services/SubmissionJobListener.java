@@ -0,0 +1,19 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.services;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
+
+/**
+ * Receives the progress of a submission job while it is evaluated in the background.
+ * All callbacks run on the worker evaluating the job, in order.
+ */
+public interface SubmissionJobListener {
+
+    SubmissionJobListener NONE = new SubmissionJobListener() {};
+
+    default void onStarted(SubmissionJob job) {}
+
+    default void onTestResult(TestCaseProgress progress) {}
+
+    default void onFinished(SubmissionJob job) {}
+}
@@ -0,0 +1,10 @@
+package com.levelupjourney.microservicechallenges.solutions.domain.services;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSubmissionJobByIdQuery;
+
+import java.util.Optional;
+
+public interface SubmissionJobQueryService {
+    Optional<SubmissionJob> handle(GetSubmissionJobByIdQuery query);
+}
@@ -0,0 +1,86 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.levelupjourney.microservicechallenges.coderunner.grpc.EvaluateSolutionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Content-addressed cache of CodeRunner evaluations.
+ * <p>
+ * Entries are keyed by a hash of the submitted code, the code version ID and the test suite
+ * version, so resubmitting unchanged code against an unchanged suite reuses the last response
+ * instead of running the sandbox again. Only deterministic outcomes are stored; timeouts and
+ * infrastructure errors are always re-evaluated.
+ */
+@Slf4j
+@Component
+public class EvaluationResultCache {
+
+    public static final String CACHE_NAME = "code-runner-results";
+
+    private static final Set<String> CACHEABLE_ERROR_TYPES = Set.of(
+            "", "test_failure", "compilation_error", "required_test_failure"
+    );
+
+    private final boolean enabled;
+    private final Cache<String, EvaluateSolutionResponse> cache;
+
+    public EvaluationResultCache(@Value("${code-runner.result-cache.enabled:true}") boolean enabled,
+                                 @Value("${code-runner.result-cache.max-size:10000}") long maxSize,
+                                 @Value("${code-runner.result-cache.ttl:PT1H}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        log.info("⚙️ Evaluation result cache configured: enabled={}, maxSize={}, ttl={}", enabled, maxSize, ttl);
+    }
+
+    /**
+     * Find the last evaluation of the same code against the same test suite.
+     * Without a suite version nothing is cached.
+     */
+    public Optional<EvaluateSolutionResponse> find(String code, String codeVersionId, String suiteVersion) {
+        if (!enabled || suiteVersion == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key(code, codeVersionId, suiteVersion)));
+    }
+
+    /**
+     * Remember an evaluation if its outcome only depends on the code and the tests
+     */
+    public void put(String code, String codeVersionId, String suiteVersion, EvaluateSolutionResponse response) {
+        if (!enabled || suiteVersion == null || !CACHEABLE_ERROR_TYPES.contains(response.getErrorType())) {
+            return;
+        }
+        cache.put(key(code, codeVersionId, suiteVersion), response);
+    }
+
+    private static String key(String code, String codeVersionId, String suiteVersion) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var codeHash = HexFormat.of().formatHex(digest.digest((code != null ? code : "").getBytes(StandardCharsets.UTF_8)));
+            return codeVersionId + ":" + suiteVersion + ":" + codeHash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
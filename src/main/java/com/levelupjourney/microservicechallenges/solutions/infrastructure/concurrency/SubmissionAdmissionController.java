@@ -0,0 +1,280 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the CodeRunner.
+ * <ul>
+ *   <li><b>Per-student rate</b>: a token bucket per student limits how often submissions are accepted;
+ *   callers answer 429 with the returned Retry-After when it is empty.</li>
+ *   <li><b>Global concurrency</b>: at most {@code max-concurrent-evaluations} evaluations run at once.</li>
+ *   <li><b>Fair queueing</b>: when the limit is reached, waiting evaluations are served round-robin across
+ *   challenges and, inside a challenge, round-robin across students, so a few busy students or one
+ *   crowded challenge cannot starve everybody else.</li>
+ * </ul>
+ * Waiting is bounded by {@code max-queue-depth} and {@code max-wait}; beyond that evaluations are
+ * rejected with {@link RejectedExecutionException}.
+ */
+@Slf4j
+@Component
+public class SubmissionAdmissionController {
+
+    private final int studentBurst;
+    private final double tokensPerNano;
+    private final int maxConcurrentEvaluations;
+    private final int maxQueueDepth;
+    private final Duration maxWait;
+
+    private final Cache<String, TokenBucket> studentBuckets;
+
+    // Guarded by "this"
+    private int inFlight;
+    private int queued;
+    private final LinkedHashMap<String, LinkedHashMap<String, ArrayDeque<Waiter>>> waiting = new LinkedHashMap<>();
+
+    private final Timer waitTimer;
+    private final Counter rateLimitedCounter;
+    private final Counter queueFullCounter;
+    private final Counter waitTimeoutCounter;
+
+    public SubmissionAdmissionController(@Value("${submissions.admission.student-burst:5}") int studentBurst,
+                                         @Value("${submissions.admission.student-refill-per-minute:6}") int studentRefillPerMinute,
+                                         @Value("${submissions.admission.max-concurrent-evaluations:32}") int maxConcurrentEvaluations,
+                                         @Value("${submissions.admission.max-queue-depth:500}") int maxQueueDepth,
+                                         @Value("${submissions.admission.max-wait:PT30S}") Duration maxWait,
+                                         MeterRegistry meterRegistry) {
+        this.studentBurst = studentBurst;
+        this.tokensPerNano = studentRefillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxConcurrentEvaluations = maxConcurrentEvaluations;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWait = maxWait;
+        this.studentBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .maximumSize(100_000)
+                .build();
+
+        Gauge.builder("submissions.admission.queue.depth", this, SubmissionAdmissionController::getQueueDepth)
+                .description("Evaluations waiting for a CodeRunner slot")
+                .register(meterRegistry);
+        Gauge.builder("submissions.admission.in.flight", this, SubmissionAdmissionController::getInFlight)
+                .description("Evaluations currently admitted to the CodeRunner")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("submissions.admission.wait")
+                .description("Time evaluations waited for a CodeRunner slot")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rateLimitedCounter = rejectedCounter(meterRegistry, "rate_limited");
+        this.queueFullCounter = rejectedCounter(meterRegistry, "queue_full");
+        this.waitTimeoutCounter = rejectedCounter(meterRegistry, "wait_timeout");
+
+        log.info("⚙️ Submission admission configured: burst={}, refill={}/min, maxConcurrent={}, maxQueue={}, maxWait={}",
+                studentBurst, studentRefillPerMinute, maxConcurrentEvaluations, maxQueueDepth, maxWait);
+    }
+
+    /**
+     * Take a token from the student's bucket.
+     *
+     * @return The decision, with the seconds to wait before retrying when the student is rate limited
+     */
+    public AdmissionDecision tryAdmit(String studentId) {
+        var bucket = studentBuckets.get(studentId, id -> new TokenBucket(studentBurst, System.nanoTime()));
+        long waitNanos = bucket.tryConsume(System.nanoTime());
+        if (waitNanos == 0) {
+            return AdmissionDecision.ADMITTED;
+        }
+
+        rateLimitedCounter.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        log.warn("⚠️ Student '{}' is submitting too fast, retry after {} s", studentId, retryAfterSeconds);
+        return new AdmissionDecision(false, retryAfterSeconds);
+    }
+
+    /**
+     * Wait for a CodeRunner slot without blocking the caller.
+     * The returned future completes with a permit that must be released once the evaluation ends,
+     * or exceptionally with {@link RejectedExecutionException} when the queue is full or the wait
+     * exceeds {@code max-wait}.
+     */
+    public CompletableFuture<Permit> acquire(String challengeId, String studentId) {
+        Waiter waiter;
+        synchronized (this) {
+            if (inFlight < maxConcurrentEvaluations && queued == 0) {
+                inFlight++;
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (queued >= maxQueueDepth) {
+                queueFullCounter.increment();
+                return CompletableFuture.failedFuture(
+                        new RejectedExecutionException("CodeRunner queue is full (" + maxQueueDepth + " evaluations waiting)"));
+            }
+            waiter = new Waiter(challengeId, studentId, System.nanoTime());
+            waiting.computeIfAbsent(challengeId, id -> new LinkedHashMap<>())
+                    .computeIfAbsent(studentId, id -> new ArrayDeque<>())
+                    .addLast(waiter);
+            queued++;
+        }
+
+        CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> expire(waiter));
+        return waiter.future;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queued;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            var students = waiting.get(waiter.challengeId);
+            var queue = students != null ? students.get(waiter.studentId) : null;
+            if (queue == null || !queue.remove(waiter)) {
+                return; // Already admitted
+            }
+            if (queue.isEmpty()) {
+                students.remove(waiter.studentId);
+                if (students.isEmpty()) {
+                    waiting.remove(waiter.challengeId);
+                }
+            }
+            queued--;
+        }
+        waitTimeoutCounter.increment();
+        waiter.future.completeExceptionally(
+                new RejectedExecutionException("Timed out waiting for a CodeRunner slot after " + maxWait.toSeconds() + " s"));
+    }
+
+    private void release() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = pollNextWaiter();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+                // The slot is handed over to the next waiter, inFlight stays the same
+            }
+            waitTimer.record(System.nanoTime() - next.enqueuedAt, TimeUnit.NANOSECONDS);
+            if (next.future.complete(new Permit())) {
+                return;
+            }
+            // The waiter was cancelled by its caller, offer the slot to the next one
+        }
+    }
+
+    /**
+     * Take the next waiter round-robin: first across challenges, then across the students of that challenge
+     */
+    private Waiter pollNextWaiter() {
+        var challengeIterator = waiting.entrySet().iterator();
+        if (!challengeIterator.hasNext()) {
+            return null;
+        }
+        var challengeEntry = challengeIterator.next();
+        challengeIterator.remove();
+        var students = challengeEntry.getValue();
+
+        var studentIterator = students.entrySet().iterator();
+        var studentEntry = studentIterator.next();
+        studentIterator.remove();
+        var queue = studentEntry.getValue();
+        var waiter = queue.pollFirst();
+
+        // Move the served student and challenge to the back of their rotations
+        if (!queue.isEmpty()) {
+            students.put(studentEntry.getKey(), queue);
+        }
+        if (!students.isEmpty()) {
+            waiting.put(challengeEntry.getKey(), students);
+        }
+        queued--;
+        return waiter;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("submissions.admission.rejected")
+                .description("Submissions rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Outcome of the per-student rate check
+     */
+    public record AdmissionDecision(boolean admitted, long retryAfterSeconds) {
+        public static final AdmissionDecision ADMITTED = new AdmissionDecision(true, 0);
+    }
+
+    /**
+     * A CodeRunner slot. Releasing it more than once has no effect.
+     */
+    public final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                SubmissionAdmissionController.this.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final String challengeId;
+        private final String studentId;
+        private final long enqueuedAt;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(String challengeId, String studentId, long enqueuedAt) {
+            this.challengeId = challengeId;
+            this.studentId = studentId;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+         */
+        private synchronized long tryConsume(long now) {
+            tokens = Math.min(studentBurst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor used to evaluate asynchronous submissions.
+ * <p>
+ * The executor is bounded: once the limit is reached new submissions are rejected
+ * so the REST layer can answer with 503 instead of piling up unbounded work in memory.
+ * <ul>
+ *   <li>Platform threads (default): a fixed pool with a bounded queue (AbortPolicy).</li>
+ *   <li>Virtual threads ({@code spring.threads.virtual.enabled=true}): one virtual thread per
+ *   submission, capped by {@code submissions.async.virtual-max-concurrency}. Submissions spend most
+ *   of their time blocked on JDBC and the CodeRunner, which parks a virtual thread instead of
+ *   holding a pool worker, so the cap can be much higher than the pool size.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class SubmissionExecutorConfiguration {
+
+    public static final String SUBMISSION_EXECUTOR = "submissionExecutor";
+    public static final String REGRADE_EXECUTOR = "regradeExecutor";
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${submissions.async.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${submissions.async.max-pool-size:16}")
+    private int maxPoolSize;
+
+    @Value("${submissions.async.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${submissions.async.virtual-max-concurrency:1000}")
+    private int virtualMaxConcurrency;
+
+    @Value("${submissions.regrade.max-concurrent-jobs:2}")
+    private int regradeMaxConcurrentJobs;
+
+    @Value("${submissions.regrade.queue-capacity:10}")
+    private int regradeQueueCapacity;
+
+    @Bean(name = SUBMISSION_EXECUTOR)
+    public TaskExecutor submissionExecutor() {
+        if (virtualThreadsEnabled) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("submission-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualMaxConcurrency);
+            executor.setRejectTasksWhenLimitReached(true);
+            executor.setTaskTerminationTimeout(30_000);
+
+            log.info("⚙️ Submission executor configured with virtual threads: max concurrency={}", virtualMaxConcurrency);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("submission-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        log.info("⚙️ Submission executor configured: core={}, max={}, queue={}", corePoolSize, maxPoolSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Runs code version re-grades. Each job drives its own bounded set of CodeRunner calls,
+     * so only a few jobs run at once and the rest wait in a short queue.
+     */
+    @Bean(name = REGRADE_EXECUTOR)
+    public TaskExecutor regradeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(regradeMaxConcurrentJobs);
+        executor.setMaxPoolSize(regradeMaxConcurrentJobs);
+        executor.setQueueCapacity(regradeQueueCapacity);
+        executor.setThreadNamePrefix("regrade-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        log.info("⚙️ Regrade executor configured: concurrent jobs={}, queue={}", regradeMaxConcurrentJobs, regradeQueueCapacity);
+        return executor;
+    }
+}
@@ -0,0 +1,71 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jdbc;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionStatus;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes solution scores in JDBC batches.
+ * Used by re-grading, where going through JPA would load and merge every solution
+ * (including its code) just to change three columns.
+ */
+@Slf4j
+@Repository
+public class SolutionScoreJdbcRepository {
+
+    // Skip rows submitted again after they were read: the live submission already wrote a fresher score
+    private static final String UPDATE_SCORE_SQL =
+            "UPDATE solutions SET points_earned = ?, max_points = ?, status = ?, updated_at = ? " +
+            "WHERE id = ? AND last_attempt_at = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SolutionScoreJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Update the score and status of several solutions in a single JDBC batch, committed as one transaction
+     * (callers run on the regrade executor, outside any transaction)
+     *
+     * @param updates The new scores
+     * @return Number of solutions actually updated
+     */
+    @Transactional
+    public int updateScores(List<ScoreUpdate> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        var now = new Timestamp(System.currentTimeMillis());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates, updates.size(), (ps, update) -> {
+            ps.setInt(1, update.pointsEarned());
+            ps.setInt(2, update.maxPoints());
+            ps.setString(3, update.status().name());
+            ps.setTimestamp(4, now);
+            ps.setObject(5, update.solutionId());
+            ps.setTimestamp(6, new Timestamp(update.lastAttemptAt().getTime()));
+        });
+
+        // Drivers may report SUCCESS_NO_INFO (-2) for batched statements, count those as updated
+        int updated = Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> count == -2 ? 1 : count).sum();
+        log.debug("💾 Score batch written: {} of {} solutions updated", updated, updates.size());
+        return updated;
+    }
+
+    /**
+     * New score of a solution
+     *
+     * @param lastAttemptAt Last attempt the score was computed for
+     */
+    public record ScoreUpdate(UUID solutionId, int pointsEarned, int maxPoints, SolutionStatus status, Date lastAttemptAt) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.RegradeJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, RegradeJobId> {
+
+    // Count unfinished jobs of a code version that reported progress recently (jobs of a crashed instance go stale)
+    @Query("SELECT COUNT(rj) FROM RegradeJob rj WHERE rj.codeVersionId.id = :codeVersionId AND rj.status IN ('QUEUED', 'RUNNING') AND rj.updatedAt > :activeSince")
+    long countActiveByCodeVersionId(@Param("codeVersionId") UUID codeVersionId, @Param("activeSince") Date activeSince);
+}
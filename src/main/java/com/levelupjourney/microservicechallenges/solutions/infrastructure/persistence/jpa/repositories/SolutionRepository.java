@@ -1,13 +1,19 @@
 package com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories;
 
 import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.Solution;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeCandidate;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionId;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionStatus;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionSnapshot;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -61,4 +67,38 @@ public interface SolutionRepository extends JpaRepository<Solution, SolutionId>
     // Find solutions with most attempts by challenge
     @Query("SELECT s FROM Solution s WHERE s.challengeId.id = :challengeId ORDER BY s.attempts DESC")
     List<Solution> findSolutionsByChallengeIdOrderByAttemptsDesc(@Param("challengeId") UUID challengeId);
+
+    // Keyset page of submitted solutions of a code version to re-grade, ordered by ID (projection, no managed entities).
+    // Carries the last submitted code, not the draft the student may have edited since
+    @Query("SELECT new com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeCandidate(s.id.id, s.challengeId.id, s.studentId.id, s.submittedCode, s.createdAt, s.lastAttemptAt) " +
+           "FROM Solution s WHERE s.codeVersionId.id = :codeVersionId AND s.attempts > 0 AND s.id.id > :afterId ORDER BY s.id.id")
+    List<RegradeCandidate> findRegradeCandidates(@Param("codeVersionId") UUID codeVersionId, @Param("afterId") UUID afterId, Limit limit);
+
+    // Count submitted solutions of a code version (re-grade progress)
+    @Query("SELECT COUNT(s) FROM Solution s WHERE s.codeVersionId.id = :codeVersionId AND s.attempts > 0")
+    long countSubmittedByCodeVersionId(@Param("codeVersionId") UUID codeVersionId);
+
+    // Everything the submit flow reads, in one query: the solution fields plus whether the submitter already completed the challenge with another solution
+    @Query("SELECT new com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionSnapshot(s.id.id, s.challengeId.id, s.codeVersionId.id, s.status, s.createdAt, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM Solution o WHERE o.studentId.id = :studentId AND o.challengeId.id = s.challengeId.id AND o.id.id <> s.id.id AND o.status = 'SUCCESS') THEN true ELSE false END) " +
+           "FROM Solution s WHERE s.id.id = :solutionId")
+    Optional<SubmissionSnapshot> findSubmissionSnapshot(@Param("solutionId") UUID solutionId, @Param("studentId") UUID studentId);
+
+    // Record a graded submission attempt and the code it graded with a single UPDATE (attempts are incremented in the database)
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Solution s SET s.attempts = s.attempts + 1, s.lastAttemptAt = :attemptAt, s.submittedCode = :submittedCode, " +
+           "s.score.pointsEarned = :pointsEarned, s.score.maxPoints = :maxPoints, s.status = :status, s.updatedAt = :attemptAt WHERE s.id.id = :solutionId")
+    int recordGradedAttempt(@Param("solutionId") UUID solutionId, @Param("attemptAt") Date attemptAt,
+                            @Param("submittedCode") String submittedCode,
+                            @Param("pointsEarned") Integer pointsEarned, @Param("maxPoints") Integer maxPoints,
+                            @Param("status") SolutionStatus status);
+
+    // Record a submission attempt that could not be graded, keeping the previous score
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Solution s SET s.attempts = s.attempts + 1, s.lastAttemptAt = :attemptAt, s.submittedCode = :submittedCode, " +
+           "s.status = :status, s.updatedAt = :attemptAt WHERE s.id.id = :solutionId")
+    int recordUngradedAttempt(@Param("solutionId") UUID solutionId, @Param("attemptAt") Date attemptAt,
+                              @Param("submittedCode") String submittedCode, @Param("status") SolutionStatus status);
 }
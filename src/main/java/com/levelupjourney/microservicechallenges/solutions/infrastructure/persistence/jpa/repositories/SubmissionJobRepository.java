@@ -0,0 +1,33 @@
+package com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Repository
+public interface SubmissionJobRepository extends JpaRepository<SubmissionJob, SubmissionJobId> {
+
+    // Count jobs in a given status (queue depth monitoring)
+    long countByStatus(SubmissionJobStatus status);
+
+    // Fail the unfinished jobs of a solution not updated since activeSince (left behind by a crashed instance),
+    // so they stop holding the single active job slot of the solution (uk_submission_jobs_active_solution)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SubmissionJob sj SET sj.status = :failed, sj.success = false, sj.message = :reason, sj.finishedAt = :now, sj.updatedAt = :now " +
+           "WHERE sj.solutionId.id = :solutionId AND sj.status IN ('QUEUED', 'RUNNING') AND sj.updatedAt <= :activeSince")
+    int failStalePendingJobs(@Param("solutionId") UUID solutionId,
+                             @Param("activeSince") Date activeSince,
+                             @Param("now") Date now,
+                             @Param("reason") String reason,
+                             @Param("failed") SubmissionJobStatus failed);
+}
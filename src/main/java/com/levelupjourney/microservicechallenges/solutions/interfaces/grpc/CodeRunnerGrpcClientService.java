@@ -2,28 +2,84 @@ package com.levelupjourney.microservicechallenges.solutions.interfaces.grpc;
 
 import com.levelupjourney.microservicechallenges.coderunner.grpc.*;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * gRPC client service for communicating with the CodeRunner microservice.
  * This service sends code execution requests and receives results.
+ * Calls go through the async stub, so a request in flight does not hold a thread while
+ * the CodeRunner evaluates it; every call gets a deadline and the number of calls in
+ * flight is capped.
  */
 @Service
 @Slf4j
 public class CodeRunnerGrpcClientService {
 
     @GrpcClient("code-runner")
-    private SolutionEvaluationServiceGrpc.SolutionEvaluationServiceBlockingStub evaluationStub;
+    private SolutionEvaluationServiceGrpc.SolutionEvaluationServiceStub evaluationStub;
+
+    private final CodeRunnerTestCaseCache testCaseCache;
+    private final long deadlineMs;
+    private final int maxInFlight;
+    private final Semaphore inFlightPermits;
+
+    public CodeRunnerGrpcClientService(CodeRunnerTestCaseCache testCaseCache,
+                                       @Value("${code-runner.evaluation.deadline-ms:60000}") long deadlineMs,
+                                       @Value("${code-runner.evaluation.max-in-flight:1000}") int maxInFlight) {
+        this.testCaseCache = testCaseCache;
+        this.deadlineMs = deadlineMs;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+    }
 
     /**
-     * Evaluate solution code with test cases
+     * Evaluate solution code with test cases, blocking until the CodeRunner answers
      */
-    public EvaluateSolutionResponse evaluateSolution(String challengeId, String codeVersionId, String studentId, 
-                                                      String code, List<TestCaseData> tests) {
+    public EvaluateSolutionResponse evaluateSolution(String challengeId, String codeVersionId, String suiteVersion,
+                                                      String studentId, String code, List<TestCaseData> tests) {
+        try {
+            return evaluateSolutionAsync(challengeId, codeVersionId, suiteVersion, studentId, code, tests).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evaluate solution code with test cases without blocking the calling thread.
+     * The returned future completes with the CodeRunner response, or exceptionally when the call
+     * fails, exceeds its deadline or the in-flight limit has been reached.
+     */
+    public CompletableFuture<EvaluateSolutionResponse> evaluateSolutionAsync(String challengeId, String codeVersionId,
+                                                                             String suiteVersion, String studentId, String code,
+                                                                             List<TestCaseData> tests) {
+        var future = new CompletableFuture<EvaluateSolutionResponse>();
+
+        if (!inFlightPermits.tryAcquire()) {
+            log.warn("⚠️ CodeRunner in-flight limit reached ({} calls), rejecting evaluation for student '{}'",
+                    maxInFlight, studentId);
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Too many evaluations in flight (limit " + maxInFlight + ")"));
+            return future;
+        }
+
         try {
             log.info("🚀 Preparing gRPC request to CodeRunner microservice");
             log.info("📤 Request details:");
@@ -33,54 +89,224 @@ public class CodeRunnerGrpcClientService {
             log.info("  - Code length: {} characters", code.length());
             log.info("  - Number of tests: {}", tests.size());
 
-            // Build test cases for the request
-            var testCases = tests.stream()
-                    .map(test -> TestCase.newBuilder()
-                            .setCodeVersionTestId(test.codeVersionTestId())
-                            .setInput(test.input())
-                            .setExpectedOutput(test.expectedOutput())
-                            .setCustomValidationCode(test.customValidationCode() != null ? test.customValidationCode() : "")
-                            .build())
-                    .toList();
-
-            // Build EvaluateSolutionRequest
-            EvaluateSolutionRequest request = EvaluateSolutionRequest.newBuilder()
-                    .setChallengeId(challengeId)
-                    .setCodeVersionId(codeVersionId)
-                    .setStudentId(studentId)
-                    .setCode(code)
-                    .addAllTests(testCases)
+            EvaluateSolutionRequest request = buildRequest(challengeId, codeVersionId, suiteVersion, studentId, code, tests);
+
+            log.info("🔄 Sending gRPC request to CodeRunner service (deadline {} ms)...", deadlineMs);
+
+            // Execute gRPC call, the observer runs on the gRPC executor once the response arrives
+            evaluationStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .evaluateSolution(request, new StreamObserver<>() {
+                        private EvaluateSolutionResponse response;
+
+                        @Override
+                        public void onNext(EvaluateSolutionResponse value) {
+                            this.response = value;
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            inFlightPermits.release();
+                            if (t instanceof StatusRuntimeException e) {
+                                log.error("❌ gRPC call to CodeRunner failed: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
+                                future.completeExceptionally(new RuntimeException("Failed to execute solution via gRPC: " + e.getMessage(), e));
+                            } else {
+                                log.error("❌ Unexpected error during gRPC call to CodeRunner: {}", t.getMessage(), t);
+                                future.completeExceptionally(new RuntimeException("Unexpected error during code execution: " + t.getMessage(), t));
+                            }
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            inFlightPermits.release();
+                            if (response == null) {
+                                future.completeExceptionally(new RuntimeException("CodeRunner completed the call without a response"));
+                                return;
+                            }
+                            logResponse(response);
+                            future.complete(response);
+                        }
+                    });
+
+        } catch (Exception e) {
+            inFlightPermits.release();
+            log.error("❌ Unexpected error during gRPC call to CodeRunner: {}", e.getMessage(), e);
+            future.completeExceptionally(new RuntimeException("Unexpected error during code execution: " + e.getMessage(), e));
+        }
+
+        return future;
+    }
+
+    /**
+     * Evaluate solution code streaming one result per test as soon as the CodeRunner finishes it.
+     * When a required test fails the call is cancelled, so the CodeRunner does not spend time on
+     * the remaining tests, and the future completes with a summary built from the results received.
+     *
+     * @param onTestResult Callback invoked on the gRPC executor for every finished test
+     * @return Future completed with the final summary of the evaluation
+     */
+    public CompletableFuture<EvaluateSolutionResponse> evaluateSolutionStream(String challengeId, String codeVersionId,
+                                                                              String suiteVersion, String studentId, String code,
+                                                                              List<TestCaseData> tests,
+                                                                              Consumer<TestCaseResult> onTestResult) {
+        var future = new CompletableFuture<EvaluateSolutionResponse>();
+
+        if (!inFlightPermits.tryAcquire()) {
+            log.warn("⚠️ CodeRunner in-flight limit reached ({} calls), rejecting evaluation for student '{}'",
+                    maxInFlight, studentId);
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Too many evaluations in flight (limit " + maxInFlight + ")"));
+            return future;
+        }
+
+        try {
+            log.info("🚀 Opening gRPC evaluation stream to CodeRunner for student '{}' ({} tests, deadline {} ms)",
+                    studentId, tests.size(), deadlineMs);
+
+            EvaluateSolutionRequest request = buildRequest(challengeId, codeVersionId, suiteVersion, studentId, code, tests).toBuilder()
+                    .setStopOnRequiredFailure(true)
                     .build();
 
-            log.info("🔄 Sending gRPC request to CodeRunner service...");
-            
-            // Execute gRPC call
-            EvaluateSolutionResponse response = evaluationStub.evaluateSolution(request);
-            
-            log.info("✅ gRPC EvaluateSolutionResponse received:");
-            log.info("  - Completed: {}", response.getCompleted());
-            log.info("  - Success: {}", response.getSuccess());
-            log.info("  - Total Tests: {}", response.getTotalTests());
-            log.info("  - Passed Tests: {}", response.getPassedTests());
-            log.info("  - Failed Tests: {}", response.getFailedTests());
-            log.info("  - Approved Test IDs: {}", response.getApprovedTestsList());
-            log.info("  - Execution Time: {} ms", response.getExecutionTimeMs());
-            log.info("  - Message: '{}'", response.getMessage());
-            
-            if (!response.getSuccess()) {
-                log.warn("⚠️ Execution had errors:");
-                log.warn("  - Error Type: '{}'", response.getErrorType());
-                log.warn("  - Error Message: '{}'", response.getErrorMessage());
-            }
+            evaluationStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .evaluateSolutionStream(request, new ClientResponseObserver<EvaluateSolutionRequest, EvaluateSolutionStreamResponse>() {
+                        private final List<TestCaseResult> results = new ArrayList<>();
+                        private ClientCallStreamObserver<EvaluateSolutionRequest> call;
+
+                        @Override
+                        public void beforeStart(ClientCallStreamObserver<EvaluateSolutionRequest> requestStream) {
+                            this.call = requestStream;
+                        }
+
+                        @Override
+                        public void onNext(EvaluateSolutionStreamResponse value) {
+                            if (future.isDone()) {
+                                return;
+                            }
+
+                            if (value.hasSummary()) {
+                                logResponse(value.getSummary());
+                                future.complete(value.getSummary());
+                                return;
+                            }
+
+                            if (!value.hasTestResult()) {
+                                return;
+                            }
+
+                            var result = value.getTestResult();
+                            results.add(result);
+                            log.info("🧪 Test '{}' {} ({} ms)", result.getCodeVersionTestId(),
+                                    result.getPassed() ? "passed" : "failed", result.getExecutionTimeMs());
+                            try {
+                                onTestResult.accept(result);
+                            } catch (Exception e) {
+                                log.warn("⚠️ Test result listener failed: {}", e.getMessage());
+                            }
+
+                            if (result.getRequired() && !result.getPassed()) {
+                                log.info("🛑 Required test '{}' failed, stopping evaluation early", result.getCodeVersionTestId());
+                                var summary = summarizeStoppedEvaluation(results, tests.size(), result);
+                                future.complete(summary);
+                                call.cancel("Required test failed", null);
+                            }
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            inFlightPermits.release();
+                            if (future.isDone()) {
+                                // Expected after cancelling the call on a required test failure
+                                return;
+                            }
+                            if (t instanceof StatusRuntimeException e) {
+                                log.error("❌ gRPC evaluation stream to CodeRunner failed: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
+                                future.completeExceptionally(new RuntimeException("Failed to execute solution via gRPC: " + e.getMessage(), e));
+                            } else {
+                                log.error("❌ Unexpected error during gRPC evaluation stream: {}", t.getMessage(), t);
+                                future.completeExceptionally(new RuntimeException("Unexpected error during code execution: " + t.getMessage(), t));
+                            }
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            inFlightPermits.release();
+                            if (!future.isDone()) {
+                                future.completeExceptionally(new RuntimeException("CodeRunner closed the evaluation stream without a summary"));
+                            }
+                        }
+                    });
 
-            return response;
-            
-        } catch (StatusRuntimeException e) {
-            log.error("❌ gRPC call to CodeRunner failed: {} - {}", e.getStatus().getCode(), e.getStatus().getDescription());
-            throw new RuntimeException("Failed to execute solution via gRPC: " + e.getMessage(), e);
         } catch (Exception e) {
+            inFlightPermits.release();
             log.error("❌ Unexpected error during gRPC call to CodeRunner: {}", e.getMessage(), e);
-            throw new RuntimeException("Unexpected error during code execution: " + e.getMessage(), e);
+            future.completeExceptionally(new RuntimeException("Unexpected error during code execution: " + e.getMessage(), e));
+        }
+
+        return future;
+    }
+
+    /**
+     * Number of evaluation calls currently waiting for the CodeRunner
+     */
+    public int getInFlightCalls() {
+        return maxInFlight - inFlightPermits.availablePermits();
+    }
+
+    private EvaluateSolutionRequest buildRequest(String challengeId, String codeVersionId, String suiteVersion,
+                                                 String studentId, String code, List<TestCaseData> tests) {
+        // Test cases are shared by every request for the same suite, only the student's data is new
+        var testCases = testCaseCache.getTestCases(codeVersionId, suiteVersion, tests);
+
+        // Build EvaluateSolutionRequest
+        return EvaluateSolutionRequest.newBuilder()
+                .setChallengeId(challengeId)
+                .setCodeVersionId(codeVersionId)
+                .setStudentId(studentId)
+                .setCode(code)
+                .addAllTests(testCases)
+                .build();
+    }
+
+    /**
+     * Build the summary of an evaluation stopped after a required test failed.
+     * Tests that never ran are counted as failed.
+     */
+    private EvaluateSolutionResponse summarizeStoppedEvaluation(List<TestCaseResult> results, int totalTests,
+                                                                TestCaseResult failedTest) {
+        var approvedTests = results.stream()
+                .filter(TestCaseResult::getPassed)
+                .map(TestCaseResult::getCodeVersionTestId)
+                .toList();
+        long executionTimeMs = results.stream().mapToLong(TestCaseResult::getExecutionTimeMs).sum();
+
+        return EvaluateSolutionResponse.newBuilder()
+                .addAllApprovedTests(approvedTests)
+                .setCompleted(false)
+                .setExecutionTimeMs(executionTimeMs)
+                .setTotalTests(totalTests)
+                .setPassedTests(approvedTests.size())
+                .setFailedTests(totalTests - approvedTests.size())
+                .setSuccess(false)
+                .setMessage("Evaluation stopped after required test " + failedTest.getCodeVersionTestId() + " failed")
+                .setErrorMessage(failedTest.getErrorMessage())
+                .setErrorType("required_test_failure")
+                .build();
+    }
+
+    private void logResponse(EvaluateSolutionResponse response) {
+        log.info("✅ gRPC EvaluateSolutionResponse received:");
+        log.info("  - Completed: {}", response.getCompleted());
+        log.info("  - Success: {}", response.getSuccess());
+        log.info("  - Total Tests: {}", response.getTotalTests());
+        log.info("  - Passed Tests: {}", response.getPassedTests());
+        log.info("  - Failed Tests: {}", response.getFailedTests());
+        log.info("  - Approved Test IDs: {}", response.getApprovedTestsList());
+        log.info("  - Execution Time: {} ms", response.getExecutionTimeMs());
+        log.info("  - Message: '{}'", response.getMessage());
+
+        if (!response.getSuccess()) {
+            log.warn("⚠️ Execution had errors:");
+            log.warn("  - Error Type: '{}'", response.getErrorType());
+            log.warn("  - Error Message: '{}'", response.getErrorMessage());
         }
     }
 
@@ -91,6 +317,7 @@ public class CodeRunnerGrpcClientService {
             String codeVersionTestId,
             String input,
             String expectedOutput,
-            String customValidationCode
+            String customValidationCode,
+            boolean required
     ) {}
-}
\ No newline at end of file
+}
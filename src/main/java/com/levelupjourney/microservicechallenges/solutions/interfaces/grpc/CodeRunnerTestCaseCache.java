@@ -0,0 +1,63 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.grpc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.ByteString;
+import com.levelupjourney.microservicechallenges.coderunner.grpc.TestCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Immutable {@link TestCase} messages per code version, shared by every evaluation request.
+ * <p>
+ * The tests of a code version are identical for every student, so the messages are built once
+ * and only the student's code and IDs change per request. String fields are stored as UTF-8
+ * {@link ByteString}s, so serializing a request copies bytes instead of re-encoding the tests.
+ * Entries are keyed by code version ID and suite version, so a changed suite never reuses
+ * stale messages and no explicit invalidation is needed.
+ */
+@Component
+public class CodeRunnerTestCaseCache {
+
+    public static final String CACHE_NAME = "code-runner-test-cases";
+
+    private final Cache<String, List<TestCase>> cache;
+
+    public CodeRunnerTestCaseCache(@Value("${code-runner.test-case-cache.max-size:500}") long maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the pre-built messages of a test suite, building them on a miss.
+     * Without a suite version the messages are built for this request only.
+     */
+    public List<TestCase> getTestCases(String codeVersionId, String suiteVersion,
+                                       List<CodeRunnerGrpcClientService.TestCaseData> tests) {
+        if (suiteVersion == null) {
+            return toTestCases(tests);
+        }
+        return cache.get(codeVersionId + ":" + suiteVersion, key -> toTestCases(tests));
+    }
+
+    private static List<TestCase> toTestCases(List<CodeRunnerGrpcClientService.TestCaseData> tests) {
+        return tests.stream()
+                .map(test -> TestCase.newBuilder()
+                        .setCodeVersionTestIdBytes(ByteString.copyFromUtf8(test.codeVersionTestId()))
+                        .setInputBytes(ByteString.copyFromUtf8(test.input()))
+                        .setExpectedOutputBytes(ByteString.copyFromUtf8(test.expectedOutput()))
+                        .setCustomValidationCodeBytes(ByteString.copyFromUtf8(
+                                test.customValidationCode() != null ? test.customValidationCode() : ""))
+                        .setRequired(test.required())
+                        .build())
+                .toList();
+    }
+}
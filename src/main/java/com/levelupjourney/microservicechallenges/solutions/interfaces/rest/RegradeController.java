@@ -0,0 +1,228 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetChallengeByIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.queries.GetCodeVersionByIdQuery;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeQueryService;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.CodeVersionQueryService;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.security.AuthenticatedUser;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.StartRegradeCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetRegradeJobByIdQuery;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.CodeVersionId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.RegradeJobId;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.RegradeJobCommandService;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.RegradeJobQueryService;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.RegradeJobResource;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resources.ErrorResponse;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform.RegradeJobResourceFromEntityAssembler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping(value = "/api/v1", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Solution Re-grades", description = "Endpoints for re-evaluating every solution of a code version after its tests change")
+@SecurityRequirement(name = "bearerAuth")
+public class RegradeController {
+
+    private final RegradeJobCommandService regradeJobCommandService;
+    private final RegradeJobQueryService regradeJobQueryService;
+    private final CodeVersionQueryService codeVersionQueryService;
+    private final ChallengeQueryService challengeQueryService;
+
+    public RegradeController(RegradeJobCommandService regradeJobCommandService,
+                             RegradeJobQueryService regradeJobQueryService,
+                             CodeVersionQueryService codeVersionQueryService,
+                             ChallengeQueryService challengeQueryService) {
+        this.regradeJobCommandService = regradeJobCommandService;
+        this.regradeJobQueryService = regradeJobQueryService;
+        this.codeVersionQueryService = codeVersionQueryService;
+        this.challengeQueryService = challengeQueryService;
+    }
+
+    // Re-grade every submitted solution of a code version
+    // POST /api/v1/challenges/{challengeId}/code-versions/{codeVersionId}/regrades
+    @PostMapping("/challenges/{challengeId}/code-versions/{codeVersionId}/regrades")
+    @Operation(
+        summary = "Re-grade all solutions of a code version",
+        description = "Re-evaluate every submitted solution of a code version against its current tests, typically after a test was fixed. Runs in the background and returns immediately with a re-grade ID that can be polled via GET /api/v1/regrades/{regradeId}. Only the teacher who owns the challenge or an admin can start a re-grade."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Re-grade accepted and queued",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RegradeJobResource.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Only the challenge owner or admins can re-grade solutions",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Challenge or code version not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A re-grade of this code version is already running",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many re-grades waiting, retry later",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<?> startRegrade(
+            @Parameter(description = "UUID of the challenge") @PathVariable String challengeId,
+            @Parameter(description = "UUID of the code version") @PathVariable String codeVersionId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract userId and roles from JWT token
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
+
+            // Authorization check: Only teachers or admins can re-grade
+            boolean isTeacherOrAdmin = roles.contains("ROLE_TEACHER") || roles.contains("ROLE_ADMIN");
+            if (!isTeacherOrAdmin) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only teachers or admins can re-grade solutions."));
+            }
+
+            // Verify the code version belongs to the challenge
+            var codeVersionQuery = new GetCodeVersionByIdQuery(
+                    new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId(
+                            UUID.fromString(codeVersionId)
+                    )
+            );
+            var codeVersion = codeVersionQueryService.handle(codeVersionQuery);
+            if (codeVersion.isEmpty() || !codeVersion.get().getChallengeId().id().equals(UUID.fromString(challengeId))) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Code version not found with id: " + codeVersionId));
+            }
+
+            // Ownership check: teachers can only re-grade their own challenges
+            var challenge = challengeQueryService.handle(new GetChallengeByIdQuery(new ChallengeId(UUID.fromString(challengeId))));
+            if (challenge.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Challenge not found with id: " + challengeId));
+            }
+            boolean isOwner = challenge.get().getTeacherId().id().toString().equals(currentUserId);
+            if (!isOwner && !roles.contains("ROLE_ADMIN")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only the owner of the challenge or an admin can re-grade its solutions."));
+            }
+
+            var command = new StartRegradeCommand(new CodeVersionId(UUID.fromString(codeVersionId)), currentUserId);
+            var regradeJobId = regradeJobCommandService.handle(command);
+
+            var job = regradeJobQueryService.handle(new GetRegradeJobByIdQuery(regradeJobId));
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new ErrorResponse("Failed to queue re-grade"));
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/api/v1/regrades/" + regradeJobId.id())
+                    .body(RegradeJobResourceFromEntityAssembler.toResourceFromEntity(job.get()));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid ID format: " + e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "60")
+                    .body(new ErrorResponse("Too many re-grades waiting. Please retry later."));
+        }
+    }
+
+    // Poll the progress of a re-grade
+    // GET /api/v1/regrades/{regradeId}
+    @GetMapping("/regrades/{regradeId}")
+    @Operation(
+        summary = "Get re-grade progress",
+        description = "Retrieve the status and progress counters of a re-grade started with POST /api/v1/challenges/{challengeId}/code-versions/{codeVersionId}/regrades. Only the owner of the challenge or an admin can view its re-grades."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Re-grade progress retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RegradeJobResource.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Only the owner of the challenge or an admin can view its re-grades",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Re-grade not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid ID format",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<?> getRegrade(
+            @Parameter(description = "UUID of the re-grade") @PathVariable String regradeId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract userId and roles from JWT token
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
+
+            boolean isTeacherOrAdmin = roles.contains("ROLE_TEACHER") || roles.contains("ROLE_ADMIN");
+            if (!isTeacherOrAdmin) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only teachers or admins can view re-grades."));
+            }
+
+            var job = regradeJobQueryService.handle(new GetRegradeJobByIdQuery(new RegradeJobId(UUID.fromString(regradeId))));
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Re-grade not found: " + regradeId));
+            }
+
+            // Ownership check: teachers can only view re-grades of their own challenges
+            var codeVersion = codeVersionQueryService.handle(new GetCodeVersionByIdQuery(
+                    new com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeVersionId(
+                            job.get().getCodeVersionId().id()
+                    )
+            ));
+            var challenge = codeVersion.flatMap(version ->
+                    challengeQueryService.handle(new GetChallengeByIdQuery(new ChallengeId(version.getChallengeId().id()))));
+            boolean isOwner = challenge.isPresent()
+                    && challenge.get().getTeacherId().id().toString().equals(currentUserId);
+            if (!isOwner && !roles.contains("ROLE_ADMIN")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only the owner of the challenge or an admin can view its re-grades."));
+            }
+
+            return ResponseEntity.ok(RegradeJobResourceFromEntityAssembler.toResourceFromEntity(job.get()));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid ID format: " + e.getMessage()));
+        }
+    }
+}
@@ -5,16 +5,25 @@ import com.levelupjourney.microservicechallenges.challenges.domain.services.Code
 import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSolutionByChallengeIdAndCodeVersionIdAndStudentIdQuery;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSolutionByIdQuery;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSolutionByStudentIdAndCodeVersionIdQuery;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.queries.GetSubmissionJobByIdQuery;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.EnqueueSubmissionCommand;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.ChallengeId;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.CodeVersionId;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionId;
 import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.StudentId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionJobId;
 import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionCommandService;
 import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionQueryService;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobCommandService;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobListener;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SubmissionJobQueryService;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.concurrency.SubmissionAdmissionController;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.*;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resources.ErrorResponse;
 import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform.*;
-import com.levelupjourney.microservicechallenges.shared.infrastructure.security.JwtUtil;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,14 +33,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping(value = "/api/v1", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -39,19 +51,27 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class SolutionController {
 
+    private static final long SUBMISSION_STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
     private final SolutionCommandService solutionCommandService;
     private final SolutionQueryService solutionQueryService;
     private final CodeVersionQueryService codeVersionQueryService;
-    private final JwtUtil jwtUtil;
+    private final SubmissionJobCommandService submissionJobCommandService;
+    private final SubmissionJobQueryService submissionJobQueryService;
+    private final SubmissionAdmissionController admissionController;
 
     public SolutionController(SolutionCommandService solutionCommandService,
                               SolutionQueryService solutionQueryService,
                               CodeVersionQueryService codeVersionQueryService,
-                              JwtUtil jwtUtil) {
+                              SubmissionJobCommandService submissionJobCommandService,
+                              SubmissionJobQueryService submissionJobQueryService,
+                              SubmissionAdmissionController admissionController) {
         this.solutionCommandService = solutionCommandService;
         this.solutionQueryService = solutionQueryService;
         this.codeVersionQueryService = codeVersionQueryService;
-        this.jwtUtil = jwtUtil;
+        this.submissionJobCommandService = submissionJobCommandService;
+        this.submissionJobQueryService = submissionJobQueryService;
+        this.admissionController = admissionController;
     }
 
     // Create a new solution for a challenge's code version
@@ -92,11 +112,10 @@ public class SolutionController {
     public ResponseEntity<?> createSolution(
             @Parameter(description = "UUID of the challenge") @PathVariable String challengeId,
             @Parameter(description = "UUID of the code version") @PathVariable String codeVersionId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract studentId from JWT token
-            String authorizationHeader = request.getHeader("Authorization");
-            String studentId = jwtUtil.extractUserId(authorizationHeader);
+            String studentId = currentUser.userId();
             
             // Check if solution already exists for this student and code version
             var existingQuery = new GetSolutionByChallengeIdAndCodeVersionIdAndStudentIdQuery(
@@ -235,12 +254,11 @@ public class SolutionController {
     public ResponseEntity<?> getSolutionByContext(
             @Parameter(description = "UUID of the challenge") @PathVariable String challengeId,
             @Parameter(description = "UUID of the code version") @PathVariable String codeVersionId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
 
         try {
             // Extract studentId from JWT token (student's own solution)
-            String authorizationHeader = request.getHeader("Authorization");
-            String studentId = jwtUtil.extractUserId(authorizationHeader);
+            String studentId = currentUser.userId();
 
             // Transform path variables to domain query
             var query = new GetSolutionByChallengeIdAndCodeVersionIdAndStudentIdQuery(
@@ -441,13 +459,12 @@ public class SolutionController {
             @PathVariable String solutionId,
             
             @RequestBody @jakarta.validation.Valid UpdateSolutionResource resource,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         try {
             // Extract userId and roles from JWT token
-            String authorizationHeader = request.getHeader("Authorization");
-            String currentUserId = jwtUtil.extractUserId(authorizationHeader);
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
             
             // Get the solution to verify ownership
             var solutionQuery = new GetSolutionByIdQuery(new SolutionId(UUID.fromString(solutionId)));
@@ -550,6 +567,16 @@ public class SolutionController {
             description = "Invalid request or ID format",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many submissions from this student, retry after the Retry-After header",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Code runner is busy, retry after the Retry-After header",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Evaluation failed or internal server error",
@@ -558,12 +585,11 @@ public class SolutionController {
     })
     public ResponseEntity<?> submitSolution(
             @Parameter(description = "UUID of the solution") @PathVariable String solutionId,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
             // Extract userId and roles from JWT token
-            String authorizationHeader = request.getHeader("Authorization");
-            String currentUserId = jwtUtil.extractUserId(authorizationHeader);
-            List<String> roles = jwtUtil.extractRoles(authorizationHeader);
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
             
             // Get the solution to verify ownership
             var solutionQuery = new GetSolutionByIdQuery(new SolutionId(UUID.fromString(solutionId)));
@@ -585,6 +611,14 @@ public class SolutionController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(new ErrorResponse("Access denied. Only the solution owner, teachers, or admins can submit this solution for evaluation."));
             }
+
+            // Rate limit per student before any evaluation work is done
+            var admission = admissionController.tryAdmit(currentUserId);
+            if (!admission.admitted()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header("Retry-After", String.valueOf(admission.retryAfterSeconds()))
+                        .body(new ErrorResponse("Too many submissions. Please retry in " + admission.retryAfterSeconds() + " seconds."));
+            }
             
             // Get the code from the solution
             String code = solution.getCode();
@@ -600,17 +634,7 @@ public class SolutionController {
             var submissionResult = solutionCommandService.handle(command);
 
             // Transform domain result to resource
-            var result = new SubmissionResultResource(
-                    submissionResult.solutionReportId() != null ? 
-                        submissionResult.solutionReportId().value().toString() : null,
-                    submissionResult.message(),
-                    submissionResult.success(),
-                    submissionResult.approvedTestIds(),
-                    submissionResult.totalTests(),
-                    submissionResult.getPassedTests(),
-                    submissionResult.executionDetails(),
-                    submissionResult.timeTaken()
-            );
+            var result = SubmissionResultResourceFromResultAssembler.toResourceFromResult(submissionResult);
 
             if (submissionResult.success()) {
                 return ResponseEntity.ok(result);
@@ -621,6 +645,10 @@ public class SolutionController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Invalid ID format: " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(new ErrorResponse("Code runner is busy. Please retry in a few seconds."));
         } catch (Exception e) {
             var errorResult = new SubmissionResultResource(
                     null,
@@ -635,4 +663,295 @@ public class SolutionController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResult);
         }
     }
-}
\ No newline at end of file
+
+    // Submit a solution for asynchronous evaluation
+    // PUT /api/v1/solutions/{solutionId}/submissions?async=true
+    @PutMapping(value = "/solutions/{solutionId}/submissions", params = "async=true")
+    @Operation(
+        summary = "Submit solution for asynchronous evaluation",
+        description = "Queue a solution to be evaluated by the code runner service in the background. Returns immediately with a submission ID that can be polled via GET /api/v1/solutions/{solutionId}/submissions/{submissionId}. Only the solution owner (student), teachers, or admins can submit solutions for evaluation."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Submission accepted and queued for evaluation",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionJobResource.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Only the solution owner, teachers, or admins can submit solutions",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Solution not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A submission for this solution is already queued or running",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many submissions from this student, retry after the Retry-After header",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Submission queue is full, retry later",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<?> submitSolutionAsync(
+            @Parameter(description = "UUID of the solution") @PathVariable String solutionId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract userId and roles from JWT token
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
+
+            // Get the solution to verify ownership
+            var solutionQuery = new GetSolutionByIdQuery(new SolutionId(UUID.fromString(solutionId)));
+            var solutionOptional = solutionQueryService.handle(solutionQuery);
+
+            if (solutionOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Solution not found: " + solutionId));
+            }
+
+            var solution = solutionOptional.get();
+
+            // Authorization check: Only solution owner, teachers, or admins can submit
+            boolean isOwner = currentUserId.equals(solution.getStudentId().id().toString());
+            boolean isTeacherOrAdmin = roles.contains("ROLE_TEACHER") || roles.contains("ROLE_ADMIN");
+
+            if (!isOwner && !isTeacherOrAdmin) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only the solution owner, teachers, or admins can submit this solution for evaluation."));
+            }
+
+            // Rate limit per student before any evaluation work is done
+            var admission = admissionController.tryAdmit(currentUserId);
+            if (!admission.admitted()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header("Retry-After", String.valueOf(admission.retryAfterSeconds()))
+                        .body(new ErrorResponse("Too many submissions. Please retry in " + admission.retryAfterSeconds() + " seconds."));
+            }
+
+            // Queue the same command the synchronous endpoint executes
+            var command = new EnqueueSubmissionCommand(
+                SubmitSolutionCommandFromResourceAssembler.toCommandFromResource(solutionId, solution.getCode(), currentUserId)
+            );
+            var submissionJobId = submissionJobCommandService.handle(command);
+
+            var job = submissionJobQueryService.handle(new GetSubmissionJobByIdQuery(submissionJobId));
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new ErrorResponse("Failed to queue submission"));
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/api/v1/solutions/" + solutionId + "/submissions/" + submissionJobId.id())
+                    .body(SubmissionJobResourceFromEntityAssembler.toResourceFromEntity(job.get()));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid ID format: " + e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(new ErrorResponse("Submission queue is full. Please retry in a few seconds."));
+        }
+    }
+
+    // Poll the status and result of an asynchronous submission
+    // GET /api/v1/solutions/{solutionId}/submissions/{submissionId}
+    @GetMapping("/solutions/{solutionId}/submissions/{submissionId}")
+    @Operation(
+        summary = "Get asynchronous submission status",
+        description = "Retrieve the status of a submission queued with PUT /api/v1/solutions/{solutionId}/submissions?async=true. The evaluation result is included once the submission has finished."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Submission status retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionJobResource.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Only the solution owner, teachers, or admins can view submissions",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Submission not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid ID format",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<?> getSubmission(
+            @Parameter(description = "UUID of the solution") @PathVariable String solutionId,
+            @Parameter(description = "UUID of the submission") @PathVariable String submissionId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract userId and roles from JWT token
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
+
+            var query = new GetSubmissionJobByIdQuery(new SubmissionJobId(UUID.fromString(submissionId)));
+            var jobOptional = submissionJobQueryService.handle(query);
+
+            if (jobOptional.isEmpty() || !jobOptional.get().getSolutionId().id().toString().equals(solutionId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Submission not found: " + submissionId));
+            }
+
+            var job = jobOptional.get();
+
+            // Authorization check: Only the submitter, teachers, or admins can view the submission
+            boolean isOwner = currentUserId != null && currentUserId.equals(job.getStudentId().id().toString());
+            boolean isTeacherOrAdmin = roles.contains("ROLE_TEACHER") || roles.contains("ROLE_ADMIN");
+
+            if (!isOwner && !isTeacherOrAdmin) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(new ErrorResponse("Access denied. Only the solution owner, teachers, or admins can view this submission."));
+            }
+
+            return ResponseEntity.ok(SubmissionJobResourceFromEntityAssembler.toResourceFromEntity(job));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid ID format: " + e.getMessage()));
+        }
+    }
+
+    // Submit a solution and stream the result of every test as server-sent events
+    // PUT /api/v1/solutions/{solutionId}/submissions?stream=true
+    @PutMapping(value = "/solutions/{solutionId}/submissions", params = "stream=true", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Submit solution and stream test results",
+        description = "Queue a solution for evaluation and stream its progress as server-sent events: 'started' (SubmissionJobResource), one 'test-result' per finished test (TestCaseResultResource) and a final 'result' (SubmissionJobResource). The evaluation stops as soon as a required test fails. If the connection drops, the submission can still be polled via GET /api/v1/solutions/{solutionId}/submissions/{submissionId}."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Event stream with the evaluation progress",
+            content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = TestCaseResultResource.class))
+        ),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Only the solution owner, teachers, or admins can submit solutions"),
+        @ApiResponse(responseCode = "404", description = "Solution not found"),
+        @ApiResponse(responseCode = "409", description = "A submission for this solution is already queued or running"),
+        @ApiResponse(responseCode = "429", description = "Too many submissions from this student, retry after the Retry-After header"),
+        @ApiResponse(responseCode = "503", description = "Submission queue is full, retry later")
+    })
+    public ResponseEntity<SseEmitter> submitSolutionStream(
+            @Parameter(description = "UUID of the solution") @PathVariable String solutionId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            // Extract userId and roles from JWT token
+            String currentUserId = currentUser.userId();
+            List<String> roles = currentUser.roles();
+
+            // Get the solution to verify ownership
+            var solutionQuery = new GetSolutionByIdQuery(new SolutionId(UUID.fromString(solutionId)));
+            var solutionOptional = solutionQueryService.handle(solutionQuery);
+
+            if (solutionOptional.isEmpty()) {
+                return errorStream(HttpStatus.NOT_FOUND, "Solution not found: " + solutionId);
+            }
+
+            var solution = solutionOptional.get();
+
+            // Authorization check: Only solution owner, teachers, or admins can submit
+            boolean isOwner = currentUserId.equals(solution.getStudentId().id().toString());
+            boolean isTeacherOrAdmin = roles.contains("ROLE_TEACHER") || roles.contains("ROLE_ADMIN");
+
+            if (!isOwner && !isTeacherOrAdmin) {
+                return errorStream(HttpStatus.FORBIDDEN,
+                        "Access denied. Only the solution owner, teachers, or admins can submit this solution for evaluation.");
+            }
+
+            // Rate limit per student before any evaluation work is done
+            var admission = admissionController.tryAdmit(currentUserId);
+            if (!admission.admitted()) {
+                var response = errorStream(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many submissions. Please retry in " + admission.retryAfterSeconds() + " seconds.");
+                return ResponseEntity.status(response.getStatusCode())
+                        .header("Retry-After", String.valueOf(admission.retryAfterSeconds()))
+                        .body(response.getBody());
+            }
+
+            var emitter = new SseEmitter(SUBMISSION_STREAM_TIMEOUT_MS);
+            var command = new EnqueueSubmissionCommand(
+                SubmitSolutionCommandFromResourceAssembler.toCommandFromResource(solutionId, solution.getCode(), currentUserId)
+            );
+            submissionJobCommandService.handle(command, streamingListener(emitter));
+
+            return ResponseEntity.ok(emitter);
+
+        } catch (IllegalArgumentException e) {
+            return errorStream(HttpStatus.BAD_REQUEST, "Invalid ID format: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            return errorStream(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            var response = errorStream(HttpStatus.SERVICE_UNAVAILABLE, "Submission queue is full. Please retry in a few seconds.");
+            return ResponseEntity.status(response.getStatusCode())
+                    .header("Retry-After", "5")
+                    .body(response.getBody());
+        }
+    }
+
+    /**
+     * Relay the progress of a submission job to the client as server-sent events.
+     * Send failures mean the client went away; the job keeps running and can still be polled.
+     */
+    private SubmissionJobListener streamingListener(SseEmitter emitter) {
+        return new SubmissionJobListener() {
+            @Override
+            public void onStarted(SubmissionJob job) {
+                send("started", SubmissionJobResourceFromEntityAssembler.toResourceFromEntity(job));
+            }
+
+            @Override
+            public void onTestResult(TestCaseProgress progress) {
+                send("test-result", TestCaseResultResourceFromProgressAssembler.toResourceFromProgress(progress));
+            }
+
+            @Override
+            public void onFinished(SubmissionJob job) {
+                send("result", SubmissionJobResourceFromEntityAssembler.toResourceFromEntity(job));
+                emitter.complete();
+            }
+
+            private void send(String eventName, Object data) {
+                try {
+                    emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // Client disconnected or the emitter timed out
+                }
+            }
+        };
+    }
+
+    /**
+     * Build an event stream carrying a single 'error' event with the given status
+     */
+    private ResponseEntity<SseEmitter> errorStream(HttpStatus status, String message) {
+        var emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name("error").data(new ErrorResponse(message), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.status(status).body(emitter);
+    }
+}
@@ -0,0 +1,50 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resource representing the progress of a code version re-grade
+ */
+@Schema(
+    name = "RegradeJobResource",
+    description = "Progress of a re-grade of every submitted solution of a code version"
+)
+public record RegradeJobResource(
+        @Schema(description = "Unique identifier of the re-grade, used for polling", example = "550e8400-e29b-41d4-a716-446655440020")
+        String regradeId,
+
+        @Schema(description = "Unique identifier of the re-graded code version", example = "550e8400-e29b-41d4-a716-446655440001")
+        String codeVersionId,
+
+        @Schema(
+            description = "Current status of the re-grade",
+            example = "RUNNING",
+            allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED"}
+        )
+        String status,
+
+        @Schema(description = "Submitted solutions to re-grade", example = "10000")
+        int totalSolutions,
+
+        @Schema(description = "Solutions already processed", example = "4500")
+        int processedSolutions,
+
+        @Schema(description = "Solutions whose score was rewritten", example = "4480")
+        int regradedSolutions,
+
+        @Schema(description = "Solutions that could not be evaluated and kept their previous score", example = "3")
+        int failedSolutions,
+
+        @Schema(description = "Summary or failure reason once the re-grade has finished", example = "9990 of 10000 solutions re-graded, 3 failed", nullable = true)
+        String message,
+
+        @Schema(description = "Timestamp when the re-grade was requested in ISO 8601 format", example = "2025-10-23T14:30:00Z")
+        String requestedAt,
+
+        @Schema(description = "Timestamp when the re-grade started in ISO 8601 format", example = "2025-10-23T14:30:01Z", nullable = true)
+        String startedAt,
+
+        @Schema(description = "Timestamp when the re-grade finished in ISO 8601 format", example = "2025-10-23T14:36:12Z", nullable = true)
+        String finishedAt
+) {
+}
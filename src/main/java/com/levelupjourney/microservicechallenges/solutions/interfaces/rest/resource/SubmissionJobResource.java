@@ -0,0 +1,41 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resource representing an asynchronous submission and, once finished, its evaluation result
+ */
+@Schema(
+    name = "SubmissionJobResource",
+    description = "Status of a solution submission evaluated in the background. The result is present once the status is COMPLETED, FAILED or REJECTED."
+)
+public record SubmissionJobResource(
+        @Schema(description = "Unique identifier of the submission, used for polling", example = "550e8400-e29b-41d4-a716-446655440010")
+        String submissionId,
+
+        @Schema(description = "Unique identifier of the submitted solution", example = "550e8400-e29b-41d4-a716-446655440000")
+        String solutionId,
+
+        @Schema(
+            description = "Current status of the submission",
+            example = "QUEUED",
+            allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED", "REJECTED"}
+        )
+        String status,
+
+        @Schema(description = "Timestamp when the submission was accepted in ISO 8601 format", example = "2025-10-23T14:30:00Z")
+        String submittedAt,
+
+        @Schema(description = "Timestamp when the evaluation started in ISO 8601 format", example = "2025-10-23T14:30:01Z", nullable = true)
+        String startedAt,
+
+        @Schema(description = "Timestamp when the evaluation finished in ISO 8601 format", example = "2025-10-23T14:30:04Z", nullable = true)
+        String finishedAt,
+
+        @Schema(description = "Seconds to wait before submitting again, only present when the status is REJECTED (code runner saturated, no attempt recorded)", example = "5", nullable = true)
+        Integer retryAfterSeconds,
+
+        @Schema(description = "Evaluation result, available once the submission has finished", nullable = true)
+        SubmissionResultResource result
+) {
+}
@@ -0,0 +1,34 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resource representing the result of a single test, streamed while a submission is evaluated
+ */
+@Schema(
+    name = "TestCaseResultResource",
+    description = "Outcome of one test, sent as a 'test-result' server-sent event as soon as the test finishes"
+)
+public record TestCaseResultResource(
+        @Schema(description = "Unique identifier of the code version test", example = "550e8400-e29b-41d4-a716-446655440020")
+        String codeVersionTestId,
+
+        @Schema(description = "Whether the test passed", example = "true")
+        boolean passed,
+
+        @Schema(description = "Whether a failure of this test stops the evaluation", example = "true")
+        boolean required,
+
+        @Schema(description = "Execution time of the test in milliseconds", example = "42")
+        long executionTimeMs,
+
+        @Schema(description = "Error message when the test failed", example = "Expected 4 but got 5", nullable = true)
+        String errorMessage,
+
+        @Schema(description = "Zero-based position of the test in the code version", example = "0")
+        int index,
+
+        @Schema(description = "Total number of tests in the submission", example = "50")
+        int totalTests
+) {
+}
@@ -0,0 +1,33 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.RegradeJob;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.RegradeJobResource;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+public class RegradeJobResourceFromEntityAssembler {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+
+    public static RegradeJobResource toResourceFromEntity(RegradeJob entity) {
+        return new RegradeJobResource(
+            entity.getId().id().toString(),
+            entity.getCodeVersionId().id().toString(),
+            entity.getStatus().name(),
+            entity.getTotalSolutions(),
+            entity.getProcessedSolutions(),
+            entity.getRegradedSolutions(),
+            entity.getFailedSolutions(),
+            entity.getMessage(),
+            format(entity.getCreatedAt()),
+            format(entity.getStartedAt()),
+            format(entity.getFinishedAt())
+        );
+    }
+
+    private static String format(Date date) {
+        // SimpleDateFormat is not thread-safe, so a new instance is used per call
+        return date != null ? new SimpleDateFormat(DATE_PATTERN).format(date) : null;
+    }
+}
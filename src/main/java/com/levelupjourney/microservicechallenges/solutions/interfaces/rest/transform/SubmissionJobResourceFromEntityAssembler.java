@@ -0,0 +1,31 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.SubmissionJob;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.SubmissionJobResource;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+public class SubmissionJobResourceFromEntityAssembler {
+
+    private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+
+    public static SubmissionJobResource toResourceFromEntity(SubmissionJob entity) {
+        var result = entity.toSubmissionResult();
+        return new SubmissionJobResource(
+            entity.getId().id().toString(),
+            entity.getSolutionId().id().toString(),
+            entity.getStatus().name(),
+            format(entity.getCreatedAt()),
+            format(entity.getStartedAt()),
+            format(entity.getFinishedAt()),
+            entity.getRetryAfterSeconds(),
+            result != null ? SubmissionResultResourceFromResultAssembler.toResourceFromResult(result) : null
+        );
+    }
+
+    private static String format(Date date) {
+        // SimpleDateFormat is not thread-safe, so a new instance is used per call
+        return date != null ? new SimpleDateFormat(DATE_PATTERN).format(date) : null;
+    }
+}
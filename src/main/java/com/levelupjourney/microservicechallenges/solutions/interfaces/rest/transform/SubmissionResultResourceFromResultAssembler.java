@@ -0,0 +1,21 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SubmissionResult;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.SubmissionResultResource;
+
+public class SubmissionResultResourceFromResultAssembler {
+
+    public static SubmissionResultResource toResourceFromResult(SubmissionResult submissionResult) {
+        return new SubmissionResultResource(
+                submissionResult.solutionReportId() != null ?
+                    submissionResult.solutionReportId().value().toString() : null,
+                submissionResult.message(),
+                submissionResult.success(),
+                submissionResult.approvedTestIds(),
+                submissionResult.totalTests(),
+                submissionResult.getPassedTests(),
+                submissionResult.executionDetails(),
+                submissionResult.timeTaken()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest.transform;
+
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.TestCaseProgress;
+import com.levelupjourney.microservicechallenges.solutions.interfaces.rest.resource.TestCaseResultResource;
+
+public class TestCaseResultResourceFromProgressAssembler {
+
+    public static TestCaseResultResource toResourceFromProgress(TestCaseProgress progress) {
+        return new TestCaseResultResource(
+                progress.codeVersionTestId(),
+                progress.passed(),
+                progress.required(),
+                progress.executionTimeMs(),
+                progress.errorMessage() != null && !progress.errorMessage().isEmpty() ? progress.errorMessage() : null,
+                progress.index(),
+                progress.totalTests()
+        );
+    }
+}
@@ -7,11 +7,13 @@ import com.levelupjourney.microservicechallenges.solutionsreports.domain.model.q
 import com.levelupjourney.microservicechallenges.solutionsreports.domain.services.SolutionReportQueryService;
 import com.levelupjourney.microservicechallenges.solutionsreports.infrastructure.persistence.jpa.repositories.SolutionReportRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class SolutionReportQueryServiceImpl implements SolutionReportQueryService {
     
     private final SolutionReportRepository solutionReportRepository;
@@ -1,6 +1,7 @@
 package com.levelupjourney.microservicechallenges.solutionsreports.domain.model.aggregates;
 
 import com.levelupjourney.microservicechallenges.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerators;
 import com.levelupjourney.microservicechallenges.solutionsreports.domain.model.commands.CreateSolutionReportCommand;
 import com.levelupjourney.microservicechallenges.solutionsreports.domain.model.valueobjects.CodeVersionTestId;
 import com.levelupjourney.microservicechallenges.solutionsreports.domain.model.valueobjects.SolutionId;
@@ -11,11 +12,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
-import java.util.UUID;
 
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_solution_reports_solution_id", columnNames = "solution_id"),
+    indexes = @Index(name = "idx_solution_reports_student_id", columnList = "student_id"))
 public class SolutionReport extends AuditableAbstractAggregateRoot<SolutionReport> {
     
     @EmbeddedId
@@ -30,7 +32,8 @@ public class SolutionReport extends AuditableAbstractAggregateRoot<SolutionRepor
     private StudentId studentId;
     
     @ElementCollection
-    @CollectionTable(name = "solution_report_successful_tests", joinColumns = @JoinColumn(name = "solution_report_id"))
+    @CollectionTable(name = "solution_report_successful_tests", joinColumns = @JoinColumn(name = "solution_report_id"),
+        indexes = @Index(name = "idx_solution_report_successful_tests_report", columnList = "solution_report_id"))
     @AttributeOverride(name = "id", column = @Column(name = "code_version_test_id"))
     private List<CodeVersionTestId> successfulTests;
     
@@ -39,7 +42,7 @@ public class SolutionReport extends AuditableAbstractAggregateRoot<SolutionRepor
     private Double memoryUsed;
 
     public SolutionReport(CreateSolutionReportCommand command) {
-        this.id = new SolutionReportId(UUID.randomUUID());
+        this.id = new SolutionReportId(IdGenerators.nextId());
         this.solutionId = command.solutionId();
         this.studentId = command.studentId();
         this.successfulTests = command.successfulTests();
@@ -0,0 +1,13 @@
+-- One QUEUED or RUNNING job per solution, enforced by the database so two concurrent submissions cannot both pass the check.
+-- Older duplicates left behind (e.g. by a crashed instance) are failed first so the index can be built.
+UPDATE submission_jobs j
+SET status = 'FAILED', success = false, finished_at = now(), updated_at = now(),
+    message = 'Abandoned: superseded by a newer submission of the same solution'
+WHERE j.status IN ('QUEUED', 'RUNNING')
+  AND EXISTS (SELECT 1 FROM submission_jobs n
+              WHERE n.solution_id = j.solution_id
+                AND n.status IN ('QUEUED', 'RUNNING')
+                AND (n.created_at > j.created_at OR (n.created_at = j.created_at AND n.id > j.id)));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_submission_jobs_active_solution ON submission_jobs (solution_id)
+    WHERE status IN ('QUEUED', 'RUNNING');
@@ -0,0 +1,6 @@
+-- Submissions turned away by admission control end as REJECTED with a retry-after hint instead of FAILED
+ALTER TABLE submission_jobs ADD COLUMN IF NOT EXISTS retry_after_seconds integer;
+
+ALTER TABLE submission_jobs DROP CONSTRAINT IF EXISTS submission_jobs_status_check;
+ALTER TABLE submission_jobs ADD CONSTRAINT submission_jobs_status_check
+    CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'REJECTED'));
@@ -0,0 +1,99 @@
+-- Schema as created by ddl-auto: update before migrations were introduced, without any table, index or
+-- constraint added since. Databases that already have it are baselined at this version and start at V2
+
+CREATE TABLE challenges (
+    experience_points integer,
+    max_attempts_before_guides integer,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    id uuid NOT NULL,
+    teacher_id uuid,
+    difficulty varchar(255) DEFAULT 'MEDIUM' CHECK (difficulty IN ('EASY', 'MEDIUM', 'HARD', 'EXPERT')),
+    name varchar(255) NOT NULL,
+    status varchar(255) NOT NULL CHECK (status IN ('DRAFT', 'PUBLISHED', 'HIDDEN')),
+    description text,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE challenge_guides (
+    challenge_id uuid NOT NULL,
+    guide_id uuid,
+    CONSTRAINT fk_challenge_guides_challenge FOREIGN KEY (challenge_id) REFERENCES challenges
+);
+
+CREATE TABLE challenge_tags (
+    challenge_id uuid NOT NULL,
+    tag varchar(255),
+    CONSTRAINT fk_challenge_tags_challenge FOREIGN KEY (challenge_id) REFERENCES challenges
+);
+
+CREATE TABLE challenge_stars (
+    challenge_id uuid NOT NULL,
+    starred_at timestamp(6) NOT NULL,
+    user_id varchar(255) NOT NULL,
+    CONSTRAINT fk_challenge_stars_challenge FOREIGN KEY (challenge_id) REFERENCES challenges
+);
+
+CREATE TABLE challenge_likes (
+    liked_at timestamp(6) NOT NULL,
+    challenge_id uuid NOT NULL,
+    user_id uuid NOT NULL,
+    PRIMARY KEY (challenge_id, user_id)
+);
+
+CREATE TABLE code_versions (
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    challenge_id uuid,
+    id uuid NOT NULL,
+    function_name varchar(255),
+    initial_code text,
+    language varchar(255) NOT NULL CHECK (language IN ('JAVA', 'C_PLUS_PLUS', 'JAVASCRIPT', 'PYTHON')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE code_version_tests (
+    is_secret boolean NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    code_version_id uuid,
+    id uuid NOT NULL,
+    custom_validation_code text,
+    expected_output text,
+    failure_message text,
+    input text,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE solutions (
+    attempts integer,
+    max_points integer,
+    points_earned integer,
+    created_at timestamp(6) NOT NULL,
+    last_attempt_at timestamp(6),
+    updated_at timestamp(6) NOT NULL,
+    challenge_id uuid,
+    code_version_id uuid,
+    id uuid NOT NULL,
+    student_id uuid,
+    status varchar(255) NOT NULL CHECK (status IN ('NO_TESTED', 'IN_PROGRESS', 'SUCCESS', 'FAILED', 'MAX_ATTEMPTS_REACHED')),
+    code text NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE solution_reports (
+    memory_used float(53),
+    time_taken float(53),
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    id uuid NOT NULL,
+    solution_id uuid,
+    student_id uuid,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE solution_report_successful_tests (
+    code_version_test_id uuid,
+    solution_report_id uuid NOT NULL,
+    CONSTRAINT fk_solution_report_successful_tests_report FOREIGN KEY (solution_report_id) REFERENCES solution_reports
+);
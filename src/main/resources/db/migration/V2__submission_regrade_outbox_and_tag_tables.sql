@@ -0,0 +1,62 @@
+-- Tables added after the baseline: asynchronous submissions, re-grades, the transactional outbox and the tag
+-- dictionary. IF NOT EXISTS because databases that ran those versions with ddl-auto: update already have them
+
+CREATE TABLE IF NOT EXISTS submission_jobs (
+    success boolean,
+    time_taken float(53),
+    total_tests integer,
+    created_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    started_at timestamp(6),
+    updated_at timestamp(6) NOT NULL,
+    id uuid NOT NULL,
+    solution_id uuid,
+    solution_report_id uuid,
+    student_id uuid,
+    execution_details text,
+    message text,
+    status varchar(255) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS submission_job_approved_tests (
+    submission_job_id uuid NOT NULL,
+    code_version_test_id varchar(255),
+    CONSTRAINT fk_submission_job_approved_tests_job FOREIGN KEY (submission_job_id) REFERENCES submission_jobs
+);
+
+CREATE TABLE IF NOT EXISTS regrade_jobs (
+    failed_solutions integer,
+    processed_solutions integer,
+    regraded_solutions integer,
+    total_solutions integer,
+    created_at timestamp(6) NOT NULL,
+    finished_at timestamp(6),
+    started_at timestamp(6),
+    updated_at timestamp(6) NOT NULL,
+    code_version_id uuid,
+    id uuid NOT NULL,
+    message text,
+    requested_by varchar(255),
+    status varchar(255) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    attempts integer NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    content_type varchar(255),
+    event_type varchar(255) NOT NULL,
+    last_error text,
+    message_key varchar(255),
+    topic varchar(255) NOT NULL,
+    payload bytea NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS challenge_tag_counts (
+    challenge_count bigint NOT NULL,
+    tag varchar(255) NOT NULL,
+    PRIMARY KEY (tag)
+);
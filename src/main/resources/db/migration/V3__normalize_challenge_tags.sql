@@ -0,0 +1,12 @@
+-- Tags stored before they were normalized on write: lowercase and trim them, then drop the duplicates this creates
+-- (replaces the normalization that ran on every start)
+UPDATE challenge_tags SET tag = LOWER(TRIM(tag)) WHERE tag <> LOWER(TRIM(tag));
+
+DELETE FROM challenge_tags a USING challenge_tags b
+WHERE a.challenge_id = b.challenge_id AND a.tag = b.tag AND a.ctid > b.ctid;
+
+-- Normalizing merges tags, so the dictionary is rebuilt from challenge_tags
+DELETE FROM challenge_tag_counts;
+
+INSERT INTO challenge_tag_counts (tag, challenge_count)
+SELECT tag, COUNT(DISTINCT challenge_id) FROM challenge_tags WHERE tag <> '' GROUP BY tag;
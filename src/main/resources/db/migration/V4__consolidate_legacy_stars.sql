@@ -0,0 +1,16 @@
+-- Stars were a second, unused way of liking a challenge (challenge_stars, user_id stored as text).
+-- Rows with a UUID user become likes, keeping the like already stored for the same user, and the table is dropped
+-- (replaces the consolidation that ran on every start; databases created without the table skip it)
+DO $$
+BEGIN
+    IF to_regclass('challenge_stars') IS NOT NULL THEN
+        INSERT INTO challenge_likes (challenge_id, user_id, liked_at)
+        SELECT DISTINCT ON (s.challenge_id, s.user_id::uuid) s.challenge_id, s.user_id::uuid, s.starred_at
+        FROM challenge_stars s
+        WHERE s.user_id ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+        ORDER BY s.challenge_id, s.user_id::uuid, s.starred_at
+        ON CONFLICT DO NOTHING;
+
+        DROP TABLE challenge_stars;
+    END IF;
+END $$;
@@ -0,0 +1,88 @@
+-- Indexes for the repository queries (one per access path; QueryPlanIndexUsageIntegrationTest checks every @Query)
+-- and unique constraints on the natural keys the services already treat as unique
+
+-- A duplicate natural key would make the constraints below fail half way; report all of them at once instead
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(format('%s: %s duplicated keys', key_name, duplicated), ', ')
+    INTO duplicates
+    FROM (
+        SELECT 'solutions (student_id, code_version_id)' AS key_name, COUNT(*) AS duplicated
+        FROM (SELECT 1 FROM solutions WHERE student_id IS NOT NULL AND code_version_id IS NOT NULL
+              GROUP BY student_id, code_version_id HAVING COUNT(*) > 1) d
+        UNION ALL
+        SELECT 'solution_reports (solution_id)', COUNT(*)
+        FROM (SELECT 1 FROM solution_reports WHERE solution_id IS NOT NULL
+              GROUP BY solution_id HAVING COUNT(*) > 1) d
+        UNION ALL
+        SELECT 'code_versions (challenge_id, language)', COUNT(*)
+        FROM (SELECT 1 FROM code_versions WHERE challenge_id IS NOT NULL
+              GROUP BY challenge_id, language HAVING COUNT(*) > 1) d
+    ) keys
+    WHERE duplicated > 0;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Duplicated natural keys must be merged before adding unique constraints: %', duplicates;
+    END IF;
+END $$;
+
+-- Every statement below is idempotent: databases that ran the previous versions with ddl-auto: update may
+-- already have some of these indexes and constraints under the same names
+
+-- Challenges: keyset pages of the published catalog and of a teacher's challenges, catalog filters
+CREATE INDEX IF NOT EXISTS idx_challenges_status_created_at_id ON challenges (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_challenges_teacher_created_at_id ON challenges (teacher_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_challenges_status_difficulty ON challenges (status, difficulty);
+
+-- Tag matching by normalized value
+CREATE INDEX IF NOT EXISTS idx_challenge_tags_tag_challenge ON challenge_tags (tag, challenge_id);
+
+-- Likes of a user and keyset pages of a challenge's stargazers
+CREATE INDEX IF NOT EXISTS idx_challenge_likes_user_id ON challenge_likes (user_id);
+CREATE INDEX IF NOT EXISTS idx_challenge_likes_challenge_liked_at ON challenge_likes (challenge_id, liked_at, user_id);
+
+-- Guides are a set per challenge, but were stored as a list: drop repeated rows before the unique index
+DELETE FROM challenge_guides a USING challenge_guides b
+WHERE a.challenge_id = b.challenge_id AND a.guide_id = b.guide_id AND a.ctid > b.ctid;
+
+-- The unique index also serves loading a challenge's guides
+CREATE UNIQUE INDEX IF NOT EXISTS uk_challenge_guides_challenge_guide ON challenge_guides (challenge_id, guide_id);
+
+-- Natural keys: tags are a set per challenge (duplicates removed in V3), one code version per language and
+-- challenge, one solution per student and code version, one report per solution.
+-- Each key also serves the lookups by its leading column
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_challenge_tags_challenge_tag') THEN
+        ALTER TABLE challenge_tags ADD CONSTRAINT uk_challenge_tags_challenge_tag UNIQUE (challenge_id, tag);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_code_versions_challenge_language') THEN
+        ALTER TABLE code_versions ADD CONSTRAINT uk_code_versions_challenge_language UNIQUE (challenge_id, language);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_solutions_student_code_version') THEN
+        ALTER TABLE solutions ADD CONSTRAINT uk_solutions_student_code_version UNIQUE (student_id, code_version_id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_solution_reports_solution_id') THEN
+        ALTER TABLE solution_reports ADD CONSTRAINT uk_solution_reports_solution_id UNIQUE (solution_id);
+    END IF;
+END $$;
+
+-- Test suite of a code version in creation order
+CREATE INDEX IF NOT EXISTS idx_code_version_tests_code_version_created_at ON code_version_tests (code_version_id, created_at);
+
+-- Solutions of a student per challenge and of a challenge
+CREATE INDEX IF NOT EXISTS idx_solutions_student_challenge ON solutions (student_id, challenge_id);
+CREATE INDEX IF NOT EXISTS idx_solutions_challenge_id ON solutions (challenge_id);
+-- Re-grade keyset over the solutions of a code version
+CREATE INDEX IF NOT EXISTS idx_solutions_code_version_id ON solutions (code_version_id, id);
+
+-- Reports of a student and the passed tests of a report
+CREATE INDEX IF NOT EXISTS idx_solution_reports_student_id ON solution_reports (student_id);
+CREATE INDEX IF NOT EXISTS idx_solution_report_successful_tests_report ON solution_report_successful_tests (solution_report_id);
+
+-- Pending jobs of a solution and active re-grades of a code version
+CREATE INDEX IF NOT EXISTS idx_submission_jobs_solution_id ON submission_jobs (solution_id);
+CREATE INDEX IF NOT EXISTS idx_submission_job_approved_tests_job ON submission_job_approved_tests (submission_job_id);
+CREATE INDEX IF NOT EXISTS idx_regrade_jobs_code_version_id ON regrade_jobs (code_version_id);
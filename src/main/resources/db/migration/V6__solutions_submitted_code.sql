@@ -0,0 +1,5 @@
+-- Code of the last submission, so re-grades do not evaluate a draft edited after submitting
+ALTER TABLE solutions ADD COLUMN IF NOT EXISTS submitted_code text;
+
+-- Older submissions did not keep their code; the current code is the closest record of it
+UPDATE solutions SET submitted_code = code WHERE attempts > 0 AND submitted_code IS NULL;
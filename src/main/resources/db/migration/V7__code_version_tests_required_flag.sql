@@ -0,0 +1,3 @@
+-- Tests the solution cannot pass without; a failing required test stops a streamed evaluation early.
+-- Existing tests were never marked, so they stay optional and every test keeps running.
+ALTER TABLE code_version_tests ADD COLUMN IF NOT EXISTS is_required boolean NOT NULL DEFAULT false;
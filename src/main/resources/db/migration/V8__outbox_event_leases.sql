@@ -0,0 +1,2 @@
+-- Lease of the relay publishing an event, so no row lock is held while waiting for Kafka
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS locked_until timestamp(6) with time zone;
@@ -0,0 +1,9 @@
+-- Failed events wait for an exponential back-off and are parked after too many attempts
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS status varchar(255) NOT NULL DEFAULT 'PENDING'
+    CHECK (status IN ('PENDING', 'PARKED'));
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at timestamp(6) with time zone;
+UPDATE outbox_events SET next_attempt_at = created_at WHERE next_attempt_at IS NULL;
+ALTER TABLE outbox_events ALTER COLUMN next_attempt_at SET NOT NULL;
+
+-- Earlier pending events of a key, checked for every claimed event to keep the per-key order
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending_key ON outbox_events (topic, message_key, id) WHERE status = 'PENDING';
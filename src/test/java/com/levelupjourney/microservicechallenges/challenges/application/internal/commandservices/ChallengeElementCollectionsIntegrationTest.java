@@ -0,0 +1,107 @@
+package com.levelupjourney.microservicechallenges.challenges.application.internal.commandservices;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuideCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.CreateChallengeCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.RemoveGuideCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeCommandService;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements written when one guide is added to or removed from a challenge with many guides.
+ * Guides are a set, so a single row is inserted or deleted instead of the whole collection being rewritten.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=test-secret-key-for-testing-purposes-minimum-256-bits-required-here-for-hmac512",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "outbox.relay.enabled=false"
+})
+class ChallengeElementCollectionsIntegrationTest {
+
+    private static final int GUIDES = 1_000;
+
+    @Autowired
+    private ChallengeCommandService challengeCommandService;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Challenge challenge;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        challenge = challengeRepository.save(new Challenge(new CreateChallengeCommand(
+                new TeacherId(UUID.randomUUID()),
+                "Challenge with many guides",
+                "Challenge used to count the statements of a guide change",
+                100,
+                Difficulty.EASY,
+                List.of("#collections"),
+                IntStream.range(0, GUIDES).mapToObj(i -> UUID.randomUUID()).toList(),
+                3
+        )));
+    }
+
+    @AfterEach
+    void tearDown() {
+        challengeRepository.deleteById(challenge.getId());
+    }
+
+    @Test
+    void addingOneGuideInsertsOneRow() {
+        var guideId = UUID.randomUUID();
+
+        statistics.clear();
+        challengeCommandService.handle(new AddGuideCommand(challenge.getId(), guideId));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Select challenge, select guides, insert the new guide
+        assertEquals(3L, statements, "Adding a guide should not rewrite the other " + GUIDES + " guides");
+        assertEquals(GUIDES + 1, guideCount());
+    }
+
+    @Test
+    void removingOneGuideDeletesOneRow() {
+        var guideId = challenge.getGuides().iterator().next();
+
+        statistics.clear();
+        challengeCommandService.handle(new RemoveGuideCommand(challenge.getId(), guideId));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Select challenge, select guides, delete the removed guide
+        assertEquals(3L, statements, "Removing a guide should not rewrite the other guides");
+        assertEquals(GUIDES - 1, guideCount());
+    }
+
+    private int guideCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM challenge_guides WHERE challenge_id = ?", Integer.class, challenge.getId().id());
+    }
+}
@@ -0,0 +1,56 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.cache;
+
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reconciliation of the in-memory like counts with the database
+ */
+class ChallengeLikeCountersTest {
+
+    private final ChallengeLikeRepository challengeLikeRepository = mock(ChallengeLikeRepository.class);
+    private final ChallengeLikeCounters counters = new ChallengeLikeCounters(challengeLikeRepository, new SimpleMeterRegistry());
+    private final UUID challengeId = UUID.randomUUID();
+
+    @Test
+    void correctsACountThatDriftedFromTheDatabase() {
+        when(challengeLikeRepository.countGroupedByChallengeId())
+                .thenReturn(rows(2))
+                .thenReturn(rows(5));
+        counters.seedOnStartup();
+
+        counters.reconcile();
+
+        assertEquals(5, counters.get(challengeId));
+    }
+
+    @Test
+    void keepsALikeCountedWhileTheSnapshotIsRead() {
+        when(challengeLikeRepository.countGroupedByChallengeId())
+                .thenReturn(rows(2))
+                .thenAnswer(invocation -> {
+                    // Committed after the snapshot was taken: the snapshot still says 2
+                    counters.likeAdded(challengeId);
+                    return rows(2);
+                });
+        counters.seedOnStartup();
+
+        counters.reconcile();
+
+        assertEquals(3, counters.get(challengeId));
+    }
+
+    private List<Object[]> rows(long likes) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { challengeId, likes });
+        return rows;
+    }
+}
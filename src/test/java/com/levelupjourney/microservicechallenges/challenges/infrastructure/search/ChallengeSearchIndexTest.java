@@ -0,0 +1,91 @@
+package com.levelupjourney.microservicechallenges.challenges.infrastructure.search;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.cache.PublishedChallengeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Matching and ranking of the in-memory challenge search index
+ */
+class ChallengeSearchIndexTest {
+
+    private final Map<UUID, PublishedChallengeView> views = new HashMap<>();
+    private ChallengeSearchIndex index;
+    private PublishedChallengeView binarySearch;
+    private PublishedChallengeView sorting;
+    private PublishedChallengeView graphs;
+
+    @BeforeEach
+    void setUp() {
+        binarySearch = view("Binary Search", "Find an element in a sorted array in logarithmic time", List.of("arrays", "búsqueda"));
+        sorting = view("Merge Sort", "Sort an array. Useful before a binary search.", List.of("sorting"));
+        graphs = view("Shortest Path", "Dijkstra on a weighted graph", List.of("graphs"));
+        index = new ChallengeSearchIndex();
+        index.sync(views);
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        var hits = index.search("binary search");
+
+        assertEquals(List.of(binarySearch.id(), sorting.id()), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertEquals(List.of(binarySearch.id()), ids(index.search("binary logarithmic")));
+        assertTrue(index.search("binary dijkstra").isEmpty());
+    }
+
+    @Test
+    void matchesPrefixesTyposAndAccents() {
+        assertEquals(List.of(graphs.id()), ids(index.search("dijk")));
+        assertEquals(List.of(graphs.id()), ids(index.search("shortset")));
+        assertEquals(List.of(binarySearch.id()), ids(index.search("busqueda")));
+    }
+
+    @Test
+    void reindexesChangedAndRemovedChallenges() {
+        views.remove(sorting.id());
+        var renamed = new PublishedChallengeView(graphs.id(), graphs.teacherId(), "Minimum Spanning Tree",
+                graphs.description(), graphs.experiencePoints(), graphs.difficulty(), graphs.tags(),
+                List.of(), graphs.maxAttemptsBeforeGuides(), graphs.createdAt());
+        views.put(renamed.id(), renamed);
+        index.sync(views);
+
+        assertEquals(List.of(binarySearch.id()), ids(index.search("binary")));
+        assertTrue(index.search("shortest").isEmpty());
+        assertEquals(List.of(graphs.id()), ids(index.search("spanning")));
+    }
+
+    @Test
+    void reindexesASingleChallengeWithoutASync() {
+        var renamed = new PublishedChallengeView(sorting.id(), sorting.teacherId(), "Quick Sort",
+                sorting.description(), sorting.experiencePoints(), sorting.difficulty(), sorting.tags(),
+                List.of(), sorting.maxAttemptsBeforeGuides(), sorting.createdAt());
+        index.put(renamed);
+        index.remove(graphs.id());
+
+        assertEquals(List.of(sorting.id()), ids(index.search("quick")));
+        assertTrue(index.search("merge").isEmpty());
+        assertTrue(index.search("dijkstra").isEmpty());
+        assertEquals(List.of(binarySearch.id(), sorting.id()), ids(index.search("binary search")));
+    }
+
+    private PublishedChallengeView view(String name, String description, List<String> tags) {
+        var view = new PublishedChallengeView(UUID.randomUUID(), UUID.randomUUID(), name, description, 100,
+                Difficulty.EASY, tags, List.of(), 3, new Date());
+        views.put(view.id(), view);
+        return view;
+    }
+
+    private static List<UUID> ids(List<ChallengeSearchIndex.SearchHit> hits) {
+        return hits.stream().map(hit -> hit.challenge().id()).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.levelupjourney.microservicechallenges.shared.domain.model.identifiers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+
+    @Test
+    void generatesVersion7UuidsWithTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1, "Timestamp should be the generation time");
+    }
+
+    @Test
+    void idsSortInGenerationOrderWithinTheSameMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "IDs should be unique");
+        for (int i = 1; i < ids.size(); i++) {
+            // Unsigned comparison, as done by Postgres on uuid columns
+            assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0, "IDs should be strictly increasing");
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
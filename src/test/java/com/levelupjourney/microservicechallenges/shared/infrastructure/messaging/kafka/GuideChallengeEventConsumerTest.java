@@ -0,0 +1,76 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.kafka;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddGuidesBatchCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.services.ChallengeCommandService;
+import com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Failure handling of the guide events batch listener: which failures retry the batch and which single out a record
+ */
+class GuideChallengeEventConsumerTest {
+
+    private final ChallengeCommandService challengeCommandService = mock(ChallengeCommandService.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final GuideChallengeEventConsumer consumer = new GuideChallengeEventConsumer(challengeCommandService);
+
+    @Test
+    void aDatabaseOutageFailsTheWholeBatchWithoutSinglingOutARecord() {
+        var outage = new CannotGetJdbcConnectionException("Connection refused");
+        when(challengeCommandService.handle(any(AddGuidesBatchCommand.class))).thenThrow(outage);
+
+        var thrown = assertThrows(CannotGetJdbcConnectionException.class,
+                () -> consumer.handleGuideChallengeAdded(records(3), acknowledgment));
+
+        assertSame(outage, thrown);
+        assertTrue(KafkaConsumerConfig.isTransientDatabaseFailure(thrown));
+        verify(challengeCommandService, times(1)).handle(any(AddGuidesBatchCommand.class));
+        verifyNoInteractions(acknowledgment);
+    }
+
+    @Test
+    void aRecordThatFailsOnItsOwnIsReportedWithItsIndex() {
+        var records = records(3);
+        var failingGuide = records.get(1).value().getGuideId();
+        when(challengeCommandService.handle(any(AddGuidesBatchCommand.class))).thenAnswer(invocation -> {
+            AddGuidesBatchCommand command = invocation.getArgument(0);
+            if (command.guides().stream().anyMatch(guide -> guide.guideId().equals(failingGuide))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return command.guides().size();
+        });
+
+        var thrown = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.handleGuideChallengeAdded(records, acknowledgment));
+
+        assertEquals(1, thrown.getIndex());
+        assertFalse(KafkaConsumerConfig.isTransientDatabaseFailure(thrown));
+        // The record before the failing one is stored on its own
+        verify(challengeCommandService).handle(argThat((AddGuidesBatchCommand command) -> command.guides().size() == 1
+                && command.guides().getFirst().guideId().equals(records.getFirst().value().getGuideId())));
+        verifyNoInteractions(acknowledgment);
+    }
+
+    private static List<ConsumerRecord<String, GuideChallengeAddedEvent>> records(int count) {
+        List<ConsumerRecord<String, GuideChallengeAddedEvent>> records = new ArrayList<>(count);
+        for (int offset = 0; offset < count; offset++) {
+            records.add(new ConsumerRecord<>("guides.challenge.added.v1", 0, offset, null,
+                    new GuideChallengeAddedEvent(UUID.randomUUID(), UUID.randomUUID())));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,192 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.levelupjourney.microservicechallenges.shared.domain.model.events.GuideChallengeAddedEvent;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.proto.ChallengeCompletedEventMessage;
+import com.levelupjourney.microservicechallenges.shared.infrastructure.messaging.proto.GuideChallengeAddedEventMessage;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.events.ChallengeCompletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the Kafka event wire formats: payload size and serialize/deserialize cost of JSON
+ * (Spring Kafka JsonSerializer/JsonDeserializer) against protobuf, for both event topics.
+ * No Spring context or broker is needed, only the serializers used by the producer and the consumer.
+ * Payload sizes and compatibility are checked on every build; the per-operation cost is a benchmark,
+ * run it with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+class KafkaEventSerializationBenchmarkTest {
+
+    private static final String TOPIC = "benchmark";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Test
+    void challengeCompletedEventIsSmallerAsProtobufAndJsonModeMatchesJsonSerializer() throws Exception {
+        var event = challengeCompletedEvent();
+
+        var jsonSerializer = new ChallengeCompletedEventSerializer(EventSerializationFormat.JSON);
+        var protobufSerializer = new ChallengeCompletedEventSerializer(EventSerializationFormat.PROTOBUF);
+
+        // JSON compatibility mode: byte for byte what the producer sent before
+        try (var springJsonSerializer = new JsonSerializer<ChallengeCompletedEvent>()) {
+            springJsonSerializer.setAddTypeInfo(false);
+            assertArrayEquals(springJsonSerializer.serialize(TOPIC, event), jsonSerializer.serialize(TOPIC, event));
+        }
+
+        var headers = new RecordHeaders();
+        var protobuf = protobufSerializer.serialize(TOPIC, headers, event);
+        assertEquals("application/x-protobuf",
+                new String(headers.lastHeader(EventSerializationFormat.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+
+        var decoded = ChallengeCompletedEventMessage.parseFrom(protobuf);
+        assertEquals(event.getStudentId(), decoded.getStudentId());
+        assertEquals(event.getExperiencePointsEarned(), decoded.getExperiencePointsEarned());
+        assertEquals(event.getScoringReason(), decoded.getScoringReason());
+        assertEquals(event.getAlreadyCompleted(), decoded.getAlreadyCompleted());
+
+        var json = jsonSerializer.serialize(TOPIC, event);
+        assertTrue(protobuf.length < json.length, "Protobuf payload should be smaller than JSON");
+    }
+
+    @Test
+    void guideChallengeAddedEventIsReadInBothFormats() {
+        var event = guideChallengeAddedEvent();
+        var deserializer = new GuideChallengeAddedEventDeserializer();
+        var json = toJson(event);
+        var protobuf = toProtobuf(event);
+
+        // Without a contentType header the format is detected from the payload
+        assertEquals(event, deserializer.deserialize(TOPIC, json));
+        assertEquals(event, deserializer.deserialize(TOPIC, protobuf));
+
+        var protobufHeaders = new RecordHeaders();
+        protobufHeaders.add(EventSerializationFormat.CONTENT_TYPE_HEADER,
+                EventSerializationFormat.PROTOBUF.contentType().getBytes(StandardCharsets.UTF_8));
+        assertEquals(event, deserializer.deserialize(TOPIC, protobufHeaders, protobuf));
+
+        // Type hints in the payload cannot make the consumer instantiate another class
+        var hostile = "{\"@class\":\"java.lang.ProcessBuilder\",\"guideId\":\"%s\"}".formatted(event.getGuideId())
+                .getBytes(StandardCharsets.UTF_8);
+        assertEquals(GuideChallengeAddedEvent.class, deserializer.deserialize(TOPIC, hostile).getClass());
+
+        assertTrue(protobuf.length < json.length, "Protobuf payload should be smaller than JSON");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void serializationCostPerOperation() {
+        var completed = challengeCompletedEvent();
+        var jsonSerializer = new ChallengeCompletedEventSerializer(EventSerializationFormat.JSON);
+        var protobufSerializer = new ChallengeCompletedEventSerializer(EventSerializationFormat.PROTOBUF);
+        var completedJson = jsonSerializer.serialize(TOPIC, completed);
+        var completedProtobuf = protobufSerializer.serialize(TOPIC, completed);
+        compare("ChallengeCompletedEvent", completedJson.length, completedProtobuf.length,
+                () -> jsonSerializer.serialize(TOPIC, completed),
+                () -> protobufSerializer.serialize(TOPIC, completed),
+                () -> readTree(completedJson),
+                () -> parseChallengeCompleted(completedProtobuf));
+
+        var guide = guideChallengeAddedEvent();
+        var deserializer = new GuideChallengeAddedEventDeserializer();
+        var guideJson = toJson(guide);
+        var guideProtobuf = toProtobuf(guide);
+        try (var guideJsonSerializer = new JsonSerializer<GuideChallengeAddedEvent>()) {
+            guideJsonSerializer.setAddTypeInfo(false);
+            compare("GuideChallengeAddedEvent", guideJson.length, guideProtobuf.length,
+                    () -> guideJsonSerializer.serialize(TOPIC, guide),
+                    () -> toProtobuf(guide),
+                    () -> deserializer.deserialize(TOPIC, guideJson),
+                    () -> deserializer.deserialize(TOPIC, guideProtobuf));
+        }
+    }
+
+    private void compare(String eventName, int jsonBytes, int protobufBytes,
+                         Supplier<?> jsonSerialize, Supplier<?> protobufSerialize,
+                         Supplier<?> jsonDeserialize, Supplier<?> protobufDeserialize) {
+        log.info("📊 {} ({} operations): payload JSON {} B / protobuf {} B, serialize JSON {} / protobuf {} ns/op, deserialize JSON {} / protobuf {} ns/op",
+                eventName, ITERATIONS, jsonBytes, protobufBytes,
+                Math.round(nanosPerOperation(jsonSerialize)), Math.round(nanosPerOperation(protobufSerialize)),
+                Math.round(nanosPerOperation(jsonDeserialize)), Math.round(nanosPerOperation(protobufDeserialize)));
+    }
+
+    private static ChallengeCompletedEvent challengeCompletedEvent() {
+        return new ChallengeCompletedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                80, 100, 9, 10, false, 153L, 1260L, 80, true,
+                "Completed in 21 minutes: 80% of the points for a MEDIUM challenge",
+                false,
+                LocalDateTime.now()
+        );
+    }
+
+    private static GuideChallengeAddedEvent guideChallengeAddedEvent() {
+        return new GuideChallengeAddedEvent(UUID.randomUUID(), UUID.randomUUID(),
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    // What the producing service sends in JSON mode: Spring Kafka's JsonSerializer without type headers
+    private static byte[] toJson(GuideChallengeAddedEvent event) {
+        try (var springJsonSerializer = new JsonSerializer<GuideChallengeAddedEvent>()) {
+            springJsonSerializer.setAddTypeInfo(false);
+            return springJsonSerializer.serialize(TOPIC, event);
+        }
+    }
+
+    private static byte[] toProtobuf(GuideChallengeAddedEvent event) {
+        return GuideChallengeAddedEventMessage.newBuilder()
+                .setGuideId(event.getGuideId().toString())
+                .setChallengeId(event.getChallengeId().toString())
+                .setOccurredAt(ProtobufTimestamps.of(event.getOccurredAt()))
+                .build()
+                .toByteArray();
+    }
+
+    private static double nanosPerOperation(Supplier<?> operation) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertNotNull(sink);
+        return elapsed / (double) ITERATIONS;
+    }
+
+    private Object readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ChallengeCompletedEventMessage parseChallengeCompleted(byte[] protobuf) {
+        try {
+            return ChallengeCompletedEventMessage.parseFrom(protobuf);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
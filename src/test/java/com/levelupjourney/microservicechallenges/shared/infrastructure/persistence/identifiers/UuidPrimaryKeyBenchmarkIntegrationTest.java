@@ -0,0 +1,89 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.identifiers;
+
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.IdGenerator;
+import com.levelupjourney.microservicechallenges.shared.domain.model.identifiers.TimeOrderedUuidGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of random (v4) against time-ordered (v7) UUID primary keys.
+ * Inserts the same number of rows, one batch per transaction as the submit flow does, into two scratch
+ * tables shaped like {@code solutions} (uuid key plus payload) and compares throughput and primary key size.
+ * Excluded from the default build, run it with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=test-secret-key-for-testing-purposes-minimum-256-bits-required-here-for-hmac512",
+    "outbox.relay.enabled=false"
+})
+class UuidPrimaryKeyBenchmarkIntegrationTest {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_benchmark_v4");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_benchmark_v7");
+        });
+    }
+
+    @Test
+    void timeOrderedKeysInsertFasterIntoASmallerIndex() {
+        var random = insertRows("uuid_benchmark_v4", UUID::randomUUID);
+        var timeOrdered = insertRows("uuid_benchmark_v7", new TimeOrderedUuidGenerator());
+
+        log.info("📊 UUID primary keys, {} rows in batches of {}: v4 {} rows/s and {} KB, v7 {} rows/s and {} KB",
+                ROWS, BATCH_SIZE, Math.round(random.rowsPerSecond()), random.indexBytes() / 1024,
+                Math.round(timeOrdered.rowsPerSecond()), timeOrdered.indexBytes() / 1024);
+
+        // Appending to the right edge leaves full leaf pages; random inserts split pages and leave them half empty
+        assertTrue(timeOrdered.indexBytes() < random.indexBytes(),
+                "The v7 primary key should be smaller than the v4 one");
+    }
+
+    private Result insertRows(String table, IdGenerator generator) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(
+                "CREATE TABLE " + table + " (id uuid PRIMARY KEY, student_id uuid NOT NULL, code text NOT NULL)"));
+
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[]{generator.nextId(), UUID.randomUUID(), "int add(int a, int b) { return a + b; }"});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO " + table + " (id, student_id, code) VALUES (?, ?, ?)", batch));
+        }
+        long nanos = System.nanoTime() - start;
+
+        Long indexBytes = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size('" + table + "_pkey')", Long.class));
+        return new Result(ROWS / (nanos / 1_000_000_000.0), indexBytes);
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.jpa;
+
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeLikeRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionTestRepository;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.RegradeJobRepository;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SolutionRepository;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SubmissionJobRepository;
+import com.levelupjourney.microservicechallenges.solutionsreports.infrastructure.persistence.jpa.repositories.SolutionReportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression test: every {@code @Query} of the JPA repositories must find its rows through an index.
+ * Each query is run once to capture the SQL Hibernate generates, then its generic plan (the one used for any
+ * parameter values) is explained. Sequential scans, hash joins and merge joins are disabled, so even on the
+ * empty test tables the planner picks an index whenever one exists. That alone would let a full scan of any
+ * index pass, so every scan is also checked: its predicates must be an {@code Index Cond}, not a {@code Filter}
+ * over a whole index, and a join must look up its inner table by index rather than filter it.
+ * Runs against the schema built by the Flyway migrations.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=test-secret-key-for-testing-purposes-minimum-256-bits-required-here-for-hmac512",
+    "outbox.relay.enabled=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.jpa.QueryPlanIndexUsageIntegrationTest$RecordingStatementInspector"
+})
+class QueryPlanIndexUsageIntegrationTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            ChallengeRepository.class,
+            ChallengeLikeRepository.class,
+            CodeVersionRepository.class,
+            CodeVersionTestRepository.class,
+            SolutionRepository.class,
+            SubmissionJobRepository.class,
+            RegradeJobRepository.class,
+            SolutionReportRepository.class
+    );
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Map<String, List<String>> unindexed = new TreeMap<>();
+        int explained = 0;
+
+        for (Class<?> repositoryType : REPOSITORIES) {
+            Object repository = applicationContext.getBean(repositoryType);
+            for (Method method : repositoryType.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Query.class)) {
+                    continue;
+                }
+                String name = repositoryType.getSimpleName() + "." + method.getName();
+                for (JsonNode plan : explain(repository, method)) {
+                    explained++;
+                    List<String> violations = new ArrayList<>();
+                    collectUnindexedScans(plan, violations);
+                    if (!violations.isEmpty()) {
+                        unindexed.computeIfAbsent(name, key -> new ArrayList<>()).addAll(violations);
+                    }
+                }
+            }
+        }
+
+        assertTrue(explained > 0, "No repository query was captured");
+        assertTrue(unindexed.isEmpty(), "Queries without a usable index:\n" + unindexed.entrySet().stream()
+                .map(entry -> entry.getKey() + "\n" + String.join("\n", entry.getValue()))
+                .collect(Collectors.joining("\n\n")));
+    }
+
+    /**
+     * Walk a plan and describe every scan that reads a whole table or index to apply its predicates
+     */
+    private static void collectUnindexedScans(JsonNode node, List<String> violations) {
+        String nodeType = node.path("Node Type").asText();
+        boolean indexScan = nodeType.equals("Index Scan") || nodeType.equals("Index Only Scan");
+        if (nodeType.equals("Seq Scan")) {
+            violations.add(describe(node));
+        } else if (indexScan && !node.has("Index Cond") && node.has("Filter")) {
+            // The index is only walked in full; the predicate is checked row by row
+            violations.add(describe(node));
+        } else if (nodeType.equals("Nested Loop") && node.has("Join Filter")) {
+            // The inner side is read in full for every outer row instead of being looked up by the join key
+            JsonNode inner = node.path("Plans").path(1);
+            while (inner.path("Node Type").asText().equals("Materialize") || inner.path("Node Type").asText().equals("Memoize")) {
+                inner = inner.path("Plans").path(0);
+            }
+            String innerType = inner.path("Node Type").asText();
+            if ((innerType.equals("Index Scan") || innerType.equals("Index Only Scan")) && !inner.has("Index Cond")) {
+                violations.add(describe(inner) + " joined on " + node.path("Join Filter").asText());
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectUnindexedScans(child, violations);
+        }
+    }
+
+    private static String describe(JsonNode node) {
+        var description = new StringBuilder(node.path("Node Type").asText())
+                .append(" on ").append(node.path("Relation Name").asText());
+        if (node.has("Index Name")) {
+            description.append(" using ").append(node.path("Index Name").asText());
+        }
+        if (node.has("Filter")) {
+            description.append(" filtering ").append(node.path("Filter").asText());
+        }
+        return description.toString();
+    }
+
+    // Run the query in a transaction that is rolled back, then explain each statement it sent
+    private List<JsonNode> explain(Object repository, Method method) {
+        var transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            status.setRollbackOnly();
+            RecordingStatementInspector.STATEMENTS.clear();
+            try {
+                method.invoke(repository, Arrays.stream(method.getGenericParameterTypes())
+                        .map(QueryPlanIndexUsageIntegrationTest::sampleArgument)
+                        .toArray());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to run " + method, e);
+            }
+            var statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+            assertFalse(statements.isEmpty(), "No SQL captured for " + method);
+
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_hashjoin = off");
+            jdbcTemplate.execute("SET LOCAL enable_mergejoin = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            List<JsonNode> plans = new ArrayList<>();
+            for (String sql : statements) {
+                int parameters = countParameters(sql);
+                jdbcTemplate.execute("PREPARE plan_check AS " + numberParameters(sql));
+                String execute = parameters == 0
+                        ? "EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                        : "EXPLAIN (FORMAT JSON) EXECUTE plan_check(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+                plans.add(readPlan(jdbcTemplate.queryForObject(execute, String.class)));
+                jdbcTemplate.execute("DEALLOCATE plan_check");
+            }
+            return plans;
+        });
+    }
+
+    private JsonNode readPlan(String json) {
+        try {
+            return objectMapper.readTree(json).path(0).path("Plan");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    // Values are irrelevant for a generic plan; they only have to bind
+    private static Object sampleArgument(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            return List.of(sampleArgument(parameterized.getActualTypeArguments()[0]));
+        }
+        Class<?> parameterClass = (Class<?>) type;
+        if (parameterClass == UUID.class) return UUID.randomUUID();
+        if (parameterClass == String.class) return "%";
+        if (parameterClass == boolean.class || parameterClass == Boolean.class) return false;
+        if (parameterClass == int.class || parameterClass == Integer.class) return 0;
+        if (parameterClass == Date.class) return new Date();
+        if (parameterClass == LocalDateTime.class) return LocalDateTime.now();
+        if (parameterClass == Limit.class) return Limit.of(10);
+        if (parameterClass.isEnum()) return parameterClass.getEnumConstants()[0];
+        throw new IllegalArgumentException("No sample value for query parameter of type " + type);
+    }
+
+    private static int countParameters(String sql) {
+        return (int) numberParameters(sql).chars().filter(character -> character == '$').count();
+    }
+
+    // JDBC placeholders (?) become the numbered parameters PREPARE expects, skipping string literals
+    private static String numberParameters(String sql) {
+        var numbered = new StringBuilder();
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char character : sql.toCharArray()) {
+            if (character == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (character == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(character);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Keeps the SQL of the statements Hibernate prepares
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
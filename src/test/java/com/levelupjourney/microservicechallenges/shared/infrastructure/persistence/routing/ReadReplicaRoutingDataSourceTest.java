@@ -0,0 +1,147 @@
+package com.levelupjourney.microservicechallenges.shared.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Routing decisions of the read replica data source
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private HikariDataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariDataSource primary = mock(HikariDataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replica = mock(HikariDataSource.class);
+        when(replica.getPoolName()).thenReturn("replica-0");
+
+        var meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(List.of(replica), Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry);
+        router = new ReadReplicaRoutingDataSource(primary, lagMonitor, new ReadYourWritesTracker(Duration.ofSeconds(10), 100), meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("student-1", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        endTransaction();
+    }
+
+    @Test
+    void readOnlyTransactionsUseAFreshReplica() throws SQLException {
+        replicaLag(200);
+
+        beginTransaction(true);
+        assertSame(replicaConnection, router.getConnection());
+        endTransaction();
+
+        beginTransaction(false);
+        assertSame(primaryConnection, router.getConnection());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() throws SQLException {
+        replicaLag(30_000);
+
+        beginTransaction(true);
+        assertSame(primaryConnection, router.getConnection());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() throws SQLException {
+        replicaLag(0);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        clearInvocations(replica);
+
+        beginTransaction(true);
+        assertSame(primaryConnection, router.getConnection());
+        endTransaction();
+
+        // Out of rotation until the next successful check
+        beginTransaction(true);
+        assertSame(primaryConnection, router.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void readsOfAUserStayOnThePrimaryAfterItsWriteCommits() throws SQLException {
+        replicaLag(0);
+
+        beginTransaction(false);
+        router.getConnection();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        endTransaction();
+
+        beginTransaction(true);
+        assertSame(primaryConnection, router.getConnection());
+        endTransaction();
+
+        // Other users still read from the replica
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("student-2", null, List.of()));
+        beginTransaction(true);
+        assertSame(replicaConnection, router.getConnection());
+    }
+
+    @Test
+    void aRolledBackWriteDoesNotPinTheUserToThePrimary() throws SQLException {
+        replicaLag(0);
+
+        beginTransaction(false);
+        router.getConnection();
+        endTransaction();
+
+        beginTransaction(true);
+        assertSame(replicaConnection, router.getConnection());
+    }
+
+    // Make the next lag check of the replica return the given lag
+    private void replicaLag(double lagMillis) throws SQLException {
+        var connection = mock(Connection.class);
+        var statement = mock(Statement.class);
+        var resultSet = mock(ResultSet.class);
+        var metaData = mock(ResultSetMetaData.class);
+        when(replica.getConnection()).thenReturn(connection).thenReturn(replicaConnection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+        lagMonitor.check();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), 0);
+            TransactionSynchronizationManager.clear();
+        }
+    }
+}
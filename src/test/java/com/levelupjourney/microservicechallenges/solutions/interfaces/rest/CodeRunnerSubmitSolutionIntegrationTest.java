@@ -53,13 +53,15 @@ public class CodeRunnerSubmitSolutionIntegrationTest {
                 "test-1", 
                 "2,3", 
                 "5", 
-                ""
+                "",
+                false
             ),
             new CodeVersionTestForSubmittingResource(
                 "test-2", 
                 "5,7", 
                 "12", 
-                ""
+                "",
+                false
             )
         );
 
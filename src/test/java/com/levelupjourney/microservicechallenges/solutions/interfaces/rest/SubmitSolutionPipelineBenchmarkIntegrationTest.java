@@ -0,0 +1,219 @@
+package com.levelupjourney.microservicechallenges.solutions.interfaces.rest;
+
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.Challenge;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.CodeVersion;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.aggregates.CodeVersionTest;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddCodeVersionCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.AddCodeVersionTestCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.commands.CreateChallengeCommand;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.CodeLanguage;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.Difficulty;
+import com.levelupjourney.microservicechallenges.challenges.domain.model.valueobjects.TeacherId;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.ChallengeRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionRepository;
+import com.levelupjourney.microservicechallenges.challenges.infrastructure.persistence.jpa.repositories.CodeVersionTestRepository;
+import com.levelupjourney.microservicechallenges.solutions.application.internal.outboundservices.grpc.CodeRunnerExecutionService;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.aggregates.Solution;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.CreateSolutionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.commands.SubmitSolutionCommand;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.ChallengeId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.CodeVersionId;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.SolutionStatus;
+import com.levelupjourney.microservicechallenges.solutions.domain.model.valueobjects.StudentId;
+import com.levelupjourney.microservicechallenges.solutions.domain.services.SolutionCommandService;
+import com.levelupjourney.microservicechallenges.solutions.infrastructure.persistence.jpa.repositories.SolutionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of the data access done by the submit flow.
+ * The CodeRunner is mocked and the outbox relay disabled so only the database work of a submission
+ * is measured: the lean pipeline (one snapshot projection + one UPDATE + one outbox INSERT) is
+ * compared with the load/save sequence the flow used before (load solution, save attempt, load
+ * challenge, load every solution of the student, save score). The statement counts are asserted on every
+ * build; the timing comparison is a benchmark, run it with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=test-secret-key-for-testing-purposes-minimum-256-bits-required-here-for-hmac512",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "outbox.relay.enabled=false"
+})
+class SubmitSolutionPipelineBenchmarkIntegrationTest {
+
+    private static final int SUBMISSIONS = 50;
+
+    @Autowired
+    private SolutionCommandService solutionCommandService;
+
+    @Autowired
+    private SolutionRepository solutionRepository;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    @Autowired
+    private CodeVersionRepository codeVersionRepository;
+
+    @Autowired
+    private CodeVersionTestRepository codeVersionTestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private CodeRunnerExecutionService codeRunnerExecutionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Challenge challenge;
+    private CodeVersion codeVersion;
+    private CodeVersionTest codeVersionTest;
+    private Solution solution;
+    private UUID studentId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        studentId = UUID.randomUUID();
+
+        challenge = challengeRepository.save(new Challenge(new CreateChallengeCommand(
+                new TeacherId(UUID.randomUUID()),
+                "Submit benchmark challenge",
+                "Challenge used to measure the submit flow",
+                100,
+                Difficulty.EASY,
+                List.of("#benchmark"),
+                List.of(),
+                3
+        )));
+        codeVersion = codeVersionRepository.save(new CodeVersion(
+                new AddCodeVersionCommand(challenge.getId(), CodeLanguage.JAVA, "", "add")));
+        codeVersionTest = codeVersionTestRepository.save(new CodeVersionTest(
+                new AddCodeVersionTestCommand(codeVersion.getId(), "2,3", "5", "", "Wrong sum", false, false)));
+        solution = solutionRepository.save(new Solution(new CreateSolutionCommand(
+                new ChallengeId(challenge.getId().id()),
+                new CodeVersionId(codeVersion.getId().id()),
+                new StudentId(studentId),
+                "int add(int a, int b) { return a + b; }"
+        )));
+
+        var testId = codeVersionTest.getId().id().toString();
+        when(codeRunnerExecutionService.executeSolution(anyString(), anyString(), any(), anyString(), anyString(), anyList()))
+                .thenReturn(new CodeRunnerExecutionService.CodeExecutionResult(
+                        List.of(testId), 5L, true, 1, 1, 0, "All tests passed", "", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Connections are not auto-commit: outside a transaction the DELETE would be rolled back
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE message_key = ?", studentId.toString());
+            solutionRepository.deleteById(solution.getId());
+            codeVersionTestRepository.deleteById(codeVersionTest.getId());
+            codeVersionRepository.deleteById(codeVersion.getId());
+            challengeRepository.deleteById(challenge.getId());
+        });
+    }
+
+    @Test
+    void leanSubmitPipelineRunsOneQueryOneUpdateAndOneOutboxInsertPerSubmission() {
+        var command = new SubmitSolutionCommand(solution.getId(), solution.getCode(), new StudentId(studentId));
+
+        // Warm up: fills the code version and challenge scoring caches
+        solutionCommandService.handle(command);
+
+        statistics.clear();
+        submit(command);
+        long leanStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        runPreviousDataAccess();
+        long previousStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(3L * SUBMISSIONS, leanStatements,
+                "Each submission should run one snapshot query, one UPDATE and one outbox INSERT");
+        assertTrue(previousStatements >= 5L * SUBMISSIONS,
+                "The previous data access should run at least five statements per submission, ran " + previousStatements);
+
+        var updated = solutionRepository.findById(solution.getId()).orElseThrow();
+        assertEquals(2 * SUBMISSIONS + 1, updated.getAttempts(), "Every submission should record its attempt");
+        assertEquals(SolutionStatus.SUCCESS, updated.getStatus());
+
+        var outboxEvents = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE message_key = ?", Long.class, studentId.toString());
+        assertEquals(SUBMISSIONS + 1L, outboxEvents, "Every scored submission should store its event in the outbox");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void leanSubmitPipelineTiming() {
+        var command = new SubmitSolutionCommand(solution.getId(), solution.getCode(), new StudentId(studentId));
+        solutionCommandService.handle(command);
+
+        long start = System.nanoTime();
+        submit(command);
+        long leanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        runPreviousDataAccess();
+        long previousNanos = System.nanoTime() - start;
+
+        log.info("📊 Submit pipeline, {} submissions: lean {} ms/submission, previous {} ms/submission", SUBMISSIONS,
+                String.format("%.2f", leanNanos / 1_000_000.0 / SUBMISSIONS),
+                String.format("%.2f", previousNanos / 1_000_000.0 / SUBMISSIONS));
+    }
+
+    private void submit(SubmitSolutionCommand command) {
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            var result = solutionCommandService.handle(command);
+            assertTrue(result.success(), "Submission should succeed");
+        }
+    }
+
+    /**
+     * Data access of the submit flow before the snapshot projection, without the CodeRunner call
+     */
+    private void runPreviousDataAccess() {
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            runPreviousSubmission();
+        }
+    }
+
+    private void runPreviousSubmission() {
+        var existingSolution = solutionRepository.findById(solution.getId()).orElseThrow();
+        existingSolution.recordSubmissionAttempt();
+        solutionRepository.save(existingSolution);
+
+        var scoringChallenge = challengeRepository.findById(challenge.getId()).orElseThrow();
+        solutionRepository.findByStudentIdAndChallengeId(studentId, challenge.getId().id());
+
+        existingSolution.assignScore(scoringChallenge.getExperiencePoints(), scoringChallenge.getExperiencePoints());
+        solutionRepository.save(existingSolution);
+    }
+}